@@ -0,0 +1,26 @@
+package com.app.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A change lost to a concurrent one: either the row kept changing under it
+ * until the retries ran out, or it is already in a state the change cannot
+ * be applied to. Carries the row as it is now, so the client can show it.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConcurrentUpdateException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient Object current;
+
+    public ConcurrentUpdateException(String message, Object current) {
+        super(message);
+        this.current = current;
+    }
+
+    public Object getCurrent() {
+        return current;
+    }
+}
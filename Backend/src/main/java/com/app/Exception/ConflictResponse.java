@@ -0,0 +1,18 @@
+package com.app.Exception;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConflictResponse {
+    private int status;
+    private String message;
+    private String path;
+    private LocalDateTime timestamp;
+    private Object current;
+}
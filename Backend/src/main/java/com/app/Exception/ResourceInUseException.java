@@ -0,0 +1,18 @@
+package com.app.Exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * A delete refused because other rows still point at the resource, standing
+ * in for a foreign key the database no longer enforces.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ResourceInUseException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ResourceInUseException(String message) {
+        super(message);
+    }
+}
@@ -20,6 +20,8 @@ public interface ComplaintMapper {
     
     @Mapping(source = "flatId", target = "flat.id")
     @Mapping(source = "raisedById", target = "createdBy.id")
+    @Mapping(target = "societyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Complaint toEntity(ComplaintDTO complaintDto);
     
     @Named("getUserName")
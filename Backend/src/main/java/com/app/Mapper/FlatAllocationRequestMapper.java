@@ -17,6 +17,8 @@ public interface FlatAllocationRequestMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "user", ignore = true)
     @Mapping(target = "flat", ignore = true)
+    @Mapping(target = "societyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     FlatAllocation toEntity(FlatAllocationRequestDTO dto);
     
     @Named("getFlatId")
@@ -34,6 +34,7 @@ public interface FlatMapper {
     @Mapping(target = "complaints", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "updatedAt", ignore = true)
+    @Mapping(target = "societyId", ignore = true)
     @Mapping(source = "buildingId", target = "building.id")
     @Mapping(source = "buildingName", target = "building.name")
     Flat toEntity(FlatDTO dto);
@@ -25,5 +25,6 @@ public interface FlatMemberMapper {
     @Mapping(source = "flatId", target = "flat.id")
     @Mapping(source = "userId", target = "user.id")
     @Mapping(source = "owner", target = "isOwner")
+    @Mapping(target = "societyId", ignore = true)
     FlatMember toEntity(FlatMemberDTO flatMemberDto);
 }
@@ -20,6 +20,8 @@ public interface MaintenanceBillMapper {
     @Mapping(target = "flat", ignore = true)
     @Mapping(target = "createdAt", ignore = true)
     @Mapping(target = "paid", ignore = true)
+    @Mapping(target = "societyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     MaintenanceBill toEntity(MaintenanceBillDTO dto);
     
     @Named("getFlatId")
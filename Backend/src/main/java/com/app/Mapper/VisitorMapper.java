@@ -30,6 +30,8 @@ public interface VisitorMapper {
     @Mapping(source = "loggedById", target = "loggedBy.id")
     @Mapping(source = "approvedById", target = "approvedBy.id")
     @Mapping(target = "approvalTime", ignore = true)
+    @Mapping(target = "societyId", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Visitor toEntity(VisitorDTO dto);
     
     @Named("getFlatId")
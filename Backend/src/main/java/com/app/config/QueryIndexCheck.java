@@ -0,0 +1,189 @@
+package com.app.config;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.mapping.PropertyPath;
+import org.springframework.data.repository.core.RepositoryInformation;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.support.Repositories;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Startup check that every derived query method in the DAOs
+ * ({@code findByXAndY}, {@code existsByX}, ...) can be served by an index:
+ * at least one of its criteria columns must lead an index on the table.
+ * Methods with an explicit {@code @Query}, or whose criteria need a join,
+ * are not checked. Misses are logged as warnings, or fail startup when
+ * {@code app.schema.index-check.fail-on-missing} is set.
+ */
+@Component
+@Slf4j
+public class QueryIndexCheck {
+
+    private final ListableBeanFactory beanFactory;
+    private final DataSource dataSource;
+    private final EntityManagerFactory entityManagerFactory;
+    private final boolean enabled;
+    private final boolean failOnMissing;
+
+    public QueryIndexCheck(
+            ListableBeanFactory beanFactory,
+            DataSource dataSource,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${app.schema.index-check.enabled:true}") boolean enabled,
+            @Value("${app.schema.index-check.fail-on-missing:false}") boolean failOnMissing) {
+        this.beanFactory = beanFactory;
+        this.dataSource = dataSource;
+        this.entityManagerFactory = entityManagerFactory;
+        this.enabled = enabled;
+        this.failOnMissing = failOnMissing;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void check() {
+        if (!enabled) {
+            return;
+        }
+        List<String> unindexed = findUnindexedQueries();
+        if (unindexed.isEmpty()) {
+            log.info("Every derived query has a supporting index");
+            return;
+        }
+        unindexed.forEach(query -> log.warn("No index supports {}", query));
+        if (failOnMissing) {
+            throw new IllegalStateException(unindexed.size() + " derived queries have no supporting index");
+        }
+    }
+
+    /**
+     * Describes each derived query method that no index can serve, as
+     * {@code Dao.method (table: [columns])}.
+     */
+    public List<String> findUnindexedQueries() {
+        MappingMetamodel metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel();
+        Repositories repositories = new Repositories(beanFactory);
+        List<String> unindexed = new ArrayList<>();
+
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            for (Class<?> domainType : repositories) {
+                if (!(metamodel.findEntityDescriptor(domainType) instanceof AbstractEntityPersister entity)) {
+                    continue;
+                }
+                RepositoryInformation information = repositories.getRequiredRepositoryInformation(domainType);
+                List<List<String>> indexes = readIndexes(metaData, connection.getCatalog(), entity.getTableName());
+
+                for (Method method : information.getQueryMethods()) {
+                    if (method.isAnnotationPresent(Query.class)) {
+                        continue;
+                    }
+                    List<Set<String>> branches = criteriaColumns(method.getName(), domainType, entity, metamodel);
+                    if (branches == null) {
+                        continue;
+                    }
+                    for (Set<String> columns : branches) {
+                        if (!columns.isEmpty() && indexes.stream().noneMatch(index -> columns.contains(index.get(0)))) {
+                            unindexed.add(information.getRepositoryInterface().getSimpleName() + "." + method.getName()
+                                    + " (" + entity.getTableName() + ": " + columns + ")");
+                            break;
+                        }
+                    }
+                }
+            }
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not read index metadata", ex);
+        }
+        return unindexed;
+    }
+
+    // One column set per OR branch; null when the method is not derived or needs a join
+    private static List<Set<String>> criteriaColumns(String methodName, Class<?> domainType,
+            AbstractEntityPersister entity, MappingMetamodel metamodel) {
+        PartTree tree;
+        try {
+            tree = new PartTree(methodName, domainType);
+        } catch (RuntimeException ex) {
+            return null;
+        }
+        List<Set<String>> branches = new ArrayList<>();
+        for (PartTree.OrPart orPart : tree) {
+            Set<String> columns = new LinkedHashSet<>();
+            for (Part part : orPart) {
+                String column = column(part.getProperty(), entity, metamodel);
+                if (column == null) {
+                    return null;
+                }
+                columns.add(column);
+            }
+            branches.add(columns);
+        }
+        return branches;
+    }
+
+    // Resolves "field" or "association.id" to its column on the entity's own table
+    private static String column(PropertyPath path, AbstractEntityPersister entity, MappingMetamodel metamodel) {
+        PropertyPath next = path.next();
+        if (next != null) {
+            EntityPersister target = metamodel.findEntityDescriptor(path.getType());
+            if (target == null || next.hasNext()
+                    || !next.getSegment().equals(target.getIdentifierPropertyName())) {
+                return null;
+            }
+        }
+        String[] columns = entity.getPropertyColumnNames(path.getSegment());
+        return columns.length == 0 ? null : columns[0].toLowerCase(Locale.ROOT);
+    }
+
+    // Column lists (lower case, in key order) of every index on the table
+    private static List<List<String>> readIndexes(DatabaseMetaData metaData, String catalog, String table)
+            throws SQLException {
+        Map<String, Map<Integer, String>> byName = new HashMap<>();
+        for (String candidate : new String[] { table, table.toUpperCase(Locale.ROOT) }) {
+            try (ResultSet rs = metaData.getIndexInfo(catalog, null, candidate, false, true)) {
+                while (rs.next()) {
+                    String indexName = rs.getString("INDEX_NAME");
+                    String column = rs.getString("COLUMN_NAME");
+                    if (indexName == null || column == null) {
+                        continue;
+                    }
+                    byName.computeIfAbsent(indexName, name -> new TreeMap<>())
+                            .put((int) rs.getShort("ORDINAL_POSITION"), column.toLowerCase(Locale.ROOT));
+                }
+            }
+            if (!byName.isEmpty()) {
+                break;
+            }
+        }
+        List<List<String>> indexes = new ArrayList<>();
+        byName.values().forEach(columns -> indexes.add(List.copyOf(columns.values())));
+        return indexes;
+    }
+}
@@ -0,0 +1,72 @@
+package com.app.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.app.datasource.ReadWriteRoutingDataSource;
+import com.app.datasource.ReadYourWrites;
+import com.app.datasource.ReplicaDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+/**
+ * Read/write splitting, active only when {@code app.datasource.replica.urls}
+ * lists at least one replica; without it the usual single DataSource is
+ * auto-configured. The primary is built from {@code spring.datasource.*}
+ * as before. Replicas share its driver and, unless set, its credentials.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.urls")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadYourWrites readYourWrites(
+            @Value("${app.datasource.replica.read-your-writes:5s}") Duration window) {
+        return new ReadYourWrites(window);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReadWriteRoutingDataSource dataSource(
+            DataSourceProperties properties,
+            Environment environment,
+            ReadYourWrites readYourWrites,
+            @Value("${app.datasource.replica.urls}") List<String> urls,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password,
+            @Value("${app.datasource.replica.pool-size:10}") int poolSize,
+            @Value("${app.datasource.replica.connection-timeout:2s}") Duration connectionTimeout,
+            @Value("${app.datasource.replica.retry-after:30s}") Duration retryAfter) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + i);
+            replica.setJdbcUrl(urls.get(i).trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(password.isEmpty() ? properties.determinePassword() : password);
+            replica.setReadOnly(true);
+            replica.setMaximumPoolSize(poolSize);
+            // Fail fast so a dead replica costs one short wait before reads fail over
+            replica.setConnectionTimeout(connectionTimeout.toMillis());
+            // Start the pool lazily; an unreachable replica must not stop the app from starting
+            replica.setInitializationFailTimeout(-1);
+            replicas.add(replica);
+        }
+        return new ReadWriteRoutingDataSource(primary,
+                new ReplicaDataSource(primary, replicas, readYourWrites, retryAfter));
+    }
+}
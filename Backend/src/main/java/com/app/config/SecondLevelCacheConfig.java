@@ -0,0 +1,91 @@
+package com.app.config;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hibernate second-level cache for the slow-changing reference entities
+ * ({@code Society}, {@code Building}, {@code Flat}), their collections and
+ * natural ids. Regions live in an in-process Caffeine cache, one per entry
+ * under {@code app.cache.regions.<region>} with its own {@code max-size} and
+ * {@code ttl}. A region named in an {@code @Cache} or {@code @NaturalIdCache}
+ * annotation but not configured here fails startup rather than growing
+ * unbounded.
+ *
+ * <p>Each node caches independently: changes made through JPA evict locally
+ * at commit, while changes from other nodes or bulk SQL show up once the
+ * entry's TTL runs out. Hits and misses are published per region as
+ * {@code cache.gets{cache=<region>,result=hit|miss}}.
+ */
+@Configuration
+@ConditionalOnProperty(value = "app.cache.second-level.enabled", matchIfMissing = true)
+public class SecondLevelCacheConfig {
+
+    public record Region(long maxSize, Duration ttl) {
+    }
+
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(Environment environment) {
+        Map<String, Region> regions = Binder.get(environment)
+                .bind("app.cache.regions", Bindable.mapOf(String.class, Region.class))
+                .orElse(Map.of());
+        CaffeineCachingProvider provider = new CaffeineCachingProvider();
+        // Own URI per context so test contexts and benchmarks never share regions
+        CacheManager cacheManager = provider.getCacheManager(
+                URI.create("hibernate-" + UUID.randomUUID()), getClass().getClassLoader());
+        regions.forEach((name, region) -> {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(region.maxSize()));
+            configuration.setExpireAfterWrite(OptionalLong.of(region.ttl().toNanos()));
+            configuration.setNativeStatisticsEnabled(true);
+            cacheManager.createCache(name, configuration);
+        });
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheProperties(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            // Saving a Building or Flat drops its parent's cached collection
+            properties.put(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+        };
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager secondLevelCacheManager) {
+        return registry -> {
+            for (String name : secondLevelCacheManager.getCacheNames()) {
+                Cache<Object, Object> cache = secondLevelCacheManager.getCache(name);
+                CaffeineCacheMetrics.monitor(registry,
+                        cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class), name);
+            }
+        };
+    }
+}
@@ -1,5 +1,8 @@
 package com.app.config;
 
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -12,12 +15,12 @@ import org.springframework.security.config.annotation.web.configurers.AbstractHt
 import org.springframework.security.config.http.SessionCreationPolicy;
 
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.filter.CorsFilter;
 
 import com.app.security.JwtAuthFilter;
+import com.app.security.OffloadingPasswordEncoder;
 
 import lombok.RequiredArgsConstructor;
 
@@ -36,7 +39,9 @@ public class SecurityConfig {
         	.addFilterBefore(corsFilter, UsernamePasswordAuthenticationFilter.class)
             .csrf(AbstractHttpConfigurer::disable)
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/auth/**", "/societies/list", "/error", "/actuator/**").permitAll()
+                .requestMatchers("/auth/**", "/societies/list", "/error", "/actuator/health/**").permitAll()
+                // Metrics carry request URIs, auth counters and pool internals
+                .requestMatchers("/actuator/**").hasRole("ADMIN")
                 .requestMatchers("/ws/**").permitAll()
                 .anyRequest().authenticated()
             )
@@ -58,9 +63,13 @@ public class SecurityConfig {
         return source;
     }*/
 
+    // BCrypt runs on its own bounded pool rather than on request threads
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    OffloadingPasswordEncoder passwordEncoder(
+            @Value("${app.security.password-hashing.threads:0}") int threads,
+            @Value("${app.security.password-hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${app.security.password-hashing.retry-after:2s}") Duration retryAfter) {
+        return new OffloadingPasswordEncoder(new BCryptPasswordEncoder(), threads, queueCapacity, retryAfter);
     }
 
     @Bean
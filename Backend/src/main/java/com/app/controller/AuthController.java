@@ -3,9 +3,12 @@ package com.app.controller;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -13,7 +16,9 @@ import com.app.dto.AuthRequest;
 
 import com.app.dto.JwtResponseDTO;
 import com.app.dto.LoginDTO;
+import com.app.dto.PasswordChangeDTO;
 import com.app.dto.UserDTO;
+import com.app.security.AuthenticatedUser;
 import com.app.service.AuthService;
 
 
@@ -38,4 +43,20 @@ public class AuthController {
         JwtResponseDTO loginResponse = authService.login(request);
         return ResponseEntity.ok(loginResponse);
     }
+
+    @PostMapping("/logout")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> logout(@RequestHeader("Authorization") String authorization) {
+        authService.logout(authorization);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PutMapping("/password")
+    @PreAuthorize("isAuthenticated()")
+    public ResponseEntity<Void> changePassword(
+            @Valid @RequestBody PasswordChangeDTO request,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+        authService.changePassword(currentUser.getId(), request);
+        return ResponseEntity.noContent().build();
+    }
 }
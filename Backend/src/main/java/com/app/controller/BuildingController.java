@@ -16,8 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.BuildingDTO;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.security.AuthenticatedUser;
 import com.app.service.BuildingService;
 
 import jakarta.validation.Valid;
@@ -31,10 +31,10 @@ public class BuildingController {
     private final BuildingService buildingService;
 
     @GetMapping
-    public ResponseEntity<List<BuildingDTO>> getAllBuildings(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<BuildingDTO>> getAllBuildings(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin, resident, or guard, only return buildings from their society
-        if (currentUser.getSociety() != null) {
-            List<BuildingDTO> buildings = buildingService.getBuildingsBySocietyId(currentUser.getSociety().getId());
+        if (currentUser.getSocietyId() != null) {
+            List<BuildingDTO> buildings = buildingService.getBuildingsBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(buildings);
         } else {
             // Super admin can see all buildings
@@ -46,10 +46,10 @@ public class BuildingController {
     @GetMapping("/society/{societyId}")
     public ResponseEntity<List<BuildingDTO>> getBuildingsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access buildings from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -67,10 +67,10 @@ public class BuildingController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<BuildingDTO> createBuilding(
             @Valid @RequestBody BuildingDTO buildingDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only create buildings in their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(buildingDto.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(buildingDto.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -83,10 +83,10 @@ public class BuildingController {
     public ResponseEntity<BuildingDTO> updateBuilding(
             @PathVariable Long id,
             @Valid @RequestBody BuildingDTO buildingDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only update buildings in their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(buildingDto.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(buildingDto.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -98,11 +98,11 @@ public class BuildingController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteBuilding(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only delete buildings in their own society
         BuildingDTO building = buildingService.getBuildingById(id);
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(building.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(building.getSocietyId()) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -1,7 +1,10 @@
 package com.app.controller;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -17,11 +20,17 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.ComplaintDTO;
+import com.app.export.ExportFormat;
+import com.app.export.ExportRange;
 import com.app.model.ComplaintStatus;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
+import com.app.security.AuthenticatedUser;
 import com.app.service.ComplaintService;
+import com.app.service.ExportService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -31,12 +40,14 @@ import lombok.RequiredArgsConstructor;
 public class ComplaintController {
 
     private final ComplaintService complaintService;
+    private final ExportService exportService;
+    private final KeysetPaging keysetPaging;
 
     @GetMapping
-    public ResponseEntity<List<ComplaintDTO>> getAllComplaints(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<ComplaintDTO>> getAllComplaints(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin, return complaints from their society
-        if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSociety() != null) {
-            List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyId(currentUser.getSociety().getId());
+        if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSocietyId() != null) {
+            List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(complaints);
         } 
         // If user is a resident, return only their complaints
@@ -45,7 +56,7 @@ public class ComplaintController {
             return ResponseEntity.ok(complaints);
         }
         // Super admin can see all complaints
-        else if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSociety() == null) {
+        else if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSocietyId() == null) {
             List<ComplaintDTO> complaints = complaintService.getAllComplaints();
             return ResponseEntity.ok(complaints);
         }
@@ -57,7 +68,7 @@ public class ComplaintController {
     @PreAuthorize("hasAnyRole('ADMIN', 'RESIDENT')")
     public ResponseEntity<List<ComplaintDTO>> getComplaintsByFlatId(
             @PathVariable Long flatId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the flat belongs to the user's society or the user
         
@@ -68,7 +79,7 @@ public class ComplaintController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<ComplaintDTO>> getComplaintsByUserId(
             @PathVariable Long userId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure users can only access their own complaints unless they are admins
         if (!currentUser.getId().equals(userId) && currentUser.getRole() != UserRole.ADMIN) {
@@ -81,39 +92,69 @@ public class ComplaintController {
 
     @GetMapping("/society/{societyId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ComplaintDTO>> getComplaintsBySocietyId(
+    public ResponseEntity<?> getComplaintsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only access complaints from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyId(societyId);
-        return ResponseEntity.ok(complaints);
+        if (keysetPaging.isUnpaged(page)) {
+            List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyId(societyId);
+            return ResponseEntity.ok(complaints);
+        }
+        return ResponseEntity.ok(complaintService.getComplaintsBySocietyId(societyId, page));
+    }
+
+    @GetMapping("/society/{societyId}/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportComplaints(
+            @PathVariable Long societyId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) ComplaintStatus status,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            HttpServletResponse response) throws IOException {
+        
+        // Ensure admin can only export complaints from their own society
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        
+        ExportRange range = new ExportRange(from, to);
+        format.prepare(response, "complaints-" + societyId);
+        exportService.exportComplaints(societyId, range, status, format, response.getOutputStream());
     }
 
     @GetMapping("/society/{societyId}/status/{status}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<ComplaintDTO>> getComplaintsBySocietyIdAndStatus(
+    public ResponseEntity<?> getComplaintsBySocietyIdAndStatus(
             @PathVariable Long societyId,
             @PathVariable ComplaintStatus status,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only access complaints from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyIdAndStatus(societyId, status);
-        return ResponseEntity.ok(complaints);
+        if (keysetPaging.isUnpaged(page)) {
+            List<ComplaintDTO> complaints = complaintService.getComplaintsBySocietyIdAndStatus(societyId, status);
+            return ResponseEntity.ok(complaints);
+        }
+        return ResponseEntity.ok(complaintService.getComplaintsBySocietyIdAndStatus(societyId, status, page));
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<ComplaintDTO> getComplaintById(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         ComplaintDTO complaint = complaintService.getComplaintById(id);
         
@@ -132,7 +173,7 @@ public class ComplaintController {
     @PreAuthorize("hasRole('RESIDENT')")
     public ResponseEntity<ComplaintDTO> createComplaint(
             @Valid @RequestBody ComplaintDTO complaintDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Set the current user as the one who raised the complaint
         complaintDto.setRaisedById(currentUser.getId());
@@ -148,7 +189,7 @@ public class ComplaintController {
             @PathVariable Long id,
             @RequestParam ComplaintStatus status,
             @RequestParam(required = false) String resolution,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         ComplaintDTO updatedComplaint = complaintService.updateComplaintStatus(id, status, resolution, currentUser.getId());
         return ResponseEntity.ok(updatedComplaint);
@@ -158,7 +199,7 @@ public class ComplaintController {
     public ResponseEntity<ComplaintDTO> updateComplaint(
             @PathVariable Long id,
             @Valid @RequestBody ComplaintDTO complaintDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         ComplaintDTO existingComplaint = complaintService.getComplaintById(id);
         
@@ -174,7 +215,7 @@ public class ComplaintController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteComplaint(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         ComplaintDTO existingComplaint = complaintService.getComplaintById(id);
         
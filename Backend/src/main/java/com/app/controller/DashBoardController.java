@@ -1,5 +1,69 @@
 package com.app.controller;
 
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.app.dashboard.DashBoardSnapshot;
+import com.app.dto.DashBoardStatsDTO;
+import com.app.model.UserRole;
+import com.app.security.AuthenticatedUser;
+import com.app.service.DashBoardService;
+
+import lombok.RequiredArgsConstructor;
+
+@RestController
+@RequestMapping("/dashboard")
+@RequiredArgsConstructor
 public class DashBoardController {
 
+    private final DashBoardService dashBoardService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashBoardStatsDTO> getDashBoardStats(@AuthenticationPrincipal AuthenticatedUser currentUser) {
+        // Super admin has no society of their own; they pick one by id
+        if (currentUser.getSocietyId() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        return ResponseEntity.ok(dashBoardService.getStatsBySocietyId(currentUser.getSocietyId()));
+    }
+
+    @GetMapping("/society/{societyId}")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashBoardStatsDTO> getDashBoardStatsBySocietyId(
+            @PathVariable Long societyId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+
+        // Ensure admin can only see the dashboard of their own society
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(dashBoardService.getStatsBySocietyId(societyId));
+    }
+
+    /**
+     * The counters with the sequence number they are current as of, for a
+     * client that follows the deltas pushed to {@code /topic/admin/{societyId}}.
+     * Subscribe first, then fetch this and skip the deltas up to its
+     * {@code seq}; fetch it again when a delta's {@code fromSeq} skips ahead.
+     */
+    @GetMapping("/society/{societyId}/snapshot")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<DashBoardSnapshot> getDashBoardSnapshotBySocietyId(
+            @PathVariable Long societyId,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
+
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        return ResponseEntity.ok(dashBoardService.getSnapshotBySocietyId(societyId));
+    }
 }
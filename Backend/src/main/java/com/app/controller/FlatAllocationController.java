@@ -1,7 +1,9 @@
 package com.app.controller;
 
 import com.app.dto.FlatAllocationRequestDTO;
-import com.app.model.User;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
+import com.app.security.AuthenticatedUser;
 import com.app.service.FlatAllocationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,28 +21,32 @@ import java.util.List;
 public class FlatAllocationController {
 
     private final FlatAllocationService allocationService;
+    private final KeysetPaging keysetPaging;
 
     @PostMapping
     @PreAuthorize("hasRole('RESIDENT')")
     public ResponseEntity<FlatAllocationRequestDTO> createAllocationRequest(
             @Valid @RequestBody FlatAllocationRequestDTO requestDTO,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         FlatAllocationRequestDTO createdRequest = allocationService.createAllocationRequest(requestDTO, currentUser.getId());
         return new ResponseEntity<>(createdRequest, HttpStatus.CREATED);
     }
 
     @GetMapping("/society/{societyId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<FlatAllocationRequestDTO>> getRequestsBySociety(@PathVariable Long societyId) {
-        List<FlatAllocationRequestDTO> requests = allocationService.getAllocationRequestsBySociety(societyId);
-        return ResponseEntity.ok(requests);
+    public ResponseEntity<?> getRequestsBySociety(@PathVariable Long societyId, CursorPageRequest page) {
+        if (keysetPaging.isUnpaged(page)) {
+            List<FlatAllocationRequestDTO> requests = allocationService.getAllocationRequestsBySociety(societyId);
+            return ResponseEntity.ok(requests);
+        }
+        return ResponseEntity.ok(allocationService.getAllocationRequestsBySociety(societyId, page));
     }
 
     @PutMapping("/{requestId}/approve")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<FlatAllocationRequestDTO> approveRequest(
             @PathVariable Long requestId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         FlatAllocationRequestDTO approvedRequest = allocationService.approveAllocationRequest(requestId, currentUser.getId());
         return ResponseEntity.ok(approvedRequest);
     }
@@ -49,7 +55,7 @@ public class FlatAllocationController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<FlatAllocationRequestDTO> rejectRequest(
             @PathVariable Long requestId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         FlatAllocationRequestDTO rejectedRequest = allocationService.rejectAllocationRequest(requestId, currentUser.getId());
         return ResponseEntity.ok(rejectedRequest);
     }
@@ -16,8 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.FlatDTO;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.security.AuthenticatedUser;
 import com.app.service.FlatService;
 
 import jakarta.validation.Valid;
@@ -31,10 +31,10 @@ public class FlatController {
     private final FlatService flatService;
 
     @GetMapping
-    public ResponseEntity<List<FlatDTO>> getAllFlats(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<FlatDTO>> getAllFlats(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin, resident, or guard, only return flats from their society
-        if (currentUser.getSociety() != null) {
-            List<FlatDTO> flats = flatService.getFlatsBySocietyId(currentUser.getSociety().getId());
+        if (currentUser.getSocietyId() != null) {
+            List<FlatDTO> flats = flatService.getFlatsBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(flats);
         } else {
             // Super admin can see all flats
@@ -46,7 +46,7 @@ public class FlatController {
     @GetMapping("/building/{buildingId}")
     public ResponseEntity<List<FlatDTO>> getFlatsByBuildingId(
             @PathVariable Long buildingId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         List<FlatDTO> flats = flatService.getFlatsByBuildingId(buildingId);
         
@@ -56,10 +56,10 @@ public class FlatController {
     @GetMapping("/society/{societyId}")
     public ResponseEntity<List<FlatDTO>> getFlatsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access flats from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -76,7 +76,7 @@ public class FlatController {
     // --- THIS IS THE NEW ENDPOINT ---
     @GetMapping("/my-flat")
     @PreAuthorize("hasRole('RESIDENT')")
-    public ResponseEntity<FlatDTO> getMyAllocatedFlat(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<FlatDTO> getMyAllocatedFlat(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         FlatDTO flatDto = flatService.getFlatByUserId(currentUser.getId());
         return ResponseEntity.ok(flatDto);
     }
@@ -86,7 +86,7 @@ public class FlatController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<FlatDTO> createFlat(
             @Valid @RequestBody FlatDTO flatDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         FlatDTO createdFlat = flatService.createFlat(flatDto);
         return new ResponseEntity<>(createdFlat, HttpStatus.CREATED);
@@ -97,7 +97,7 @@ public class FlatController {
     public ResponseEntity<FlatDTO> updateFlat(
             @PathVariable Long id,
             @Valid @RequestBody FlatDTO flatDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         FlatDTO updatedFlat = flatService.updateFlat(id, flatDto);
         return ResponseEntity.ok(updatedFlat);
@@ -107,7 +107,7 @@ public class FlatController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteFlat(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         flatService.deleteFlat(id);
         return ResponseEntity.noContent().build();
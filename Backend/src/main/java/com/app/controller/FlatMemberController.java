@@ -16,8 +16,10 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.FlatMemberDTO;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
+import com.app.security.AuthenticatedUser;
 import com.app.service.FlatMemberService;
 
 import jakarta.validation.Valid;
@@ -29,10 +31,11 @@ import lombok.RequiredArgsConstructor;
 public class FlatMemberController {
 
     private final FlatMemberService flatMemberService;
+    private final KeysetPaging keysetPaging;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<FlatMemberDTO>> getAllFlatMembers(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<FlatMemberDTO>> getAllFlatMembers(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         List<FlatMemberDTO> flatMembers = flatMemberService.getAllFlatMembers();
         return ResponseEntity.ok(flatMembers);
     }
@@ -40,7 +43,7 @@ public class FlatMemberController {
     @GetMapping("/flat/{flatId}")
     public ResponseEntity<List<FlatMemberDTO>> getFlatMembersByFlatId(
             @PathVariable Long flatId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the flat belongs to the user's society
         
@@ -51,7 +54,7 @@ public class FlatMemberController {
     @GetMapping("/user/{userId}")
     public ResponseEntity<List<FlatMemberDTO>> getFlatMembersByUserId(
             @PathVariable Long userId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure users can only access their own flat memberships unless they are admins
         if (!currentUser.getId().equals(userId) && currentUser.getRole() != UserRole.ADMIN) {
@@ -64,17 +67,21 @@ public class FlatMemberController {
 
     @GetMapping("/pending/{societyId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<FlatMemberDTO>> getPendingFlatMembersBySocietyId(
+    public ResponseEntity<?> getPendingFlatMembersBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only access pending members from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<FlatMemberDTO> pendingMembers = flatMemberService.getPendingFlatMembersBySocietyId(societyId);
-        return ResponseEntity.ok(pendingMembers);
+        if (keysetPaging.isUnpaged(page)) {
+            List<FlatMemberDTO> pendingMembers = flatMemberService.getPendingFlatMembersBySocietyId(societyId);
+            return ResponseEntity.ok(pendingMembers);
+        }
+        return ResponseEntity.ok(flatMemberService.getPendingFlatMembersBySocietyId(societyId, page));
     }
 
     @GetMapping("/{id}")
@@ -87,7 +94,7 @@ public class FlatMemberController {
     @PreAuthorize("hasAnyRole('ADMIN', 'RESIDENT')")
     public ResponseEntity<FlatMemberDTO> createFlatMember(
             @Valid @RequestBody FlatMemberDTO flatMemberDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         FlatMemberDTO createdFlatMember = flatMemberService.createFlatMember(flatMemberDto, currentUser.getId());
         return new ResponseEntity<>(createdFlatMember, HttpStatus.CREATED);
@@ -98,7 +105,7 @@ public class FlatMemberController {
     public ResponseEntity<FlatMemberDTO> updateFlatMember(
             @PathVariable Long id,
             @Valid @RequestBody FlatMemberDTO flatMemberDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the user has permission to update this flat member
         
@@ -110,7 +117,7 @@ public class FlatMemberController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<FlatMemberDTO> approveFlatMember(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         FlatMemberDTO approvedFlatMember = flatMemberService.approveFlatMember(id, currentUser.getId());
         return ResponseEntity.ok(approvedFlatMember);
@@ -120,7 +127,7 @@ public class FlatMemberController {
     @PreAuthorize("hasAnyRole('ADMIN', 'RESIDENT')")
     public ResponseEntity<Void> deleteFlatMember(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the user has permission to delete this flat member
         
@@ -1,5 +1,6 @@
 package com.app.controller;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -19,10 +20,16 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.MaintenanceBillDTO;
-import com.app.model.User;
+import com.app.export.ExportFormat;
+import com.app.export.ExportRange;
 import com.app.model.UserRole;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
+import com.app.security.AuthenticatedUser;
+import com.app.service.ExportService;
 import com.app.service.MaintenanceBillService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -32,13 +39,15 @@ import lombok.RequiredArgsConstructor;
 public class MaintenanceBillController {
 
     private final MaintenanceBillService maintenanceBillService;
+    private final ExportService exportService;
+    private final KeysetPaging keysetPaging;
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MaintenanceBillDTO>> getAllMaintenanceBills(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<MaintenanceBillDTO>> getAllMaintenanceBills(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin, return bills from their society
-        if (currentUser.getSociety() != null) {
-            List<MaintenanceBillDTO> bills = maintenanceBillService.getMaintenanceBillsBySocietyId(currentUser.getSociety().getId());
+        if (currentUser.getSocietyId() != null) {
+            List<MaintenanceBillDTO> bills = maintenanceBillService.getMaintenanceBillsBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(bills);
         } else {
             // Super admin can see all bills
@@ -50,7 +59,7 @@ public class MaintenanceBillController {
     @GetMapping("/flat/{flatId}")
     public ResponseEntity<List<MaintenanceBillDTO>> getMaintenanceBillsByFlatId(
             @PathVariable Long flatId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the flat belongs to the user's society or the user
         
@@ -60,32 +69,62 @@ public class MaintenanceBillController {
 
     @GetMapping("/society/{societyId}")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MaintenanceBillDTO>> getMaintenanceBillsBySocietyId(
+    public ResponseEntity<?> getMaintenanceBillsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only access bills from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<MaintenanceBillDTO> bills = maintenanceBillService.getMaintenanceBillsBySocietyId(societyId);
-        return ResponseEntity.ok(bills);
+        if (keysetPaging.isUnpaged(page)) {
+            List<MaintenanceBillDTO> bills = maintenanceBillService.getMaintenanceBillsBySocietyId(societyId);
+            return ResponseEntity.ok(bills);
+        }
+        return ResponseEntity.ok(maintenanceBillService.getMaintenanceBillsBySocietyId(societyId, page));
     }
 
     @GetMapping("/society/{societyId}/pending")
     @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<MaintenanceBillDTO>> getPendingMaintenanceBillsBySocietyId(
+    public ResponseEntity<?> getPendingMaintenanceBillsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only access bills from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<MaintenanceBillDTO> bills = maintenanceBillService.getPendingMaintenanceBillsBySocietyId(societyId);
-        return ResponseEntity.ok(bills);
+        if (keysetPaging.isUnpaged(page)) {
+            List<MaintenanceBillDTO> bills = maintenanceBillService.getPendingMaintenanceBillsBySocietyId(societyId);
+            return ResponseEntity.ok(bills);
+        }
+        return ResponseEntity.ok(maintenanceBillService.getPendingMaintenanceBillsBySocietyId(societyId, page));
+    }
+
+    @GetMapping("/society/{societyId}/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportMaintenanceBills(
+            @PathVariable Long societyId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Boolean paid,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            HttpServletResponse response) throws IOException {
+        
+        // Ensure admin can only export bills from their own society
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        
+        ExportRange range = new ExportRange(from, to);
+        format.prepare(response, "maintenance-bills-" + societyId);
+        exportService.exportMaintenanceBills(societyId, range, paid, format, response.getOutputStream());
     }
 
     @GetMapping("/overdue")
@@ -105,7 +144,7 @@ public class MaintenanceBillController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<MaintenanceBillDTO> createMaintenanceBill(
             @Valid @RequestBody MaintenanceBillDTO billDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         MaintenanceBillDTO createdBill = maintenanceBillService.createMaintenanceBill(billDto, currentUser.getId());
         return new ResponseEntity<>(createdBill, HttpStatus.CREATED);
@@ -118,10 +157,10 @@ public class MaintenanceBillController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate billDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueDate,
             @RequestParam String description,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only generate bills for their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -135,7 +174,7 @@ public class MaintenanceBillController {
     public ResponseEntity<MaintenanceBillDTO> updateMaintenanceBill(
             @PathVariable Long id,
             @Valid @RequestBody MaintenanceBillDTO billDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         MaintenanceBillDTO updatedBill = maintenanceBillService.updateMaintenanceBill(id, billDto);
         return ResponseEntity.ok(updatedBill);
@@ -146,7 +185,7 @@ public class MaintenanceBillController {
     public ResponseEntity<MaintenanceBillDTO> markBillAsPaid(
             @PathVariable Long id,
             @RequestParam String paymentReference,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         MaintenanceBillDTO paidBill = maintenanceBillService.markBillAsPaid(id, paymentReference, currentUser.getId());
         return ResponseEntity.ok(paidBill);
@@ -16,8 +16,8 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.NoticeDTO;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.security.AuthenticatedUser;
 import com.app.service.NoticeService;
 
 import jakarta.validation.Valid;
@@ -31,14 +31,14 @@ public class NoticeController {
     private final NoticeService noticeService;
 
     @GetMapping
-    public ResponseEntity<List<NoticeDTO>> getAllNotices(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<NoticeDTO>> getAllNotices(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin, return all notices
-        if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSociety() == null) {
+        if (currentUser.getRole() == UserRole.ADMIN && currentUser.getSocietyId() == null) {
             List<NoticeDTO> notices = noticeService.getAllNotices();
             return ResponseEntity.ok(notices);
         } else {
             // Otherwise, return notices from their society
-            List<NoticeDTO> notices = noticeService.getNoticesBySocietyId(currentUser.getSociety().getId());
+            List<NoticeDTO> notices = noticeService.getNoticesBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(notices);
         }
     }
@@ -46,10 +46,10 @@ public class NoticeController {
     @GetMapping("/society/{societyId}")
     public ResponseEntity<List<NoticeDTO>> getNoticesBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access notices from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -60,10 +60,10 @@ public class NoticeController {
     @GetMapping("/society/{societyId}/active")
     public ResponseEntity<List<NoticeDTO>> getActiveNoticesBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access notices from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId) && currentUser.getRole() != UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -81,16 +81,16 @@ public class NoticeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<NoticeDTO> createNotice(
             @Valid @RequestBody NoticeDTO noticeDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Set the current user as the creator of the notice
         noticeDto.setCreatedById(currentUser.getId());
         noticeDto.setCreatedByName(currentUser.getName());
         
         // Set the society ID if not provided
-        if (noticeDto.getSocietyId() == null && currentUser.getSociety() != null) {
-            noticeDto.setSocietyId(currentUser.getSociety().getId());
-            noticeDto.setSocietyName(currentUser.getSociety().getName());
+        if (noticeDto.getSocietyId() == null && currentUser.getSocietyId() != null) {
+            noticeDto.setSocietyId(currentUser.getSocietyId());
+            noticeDto.setSocietyName(currentUser.getSocietyName());
         }
         
         NoticeDTO createdNotice = noticeService.createNotice(noticeDto);
@@ -102,13 +102,13 @@ public class NoticeController {
     public ResponseEntity<NoticeDTO> updateNotice(
             @PathVariable Long id,
             @Valid @RequestBody NoticeDTO noticeDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         NoticeDTO existingNotice = noticeService.getNoticeById(id);
         
         // Ensure admin can only update notices from their own society
-        if (currentUser.getSociety() != null && 
-            !currentUser.getSociety().getId().equals(existingNotice.getSocietyId()) && 
+        if (currentUser.getSocietyId() != null && 
+            !currentUser.getSocietyId().equals(existingNotice.getSocietyId()) && 
             currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -121,13 +121,13 @@ public class NoticeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<NoticeDTO> deactivateNotice(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         NoticeDTO existingNotice = noticeService.getNoticeById(id);
         
         // Ensure admin can only deactivate notices from their own society
-        if (currentUser.getSociety() != null && 
-            !currentUser.getSociety().getId().equals(existingNotice.getSocietyId()) && 
+        if (currentUser.getSocietyId() != null && 
+            !currentUser.getSocietyId().equals(existingNotice.getSocietyId()) && 
             currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -140,13 +140,13 @@ public class NoticeController {
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<Void> deleteNotice(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         NoticeDTO existingNotice = noticeService.getNoticeById(id);
         
         // Ensure admin can only delete notices from their own society
-        if (currentUser.getSociety() != null && 
-            !currentUser.getSociety().getId().equals(existingNotice.getSocietyId()) && 
+        if (currentUser.getSocietyId() != null && 
+            !currentUser.getSocietyId().equals(existingNotice.getSocietyId()) && 
             currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
@@ -19,8 +19,8 @@ import org.springframework.web.bind.annotation.RestController;
 import com.app.dto.SocietyCreationRequest;
 import com.app.dto.SocietyDTO;
 import com.app.model.Society;
-import com.app.model.User;
 import com.app.model.UserRole;
+import com.app.security.AuthenticatedUser;
 import com.app.service.SocietyService;
 
 import jakarta.validation.Valid;
@@ -57,10 +57,10 @@ public class SocietyController {
     public ResponseEntity<SocietyDTO> updateSociety(
             @PathVariable Long id,
             @Valid @RequestBody SocietyDTO societyDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure admin can only update their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(id) && currentUser.getRole() == UserRole.ADMIN) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(id) && currentUser.getRole() == UserRole.ADMIN) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -1,7 +1,10 @@
 package com.app.controller;
 
+import java.io.IOException;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -13,12 +16,19 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.app.dto.VisitorDTO;
-import com.app.model.User;
+import com.app.export.ExportFormat;
+import com.app.export.ExportRange;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
+import com.app.security.AuthenticatedUser;
+import com.app.service.ExportService;
 import com.app.service.VisitorService;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 
@@ -28,13 +38,15 @@ import lombok.RequiredArgsConstructor;
 public class VisitorLogController {
 
     private final VisitorService visitorLogService;
+    private final ExportService exportService;
+    private final KeysetPaging keysetPaging;
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'GUARD')")
-    public ResponseEntity<List<VisitorDTO>> getAllVisitorLogs(@AuthenticationPrincipal User currentUser) {
+    public ResponseEntity<List<VisitorDTO>> getAllVisitorLogs(@AuthenticationPrincipal AuthenticatedUser currentUser) {
         // If user is an admin or guard, return visitor logs from their society
-        if (currentUser.getSociety() != null) {
-            List<VisitorDTO> visitorLogs = visitorLogService.getVisitorLogsBySocietyId(currentUser.getSociety().getId());
+        if (currentUser.getSocietyId() != null) {
+            List<VisitorDTO> visitorLogs = visitorLogService.getVisitorLogsBySocietyId(currentUser.getSocietyId());
             return ResponseEntity.ok(visitorLogs);
         } else {
             // Super admin can see all visitor logs
@@ -46,7 +58,7 @@ public class VisitorLogController {
     @GetMapping("/flat/{flatId}")
     public ResponseEntity<List<VisitorDTO>> getVisitorLogsByFlatId(
             @PathVariable Long flatId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the flat belongs to the user's society or the user
         
@@ -56,27 +68,53 @@ public class VisitorLogController {
 
     @GetMapping("/society/{societyId}")
     @PreAuthorize("hasAnyRole('ADMIN', 'GUARD')")
-    public ResponseEntity<List<VisitorDTO>> getVisitorLogsBySocietyId(
+    public ResponseEntity<?> getVisitorLogsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            CursorPageRequest page,
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access visitor logs from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId)) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
-        List<VisitorDTO> visitorLogs = visitorLogService.getVisitorLogsBySocietyId(societyId);
-        return ResponseEntity.ok(visitorLogs);
+        if (keysetPaging.isUnpaged(page)) {
+            List<VisitorDTO> visitorLogs = visitorLogService.getVisitorLogsBySocietyId(societyId);
+            return ResponseEntity.ok(visitorLogs);
+        }
+        return ResponseEntity.ok(visitorLogService.getVisitorLogsBySocietyId(societyId, page));
+    }
+
+    @GetMapping("/society/{societyId}/export")
+    @PreAuthorize("hasRole('ADMIN')")
+    public void exportVisitorLogs(
+            @PathVariable Long societyId,
+            @RequestParam(defaultValue = "CSV") ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) Boolean approved,
+            @AuthenticationPrincipal AuthenticatedUser currentUser,
+            HttpServletResponse response) throws IOException {
+        
+        // Ensure admin can only export visitor logs from their own society
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN);
+            return;
+        }
+        
+        ExportRange range = new ExportRange(from, to);
+        format.prepare(response, "visitor-logs-" + societyId);
+        exportService.exportVisitorLogs(societyId, range, approved, format, response.getOutputStream());
     }
 
     @GetMapping("/society/{societyId}/active")
     @PreAuthorize("hasAnyRole('ADMIN', 'GUARD')")
     public ResponseEntity<List<VisitorDTO>> getActiveVisitorsBySocietyId(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access visitor logs from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId)) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -88,10 +126,10 @@ public class VisitorLogController {
     @PreAuthorize("hasAnyRole('ADMIN', 'GUARD')")
     public ResponseEntity<List<VisitorDTO>> getPendingApprovalVisitorLogs(
             @PathVariable Long societyId,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Ensure user can only access visitor logs from their own society
-        if (currentUser.getSociety() != null && !currentUser.getSociety().getId().equals(societyId)) {
+        if (currentUser.getSocietyId() != null && !currentUser.getSocietyId().equals(societyId)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         
@@ -109,7 +147,7 @@ public class VisitorLogController {
     @PreAuthorize("hasRole('GUARD')")
     public ResponseEntity<VisitorDTO> createVisitorLog(
             @Valid @RequestBody VisitorDTO visitorLogDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Set the current user as the one who logged the visitor
         visitorLogDto.setLoggedById(currentUser.getId());
@@ -123,7 +161,7 @@ public class VisitorLogController {
     @PreAuthorize("hasRole('RESIDENT')")
     public ResponseEntity<VisitorDTO> approveVisitorLog(
             @PathVariable Long id,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the visitor is for the user's flat
         
@@ -143,7 +181,7 @@ public class VisitorLogController {
     public ResponseEntity<VisitorDTO> updateVisitorLog(
             @PathVariable Long id,
             @Valid @RequestBody VisitorDTO visitorLogDto,
-            @AuthenticationPrincipal User currentUser) {
+            @AuthenticationPrincipal AuthenticatedUser currentUser) {
         
         // Additional validation can be added here to ensure the user has permission to update this visitor log
         
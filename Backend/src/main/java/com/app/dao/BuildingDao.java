@@ -1,7 +1,6 @@
 package com.app.dao;
 
 import java.util.List;
-import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
@@ -9,11 +8,15 @@ import org.springframework.stereotype.Repository;
 import com.app.model.Building;
 
 @Repository
-public interface BuildingDao extends JpaRepository<Building, Long> {
+public interface BuildingDao extends JpaRepository<Building, Long>, BuildingNaturalIdDao {
     
     List<Building> findBySocietyId(Long societyId);
     
-    Optional<Building> findByNameAndSocietyId(String name, Long societyId);
-    
     boolean existsByNameAndSocietyId(String name, Long societyId);
+
+    // Answered from the second-level cache once the building has been loaded
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
@@ -0,0 +1,14 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import com.app.model.Building;
+
+/**
+ * Natural-id lookups for {@link BuildingDao}, served from the second-level
+ * cache's {@code building-natural-id} region instead of a query.
+ */
+public interface BuildingNaturalIdDao {
+
+    Optional<Building> findByNameAndSocietyId(String name, Long societyId);
+}
@@ -0,0 +1,28 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.model.Building;
+import com.app.model.Society;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Transactional(readOnly = true)
+class BuildingNaturalIdDaoImpl implements BuildingNaturalIdDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Building> findByNameAndSocietyId(String name, Long societyId) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.byNaturalId(Building.class)
+                .using("society", session.getReference(Society.class, societyId))
+                .using("name", name)
+                .loadOptional();
+    }
+}
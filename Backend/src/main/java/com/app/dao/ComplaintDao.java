@@ -1,26 +1,81 @@
 package com.app.dao;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.ComplaintDTO;
+import com.app.export.RowExporter;
 import com.app.model.Complaint;
 import com.app.model.ComplaintStatus;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface ComplaintDao extends JpaRepository<Complaint, Long> {
+
+    // Flat and raiser are read by ComplaintMapper; fetched with the complaints in one select
+    @Override
+    @EntityGraph("Complaint.listing")
+    List<Complaint> findAll();
     
+    @EntityGraph("Complaint.listing")
     List<Complaint> findByFlatId(Long flatId);
     
+    @EntityGraph("Complaint.listing")
     List<Complaint> findByCreatedById(Long userId);
     
     List<Complaint> findByStatus(ComplaintStatus status);
     
-    @Query("SELECT c FROM Complaint c JOIN c.flat f JOIN f.building b WHERE b.society.id = :societyId")
+    // society_id is denormalized onto complaints, so no flat/building join
+    @EntityGraph("Complaint.listing")
     List<Complaint> findBySocietyId(Long societyId);
     
-    @Query("SELECT c FROM Complaint c JOIN c.flat f JOIN f.building b WHERE b.society.id = :societyId AND c.status = :status")
+    @EntityGraph("Complaint.listing")
     List<Complaint> findBySocietyIdAndStatus(Long societyId, ComplaintStatus status);
+
+    // Keyset-paginated variants; the sort must end with id for a stable order
+    @EntityGraph("Complaint.listing")
+    Window<Complaint> findBySocietyId(Long societyId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph("Complaint.listing")
+    Window<Complaint> findBySocietyIdAndStatus(Long societyId, ComplaintStatus status,
+            ScrollPosition position, Sort sort, Limit limit);
+
+    // Read-only list path: rows go straight into ComplaintDTO, no managed entities
+    String DTO_SELECT = "SELECT new com.app.dto.ComplaintDTO(c.id, c.title, c.description, c.category, c.status,"
+            + " f.id, f.flatNumber, m.id, m.name, c.createdAt, c.resolvedAt, c.resolution)"
+            + " FROM Complaint c JOIN c.flat f JOIN c.createdBy m";
+
+    @Query(DTO_SELECT)
+    List<ComplaintDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE c.societyId = :societyId")
+    List<ComplaintDTO> findDtosBySocietyId(Long societyId);
+
+    @Query(DTO_SELECT + " WHERE c.societyId = :societyId AND c.status = :status")
+    List<ComplaintDTO> findDtosBySocietyIdAndStatus(Long societyId, ComplaintStatus status);
+
+    // Export cursors, read forward-only FETCH_SIZE rows at a time (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE c.societyId = :societyId AND c.createdAt >= :from AND c.createdAt < :to"
+            + " ORDER BY c.createdAt, c.id")
+    Stream<ComplaintDTO> streamDtosBySocietyId(Long societyId, LocalDateTime from, LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE c.societyId = :societyId AND c.status = :status"
+            + " AND c.createdAt >= :from AND c.createdAt < :to ORDER BY c.createdAt, c.id")
+    Stream<ComplaintDTO> streamDtosBySocietyIdAndStatus(Long societyId, ComplaintStatus status,
+            LocalDateTime from, LocalDateTime to);
 }
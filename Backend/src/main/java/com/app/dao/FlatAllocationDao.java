@@ -2,8 +2,12 @@ package com.app.dao;
 
 import com.app.model.AllocationStatus;
 import com.app.model.FlatAllocation;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -11,11 +15,20 @@ import java.util.List;
 @Repository
 public interface FlatAllocationDao extends JpaRepository<FlatAllocation, Long> {
 
+    // Allocation requests show the flat and the applicant
+    @Override
+    @EntityGraph("FlatAllocation.listing")
+    List<FlatAllocation> findAll();
+
     List<FlatAllocation> findByUserId(Long userId);
 
-    @Query("SELECT fa FROM FlatAllocation fa JOIN fa.flat f JOIN f.building b WHERE b.society.id = :societyId")
+    // society_id is denormalized onto allocations, so no flat/building join
+    @EntityGraph("FlatAllocation.listing")
     List<FlatAllocation> findBySocietyId(Long societyId);
 
-    @Query("SELECT fa FROM FlatAllocation fa JOIN fa.flat f JOIN f.building b WHERE b.society.id = :societyId AND fa.status = :status")
     List<FlatAllocation> findBySocietyIdAndStatus(Long societyId, AllocationStatus status);
+
+    // Keyset-paginated variant, ordered by id (allocations carry no timestamp)
+    @EntityGraph("FlatAllocation.listing")
+    Window<FlatAllocation> findBySocietyId(Long societyId, ScrollPosition position, Sort sort, Limit limit);
 }
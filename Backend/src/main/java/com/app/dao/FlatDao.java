@@ -1,8 +1,8 @@
 package com.app.dao;
 
 import java.util.List;
-import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,14 +10,29 @@ import org.springframework.stereotype.Repository;
 import com.app.model.Flat;
 
 @Repository
-public interface FlatDao extends JpaRepository<Flat, Long> {
-    
+public interface FlatDao extends JpaRepository<Flat, Long>, FlatNaturalIdDao {
+
+    // FlatMapper reads building, society and the owner's user; Flat.listing loads them
+    // together so a list costs one select however many flats it returns
+    @Override
+    @EntityGraph("Flat.listing")
+    List<Flat> findAll();
+
+    @EntityGraph("Flat.listing")
     List<Flat> findByBuildingId(Long buildingId);
     
-    Optional<Flat> findByFlatNumberAndBuildingId(String flatNumber, Long buildingId);
-    
     boolean existsByFlatNumberAndBuildingId(String flatNumber, Long buildingId);
     
     @Query("SELECT f FROM Flat f JOIN f.building b WHERE b.society.id = :societyId")
     List<Flat> findBySocietyId(Long societyId);
+
+    @EntityGraph("Flat.listing")
+    @Query("SELECT f FROM Flat f WHERE f.building.society.id = :societyId")
+    List<Flat> findWithOwnersBySocietyId(Long societyId);
+
+    // Answered from the second-level cache once the flat has been loaded
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
 }
@@ -3,17 +3,28 @@ package com.app.dao;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import com.app.model.FlatMember;
 
 @Repository
 public interface FlatMemberDao extends JpaRepository<FlatMember, Long> {
+
+    // Members are listed with their flat number
+    @Override
+    @EntityGraph("FlatMember.listing")
+    List<FlatMember> findAll();
     
+    @EntityGraph("FlatMember.listing")
     List<FlatMember> findByFlatId(Long flatId);
     
+    @EntityGraph("FlatMember.listing")
     List<FlatMember> findByUserId(Long userId);
     
     Optional<FlatMember> findByUserIdAndFlatId(Long userId, Long flatId);
@@ -22,6 +33,12 @@ public interface FlatMemberDao extends JpaRepository<FlatMember, Long> {
     
     List<FlatMember> findByApproved(boolean approved);
     
-    @Query("SELECT fm FROM FlatMember fm JOIN fm.flat f JOIN f.building b WHERE b.society.id = :societyId AND fm.approved = :approved")
+    // society_id is denormalized onto members, so no flat/building join
+    @EntityGraph("FlatMember.listing")
     List<FlatMember> findBySocietyIdAndApproved(Long societyId, boolean approved);
+
+    // Keyset-paginated variant; the sort must end with id for a stable order
+    @EntityGraph("FlatMember.listing")
+    Window<FlatMember> findBySocietyIdAndApproved(Long societyId, boolean approved,
+            ScrollPosition position, Sort sort, Limit limit);
 }
@@ -0,0 +1,14 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import com.app.model.Flat;
+
+/**
+ * Natural-id lookups for {@link FlatDao}, served from the second-level
+ * cache's {@code flat-natural-id} region instead of a query.
+ */
+public interface FlatNaturalIdDao {
+
+    Optional<Flat> findByFlatNumberAndBuildingId(String flatNumber, Long buildingId);
+}
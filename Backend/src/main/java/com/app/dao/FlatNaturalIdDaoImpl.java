@@ -0,0 +1,28 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.model.Building;
+import com.app.model.Flat;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+@Transactional(readOnly = true)
+class FlatNaturalIdDaoImpl implements FlatNaturalIdDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Flat> findByFlatNumberAndBuildingId(String flatNumber, Long buildingId) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.byNaturalId(Flat.class)
+                .using("building", session.getReference(Building.class, buildingId))
+                .using("flatNumber", flatNumber)
+                .loadOptional();
+    }
+}
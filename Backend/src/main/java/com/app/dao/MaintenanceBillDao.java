@@ -3,16 +3,34 @@ package com.app.dao;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.MaintenanceBillDTO;
+import com.app.export.RowExporter;
 import com.app.model.MaintenanceBill;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface MaintenanceBillDao extends JpaRepository<MaintenanceBill, Long> {
+
+    // Bills are always shown with their flat number
+    @Override
+    @EntityGraph("MaintenanceBill.listing")
+    List<MaintenanceBill> findAll();
     
+    @EntityGraph("MaintenanceBill.listing")
     List<MaintenanceBill> findByFlatId(Long flatId);
     
     List<MaintenanceBill> findByFlatIdAndPaid(Long flatId, boolean paid);
@@ -21,11 +39,50 @@ public interface MaintenanceBillDao extends JpaRepository<MaintenanceBill, Long>
     
     List<MaintenanceBill> findByDueDateBefore(LocalDate date);
     
+    @EntityGraph("MaintenanceBill.listing")
     List<MaintenanceBill> findByDueDateBeforeAndPaid(LocalDate date, boolean paid);
     
-    @Query("SELECT mb FROM MaintenanceBill mb JOIN mb.flat f JOIN f.building b WHERE b.society.id = :societyId")
+    // society_id is denormalized onto bills, so no flat/building join
+    @EntityGraph("MaintenanceBill.listing")
     List<MaintenanceBill> findBySocietyId(Long societyId);
     
-    @Query("SELECT mb FROM MaintenanceBill mb JOIN mb.flat f JOIN f.building b WHERE b.society.id = :societyId AND mb.paid = :paid")
+    @EntityGraph("MaintenanceBill.listing")
     List<MaintenanceBill> findBySocietyIdAndPaid(Long societyId, boolean paid);
+
+    // Keyset-paginated variants; the sort must end with id for a stable order
+    @EntityGraph("MaintenanceBill.listing")
+    Window<MaintenanceBill> findBySocietyId(Long societyId, ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph("MaintenanceBill.listing")
+    Window<MaintenanceBill> findBySocietyIdAndPaid(Long societyId, boolean paid,
+            ScrollPosition position, Sort sort, Limit limit);
+
+    // Constructor-expression projections for the unpaged bill lists
+    String DTO_SELECT = "SELECT new com.app.dto.MaintenanceBillDTO(b.id, b.billNumber, b.billDate, b.dueDate, b.amount,"
+            + " b.paid, b.paymentDate, b.paymentReference, f.id, f.flatNumber, b.createdAt, b.updatedAt, b.description)"
+            + " FROM MaintenanceBill b JOIN b.flat f";
+
+    @Query(DTO_SELECT)
+    List<MaintenanceBillDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE b.societyId = :societyId")
+    List<MaintenanceBillDTO> findDtosBySocietyId(Long societyId);
+
+    @Query(DTO_SELECT + " WHERE b.societyId = :societyId AND b.paid = :paid")
+    List<MaintenanceBillDTO> findDtosBySocietyIdAndPaid(Long societyId, boolean paid);
+
+    @Query(DTO_SELECT + " WHERE b.dueDate < :date AND b.paid = :paid")
+    List<MaintenanceBillDTO> findDtosByDueDateBeforeAndPaid(LocalDate date, boolean paid);
+
+    // Export cursors, read forward-only FETCH_SIZE rows at a time; the caller
+    // must close the stream inside its transaction (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE b.societyId = :societyId AND b.billDate BETWEEN :from AND :to"
+            + " ORDER BY b.createdAt, b.id")
+    Stream<MaintenanceBillDTO> streamDtosBySocietyId(Long societyId, LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE b.societyId = :societyId AND b.paid = :paid AND b.billDate BETWEEN :from AND :to"
+            + " ORDER BY b.createdAt, b.id")
+    Stream<MaintenanceBillDTO> streamDtosBySocietyIdAndPaid(Long societyId, boolean paid, LocalDate from, LocalDate to);
 }
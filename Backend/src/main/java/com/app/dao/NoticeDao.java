@@ -4,8 +4,12 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.app.dto.NoticeDTO;
 import com.app.model.Notice;
 
 @Repository
@@ -17,5 +21,23 @@ public interface NoticeDao extends JpaRepository<Notice, Long> {
     
     List<Notice> findByCreatedById(Long userId);
     
-    List<Notice> findByExpiresAtBeforeAndIsActive(LocalDateTime dateTime, boolean active);
+    // One statement for the whole expiry run; served by idx_notices_active_expires
+    @Modifying
+    @Transactional
+    @Query("UPDATE Notice n SET n.isActive = false, n.updatedAt = :now WHERE n.isActive = true AND n.expiresAt < :now")
+    int deactivateExpired(LocalDateTime now);
+
+    // Notice lists are projected into NoticeDTO; the society and author names come from the join
+    String DTO_SELECT = "SELECT new com.app.dto.NoticeDTO(n.id, n.title, n.content, n.priority, s.id, s.name,"
+            + " u.id, u.name, n.createdAt, n.updatedAt, n.expiresAt, COALESCE(n.isActive, false))"
+            + " FROM Notice n JOIN n.society s JOIN n.createdBy u";
+
+    @Query(DTO_SELECT)
+    List<NoticeDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE s.id = :societyId")
+    List<NoticeDTO> findDtosBySocietyId(Long societyId);
+
+    @Query(DTO_SELECT + " WHERE s.id = :societyId AND n.isActive = :active")
+    List<NoticeDTO> findDtosBySocietyIdAndIsActive(Long societyId, boolean active);
 }
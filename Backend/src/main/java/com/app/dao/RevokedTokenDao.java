@@ -0,0 +1,25 @@
+package com.app.dao;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.model.RevokedToken;
+
+@Repository
+public interface RevokedTokenDao extends JpaRepository<RevokedToken, String> {
+
+    List<RevokedToken> findByExpiresAtAfter(LocalDateTime now);
+
+    List<RevokedToken> findByRevokedAtAfterAndExpiresAtAfter(LocalDateTime since, LocalDateTime now);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken rt WHERE rt.expiresAt < :now")
+    int deleteExpired(LocalDateTime now);
+}
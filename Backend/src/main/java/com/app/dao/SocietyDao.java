@@ -1,16 +1,43 @@
 package com.app.dao;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.DashBoardStatsDTO;
 import com.app.model.Society;
 
 @Repository
-public interface SocietyDao extends JpaRepository<Society, Long> {
+public interface SocietyDao extends JpaRepository<Society, Long>, SocietyNaturalIdDao {
     
     boolean existsByName(String name);
-    
-    Optional<Society> findByName(String name);
+
+    // Answered from the second-level cache once the society has been loaded
+    @Override
+    default boolean existsById(Long id) {
+        return findById(id).isPresent();
+    }
+
+    // Every dashboard counter in one round trip, each an indexed COUNT on the
+    // society's rows; empty when there is no such society
+    @Query("SELECT new com.app.dto.DashBoardStatsDTO("
+            + "(SELECT COUNT(m) FROM FlatMember m WHERE m.societyId = s.id AND m.approved = true),"
+            + " (SELECT COUNT(f) FROM Flat f WHERE f.building.society = s),"
+            + " (SELECT COUNT(b) FROM Building b WHERE b.society = s),"
+            + " (SELECT COUNT(c) FROM Complaint c WHERE c.societyId = s.id"
+            + " AND c.status = com.app.model.ComplaintStatus.PENDING),"
+            + " (SELECT COUNT(a) FROM FlatAllocation a WHERE a.societyId = s.id"
+            + " AND a.status = com.app.model.AllocationStatus.PENDING),"
+            + " (SELECT COUNT(v) FROM Visitor v WHERE v.societyId = s.id"
+            + " AND v.entryTime >= :dayStart AND v.entryTime < :dayEnd),"
+            + " (SELECT COUNT(mb) FROM MaintenanceBill mb WHERE mb.societyId = s.id"
+            + " AND mb.paid = false AND mb.dueDate < :today),"
+            + " (SELECT COUNT(n) FROM Notice n WHERE n.society = s AND n.isActive = true))"
+            + " FROM Society s WHERE s.id = :societyId")
+    Optional<DashBoardStatsDTO> findDashBoardStats(Long societyId, LocalDateTime dayStart, LocalDateTime dayEnd,
+            LocalDate today);
 }
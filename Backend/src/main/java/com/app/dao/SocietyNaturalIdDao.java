@@ -0,0 +1,14 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import com.app.model.Society;
+
+/**
+ * Natural-id lookups for {@link SocietyDao}, served from the second-level
+ * cache's {@code society-natural-id} region instead of a query.
+ */
+public interface SocietyNaturalIdDao {
+
+    Optional<Society> findByName(String name);
+}
@@ -0,0 +1,24 @@
+package com.app.dao;
+
+import java.util.Optional;
+
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.model.Society;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+
+// Read-only transaction like SimpleJpaRepository's finders, so the session outlives the lookup
+@Transactional(readOnly = true)
+class SocietyNaturalIdDaoImpl implements SocietyNaturalIdDao {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Society> findByName(String name) {
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Society.class).loadOptional(name);
+    }
+}
@@ -3,6 +3,7 @@ package com.app.dao;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import org.springframework.stereotype.Repository;
@@ -16,6 +17,12 @@ public interface UserDao extends JpaRepository<User, Long> {
     
     Optional<User> findByEmail(String email);
     
+    @EntityGraph(attributePaths = "society")
+    Optional<User> findWithSocietyByEmail(String email);
+    
+    @EntityGraph(attributePaths = "society")
+    Optional<User> findWithSocietyById(Long id);
+    
     boolean existsByEmail(String email);
     
     boolean existsByPhone(String phone);
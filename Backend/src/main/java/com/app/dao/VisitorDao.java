@@ -2,32 +2,98 @@ package com.app.dao;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import com.app.dto.VisitorDTO;
+import com.app.export.RowExporter;
 import com.app.model.Visitor;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface VisitorDao extends JpaRepository<Visitor, Long> {
+
+    // Visitor lists join the flat, guard and approver up front (see Visitor.listing)
+    @Override
+    @EntityGraph("Visitor.listing")
+    List<Visitor> findAll();
     
+    @EntityGraph("Visitor.listing")
     List<Visitor> findByvisitingFlatId(Long flatId);
     
     List<Visitor> findByLoggedById(Long userId);
     
     List<Visitor> findByApproved(boolean approved);
+
+    // Parent checks before a delete: on MySQL visitors has no foreign keys (V8)
+    boolean existsByVisitingFlatId(Long flatId);
+
+    boolean existsByApprovedById(Long flatMemberId);
     
-    List<Visitor> findByExitTimeIsNull();
+    // visitors is partitioned by month of entry_time (VisitorPartitions): every
+    // list below is bounded on entry_time alone, with no OR around it, so MySQL
+    // reads only the months it covers. Open entries stay inside the open window
+    // because the archiver closes older ones (see VisitorLogRetention)
+    @Query("SELECT v FROM Visitor v WHERE v.exitTime IS NULL AND v.entryTime >= :since")
+    List<Visitor> findByExitTimeIsNull(LocalDateTime since);
     
     List<Visitor> findByEntryTimeBetween(LocalDateTime start, LocalDateTime end);
     
-    @Query("SELECT vl FROM Visitor vl JOIN vl.visitingFlat f JOIN f.building b WHERE b.society.id = :societyId")
-    List<Visitor> findBySocietyId(Long societyId);
+    // society_id is denormalized onto visitors, so no flat/building join
+    @EntityGraph("Visitor.listing")
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.entryTime >= :since")
+    List<Visitor> findBySocietyId(Long societyId, LocalDateTime since);
     
-    @Query("SELECT vl FROM Visitor vl JOIN vl.visitingFlat f JOIN f.building b WHERE b.society.id = :societyId AND vl.approved = :approved")
-    List<Visitor> findBySocietyIdAndApproved(Long societyId, boolean approved);
+    @EntityGraph("Visitor.listing")
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.approved = :approved AND v.entryTime >= :since")
+    List<Visitor> findBySocietyIdAndApproved(Long societyId, boolean approved, LocalDateTime since);
     
-    @Query("SELECT vl FROM Visitor vl JOIN vl.visitingFlat f JOIN f.building b WHERE b.society.id = :societyId AND vl.exitTime IS NULL")
-    List<Visitor> findBySocietyIdAndExitTimeIsNull(Long societyId);
+    @EntityGraph("Visitor.listing")
+    @Query("SELECT v FROM Visitor v WHERE v.societyId = :societyId AND v.exitTime IS NULL AND v.entryTime >= :since")
+    List<Visitor> findBySocietyIdAndExitTimeIsNull(Long societyId, LocalDateTime since);
+
+    // Keyset-paginated variant of findBySocietyId; the sort must end with id for a stable order
+    @EntityGraph("Visitor.listing")
+    Window<Visitor> findBySocietyIdAndEntryTimeGreaterThanEqual(Long societyId, LocalDateTime since,
+            ScrollPosition position, Sort sort, Limit limit);
+
+    // Unpaged visitor lists select straight into VisitorDTO (approver is optional, hence the LEFT JOIN)
+    String DTO_SELECT = "SELECT new com.app.dto.VisitorDTO(v.id, v.name, v.phone, v.purpose, f.id, f.flatNumber,"
+            + " g.id, g.name, v.entryTime, v.exitTime, v.approved, a.id, a.name, v.createdAt)"
+            + " FROM Visitor v JOIN v.visitingFlat f JOIN v.loggedBy g LEFT JOIN v.approvedBy a";
+
+    @Query(DTO_SELECT)
+    List<VisitorDTO> findAllDtos();
+
+    @Query(DTO_SELECT + " WHERE v.societyId = :societyId AND v.entryTime >= :since")
+    List<VisitorDTO> findDtosBySocietyId(Long societyId, LocalDateTime since);
+
+    @Query(DTO_SELECT + " WHERE v.societyId = :societyId AND v.approved = :approved AND v.entryTime >= :since")
+    List<VisitorDTO> findDtosBySocietyIdAndApproved(Long societyId, boolean approved, LocalDateTime since);
+
+    @Query(DTO_SELECT + " WHERE v.societyId = :societyId AND v.exitTime IS NULL AND v.entryTime >= :since")
+    List<VisitorDTO> findDtosBySocietyIdAndExitTimeIsNull(Long societyId, LocalDateTime since);
+
+    // Export cursors, read forward-only FETCH_SIZE rows at a time (see ExportService)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE v.societyId = :societyId AND v.entryTime >= :from AND v.entryTime < :to"
+            + " ORDER BY v.entryTime, v.id")
+    Stream<VisitorDTO> streamDtosBySocietyId(Long societyId, LocalDateTime from, LocalDateTime to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = RowExporter.FETCH_SIZE))
+    @Query(DTO_SELECT + " WHERE v.societyId = :societyId AND v.approved = :approved"
+            + " AND v.entryTime >= :from AND v.entryTime < :to ORDER BY v.entryTime, v.id")
+    Stream<VisitorDTO> streamDtosBySocietyIdAndApproved(Long societyId, boolean approved,
+            LocalDateTime from, LocalDateTime to);
 }
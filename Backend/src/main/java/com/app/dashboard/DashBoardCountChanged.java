@@ -0,0 +1,11 @@
+package com.app.dashboard;
+
+import java.time.LocalDate;
+
+/**
+ * A committed change moved a society's {@code counter} by {@code delta}.
+ * {@code day} is when it happened, as {@link DashBoardCounter#TODAY_VISITORS}
+ * and {@link DashBoardCounter#OVERDUE_PAYMENTS} depend on the date.
+ */
+public record DashBoardCountChanged(Long societyId, DashBoardCounter counter, int delta, LocalDate day) {
+}
@@ -0,0 +1,153 @@
+package com.app.dashboard;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.function.Function;
+
+import org.hibernate.engine.spi.EntityEntry;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
+import org.springframework.stereotype.Component;
+
+import com.app.model.AllocationStatus;
+import com.app.model.Building;
+import com.app.model.Complaint;
+import com.app.model.ComplaintStatus;
+import com.app.model.Flat;
+import com.app.model.FlatAllocation;
+import com.app.model.FlatMember;
+import com.app.model.MaintenanceBill;
+import com.app.model.Notice;
+import com.app.model.Society;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * JPA listener on every entity a dashboard counter is made of. Works out
+ * which counter a row counts towards before and after each insert, update
+ * and delete, and publishes the difference; {@link DashBoardCounters}
+ * applies it once the transaction commits.
+ *
+ * <p>JPA callbacks do not see the previous state of an updated row, so
+ * {@code @PreUpdate} reads it from the Hibernate persistence context, where
+ * the state as loaded is still held until the UPDATE has run.
+ */
+@Component
+public class DashBoardCountListener {
+
+    private record Counted(Long societyId, DashBoardCounter counter, boolean counts) {
+    }
+
+    private final ApplicationEventPublisher eventPublisher;
+    // Looked up per call: this listener is created while the factory is being built
+    private final ObjectProvider<EntityManagerFactory> entityManagerFactory;
+
+    public DashBoardCountListener(ApplicationEventPublisher eventPublisher,
+            ObjectProvider<EntityManagerFactory> entityManagerFactory) {
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @PostPersist
+    public void onInsert(Object entity) {
+        EntityPersister persister = persister(entity);
+        if (persister != null) {
+            changed(null, counted(entity, state(persister, persister.getValues(entity))));
+        }
+    }
+
+    @PreUpdate
+    public void onUpdate(Object entity) {
+        SessionImplementor session = session();
+        EntityEntry entry = session == null ? null : session.getPersistenceContextInternal().getEntry(entity);
+        if (entry == null || entry.getLoadedState() == null) {
+            return;
+        }
+        EntityPersister persister = entry.getPersister();
+        changed(counted(entity, state(persister, entry.getLoadedState())),
+                counted(entity, state(persister, persister.getValues(entity))));
+    }
+
+    @PostRemove
+    public void onDelete(Object entity) {
+        EntityPersister persister = persister(entity);
+        if (persister != null) {
+            changed(counted(entity, state(persister, persister.getValues(entity))), null);
+        }
+    }
+
+    private void changed(Counted before, Counted after) {
+        boolean wasCounted = before != null && before.counts();
+        boolean isCounted = after != null && after.counts();
+        if (wasCounted && isCounted && before.equals(after)) {
+            return;
+        }
+        LocalDate today = LocalDate.now();
+        if (wasCounted) {
+            publish(before, -1, today);
+        }
+        if (isCounted) {
+            publish(after, 1, today);
+        }
+    }
+
+    private void publish(Counted counted, int delta, LocalDate today) {
+        if (counted.societyId() == null) {
+            // Society not known without loading more rows mid-flush; recount instead
+            eventPublisher.publishEvent(DashBoardCountsStale.all());
+        } else {
+            eventPublisher.publishEvent(new DashBoardCountChanged(counted.societyId(), counted.counter(), delta, today));
+        }
+    }
+
+    private static Counted counted(Object entity, Function<String, Object> state) {
+        LocalDate today = LocalDate.now();
+        return switch (entity) {
+            case FlatMember member -> new Counted((Long) state.apply("societyId"), DashBoardCounter.RESIDENTS,
+                    Boolean.TRUE.equals(state.apply("approved")));
+            case Flat flat -> new Counted((Long) state.apply("societyId"), DashBoardCounter.FLATS, true);
+            case Building building -> new Counted(idOf((Society) state.apply("society")), DashBoardCounter.BUILDINGS,
+                    true);
+            case Complaint complaint -> new Counted((Long) state.apply("societyId"),
+                    DashBoardCounter.PENDING_COMPLAINTS, state.apply("status") == ComplaintStatus.PENDING);
+            case FlatAllocation allocation -> new Counted((Long) state.apply("societyId"),
+                    DashBoardCounter.PENDING_ALLOCATIONS, state.apply("status") == AllocationStatus.PENDING);
+            case Visitor visitor -> new Counted((Long) state.apply("societyId"), DashBoardCounter.TODAY_VISITORS,
+                    state.apply("entryTime") instanceof LocalDateTime entry && entry.toLocalDate().equals(today));
+            case MaintenanceBill bill -> new Counted((Long) state.apply("societyId"),
+                    DashBoardCounter.OVERDUE_PAYMENTS, !Boolean.TRUE.equals(state.apply("paid"))
+                            && state.apply("dueDate") instanceof LocalDate due && due.isBefore(today));
+            case Notice notice -> new Counted(idOf((Society) state.apply("society")), DashBoardCounter.ACTIVE_NOTICES,
+                    Boolean.TRUE.equals(state.apply("isActive")));
+            default -> null;
+        };
+    }
+
+    private static Long idOf(Society society) {
+        return society == null ? null : society.getId();
+    }
+
+    private static Function<String, Object> state(EntityPersister persister, Object[] values) {
+        return property -> values[persister.getPropertyIndex(property)];
+    }
+
+    private EntityPersister persister(Object entity) {
+        SessionImplementor session = session();
+        return session == null ? null : session.getEntityPersister(null, entity);
+    }
+
+    private SessionImplementor session() {
+        EntityManagerFactory factory = entityManagerFactory.getIfAvailable();
+        EntityManager entityManager = factory == null ? null
+                : EntityManagerFactoryUtils.getTransactionalEntityManager(factory);
+        return entityManager == null ? null : entityManager.unwrap(SessionImplementor.class);
+    }
+}
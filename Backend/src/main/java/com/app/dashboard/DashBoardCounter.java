@@ -0,0 +1,50 @@
+package com.app.dashboard;
+
+import java.util.function.Function;
+
+import com.app.dto.DashBoardStatsDTO;
+
+/**
+ * One {@link DashBoardStatsDTO} field. Declared in the DTO's field order, so
+ * the counters map onto its all-args constructor.
+ */
+public enum DashBoardCounter {
+    RESIDENTS("totalResidents", DashBoardStatsDTO::getTotalResidents),
+    FLATS("totalFlats", DashBoardStatsDTO::getTotalFlats),
+    BUILDINGS("totalBuildings", DashBoardStatsDTO::getTotalBuildings),
+    PENDING_COMPLAINTS("pendingComplaints", DashBoardStatsDTO::getPendingComplaints),
+    PENDING_ALLOCATIONS("pendingAllocations", DashBoardStatsDTO::getPendingAllocations),
+    TODAY_VISITORS("todayVisitors", DashBoardStatsDTO::getTodayVisitors),
+    OVERDUE_PAYMENTS("overduePayments", DashBoardStatsDTO::getOverduePayments),
+    ACTIVE_NOTICES("activeNotices", DashBoardStatsDTO::getActiveNotices);
+
+    /** Every counter, as a {@link #bit()} mask. */
+    static final int ALL = (1 << values().length) - 1;
+
+    private final String key;
+    private final Function<DashBoardStatsDTO, Long> field;
+
+    DashBoardCounter(String key, Function<DashBoardStatsDTO, Long> field) {
+        this.key = key;
+        this.field = field;
+    }
+
+    /** The name of the DTO field, which pushed deltas are keyed by too. */
+    public String key() {
+        return key;
+    }
+
+    int bit() {
+        return 1 << ordinal();
+    }
+
+    long of(DashBoardStatsDTO stats) {
+        Long value = field.apply(stats);
+        return value == null ? 0 : value;
+    }
+
+    static DashBoardStatsDTO toStats(long[] values) {
+        return new DashBoardStatsDTO(values[0], values[1], values[2], values[3], values[4], values[5], values[6],
+                values[7]);
+    }
+}
@@ -0,0 +1,303 @@
+package com.app.dashboard;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.Exception.ResourceNotFoundException;
+import com.app.dao.SocietyDao;
+import com.app.dto.DashBoardStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-memory dashboard counters per society. A society is counted once with
+ * the aggregate query ({@link SocietyDao#findDashBoardStats}) on first read
+ * and from then on kept current by the deltas {@link DashBoardCountListener}
+ * publishes, so a read is a handful of {@link LongAdder#sum()} calls.
+ *
+ * <p>Counters are recounted from the database:
+ * <ul>
+ * <li>on the first read of a new day, as today's visitors and overdue bills
+ * move with the date;</li>
+ * <li>after bulk SQL that bypasses the listeners ({@link DashBoardCountsStale});</li>
+ * <li>every {@code app.dashboard.counters.reconcile-cron}, which corrects
+ * drift: writes made on other nodes, and deltas that race a recount.</li>
+ * </ul>
+ * Reconciliation runs on every node, not under a lease, as each node holds
+ * its own counters. Societies nobody has read for
+ * {@code app.dashboard.counters.idle-expiry} are dropped.
+ *
+ * <p>Every change to a society's counters, recounts included, takes the
+ * next number of its sequence and marks the counters it changed, until
+ * {@link #drain} hands them out as one {@link DashBoardDelta}. The first
+ * mark after a drain started publishes {@link DashBoardCountsMoved}, which
+ * is what {@link DashBoardPusher} times its pushes by. A society that changes
+ * while dropped is marked as a whole, so the drain recounts it.
+ */
+@Component
+@Slf4j
+public class DashBoardCounters implements MeterBinder {
+
+    private static final DashBoardCounter[] COUNTERS = DashBoardCounter.values();
+
+    private static final class SocietyCounts {
+
+        private final LocalDate day;
+        private final LongAdder[] adders = new LongAdder[COUNTERS.length];
+
+        SocietyCounts(LocalDate day, DashBoardStatsDTO stats) {
+            this.day = day;
+            for (DashBoardCounter counter : COUNTERS) {
+                adders[counter.ordinal()] = new LongAdder();
+                adders[counter.ordinal()].add(counter.of(stats));
+            }
+        }
+
+        long[] values() {
+            long[] values = new long[adders.length];
+            for (int i = 0; i < adders.length; i++) {
+                values[i] = adders[i].sum();
+            }
+            return values;
+        }
+
+        DashBoardStatsDTO snapshot() {
+            return DashBoardCounter.toStats(values());
+        }
+    }
+
+    // Per society, and also the lock its counts are changed and read under when versioned
+    private static final class Sequence {
+
+        private long value;
+        private long drained;
+        private int changed;
+        // Cleared when a drain starts, so a drain that fails leaves the next change to open a window
+        private boolean windowOpen;
+
+        // Returns whether these changes open a window
+        boolean mark(int counters) {
+            boolean first = !windowOpen;
+            value++;
+            changed |= counters;
+            windowOpen = true;
+            return first;
+        }
+    }
+
+    private final SocietyDao societyRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Cache<Long, SocietyCounts> societies;
+    // Outlives the counts, so a client's sequence number stays valid across recounts
+    private final ConcurrentMap<Long, Sequence> sequences = new ConcurrentHashMap<>();
+
+    public DashBoardCounters(
+            SocietyDao societyRepository,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.dashboard.counters.idle-expiry:1h}") Duration idleExpiry) {
+        this.societyRepository = societyRepository;
+        this.eventPublisher = eventPublisher;
+        this.societies = Caffeine.newBuilder()
+                .expireAfterAccess(idleExpiry)
+                .recordStats()
+                .build();
+    }
+
+    public DashBoardStatsDTO get(Long societyId) {
+        return current(societyId).snapshot();
+    }
+
+    /** The counters of a society together with the sequence number they are current as of. */
+    public DashBoardSnapshot snapshot(Long societyId) {
+        while (true) {
+            SocietyCounts counts = current(societyId);
+            Sequence sequence = sequences.get(societyId);
+            synchronized (sequence) {
+                // Else recounted or dropped in between; go again
+                if (societies.getIfPresent(societyId) == counts) {
+                    return new DashBoardSnapshot(sequence.value, counts.snapshot());
+                }
+            }
+        }
+    }
+
+    /**
+     * The counters of a society changed since the last drain, or empty when
+     * none did. Recounts the society when it is no longer held.
+     */
+    public Optional<DashBoardDelta> drain(Long societyId) {
+        Sequence sequence = sequences.get(societyId);
+        if (sequence == null) {
+            return Optional.empty();
+        }
+        while (true) {
+            synchronized (sequence) {
+                sequence.windowOpen = false;
+                if (sequence.changed == 0) {
+                    return Optional.empty();
+                }
+            }
+            SocietyCounts counts = current(societyId);
+            synchronized (sequence) {
+                if (societies.getIfPresent(societyId) != counts) {
+                    continue;
+                }
+                Map<String, Long> changed = new LinkedHashMap<>();
+                for (DashBoardCounter counter : COUNTERS) {
+                    if ((sequence.changed & counter.bit()) != 0) {
+                        changed.put(counter.key(), counts.adders[counter.ordinal()].sum());
+                    }
+                }
+                DashBoardDelta delta = new DashBoardDelta(sequence.drained + 1, sequence.value, changed);
+                sequence.drained = sequence.value;
+                sequence.changed = 0;
+                return Optional.of(delta);
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountChanged(DashBoardCountChanged event) {
+        Sequence sequence = sequences.get(event.societyId());
+        if (sequence == null) {
+            // Never counted: nothing is held, and nobody was handed a sequence number
+            return;
+        }
+        boolean first;
+        synchronized (sequence) {
+            SocietyCounts counts = societies.getIfPresent(event.societyId());
+            if (counts != null && counts.day.equals(event.day())) {
+                counts.adders[event.counter().ordinal()].add(event.delta());
+                first = sequence.mark(event.counter().bit());
+            } else {
+                // Dropped, or counted for another day: the next read or drain recounts
+                first = sequence.mark(DashBoardCounter.ALL);
+            }
+        }
+        moved(event.societyId(), first);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCountsStale(DashBoardCountsStale event) {
+        List<Long> stale = event.societyId() == null ? new ArrayList<>(societies.asMap().keySet())
+                : List.of(event.societyId());
+        for (Long societyId : stale) {
+            Sequence sequence = sequences.get(societyId);
+            if (sequence == null) {
+                societies.invalidate(societyId);
+                continue;
+            }
+            boolean first;
+            synchronized (sequence) {
+                societies.invalidate(societyId);
+                first = sequence.mark(DashBoardCounter.ALL);
+            }
+            moved(societyId, first);
+        }
+    }
+
+    /** Recounts every society held in memory and returns how many were corrected. */
+    @Scheduled(cron = "${app.dashboard.counters.reconcile-cron:0 */10 * * * *}")
+    public int reconcile() {
+        int corrected = 0;
+        for (Long societyId : new ArrayList<>(societies.asMap().keySet())) {
+            SocietyCounts counted;
+            try {
+                counted = count(societyId);
+            } catch (ResourceNotFoundException e) {
+                societies.invalidate(societyId);
+                sequences.remove(societyId);
+                continue;
+            }
+            if (replace(societyId, counted) != 0) {
+                corrected++;
+            }
+        }
+        if (corrected > 0) {
+            log.info("Reconciled dashboard counters: {} of {} societies had drifted", corrected,
+                    societies.estimatedSize());
+        }
+        return corrected;
+    }
+
+    private SocietyCounts current(Long societyId) {
+        SocietyCounts counts = societies.getIfPresent(societyId);
+        if (counts == null || !counts.day.equals(LocalDate.now())) {
+            counts = count(societyId);
+            replace(societyId, counts);
+        }
+        return counts;
+    }
+
+    // Holds the recounted counts; returns the counters they differ in, all of them when none were held
+    private int replace(Long societyId, SocietyCounts counted) {
+        Sequence created = new Sequence();
+        Sequence sequence = sequences.putIfAbsent(societyId, created);
+        if (sequence == null) {
+            synchronized (created) {
+                societies.put(societyId, counted);
+            }
+            return 0;
+        }
+        int changed = 0;
+        boolean first = false;
+        synchronized (sequence) {
+            SocietyCounts held = societies.getIfPresent(societyId);
+            if (held == null) {
+                changed = DashBoardCounter.ALL;
+            } else {
+                long[] before = held.values();
+                long[] after = counted.values();
+                for (DashBoardCounter counter : COUNTERS) {
+                    if (before[counter.ordinal()] != after[counter.ordinal()]) {
+                        changed |= counter.bit();
+                    }
+                }
+            }
+            societies.put(societyId, counted);
+            if (changed != 0) {
+                first = sequence.mark(changed);
+            }
+        }
+        moved(societyId, first);
+        return changed;
+    }
+
+    private void moved(Long societyId, boolean first) {
+        if (first) {
+            eventPublisher.publishEvent(new DashBoardCountsMoved(societyId));
+        }
+    }
+
+    private SocietyCounts count(Long societyId) {
+        LocalDate today = LocalDate.now();
+        DashBoardStatsDTO stats = societyRepository.findDashBoardStats(societyId, today.atStartOfDay(),
+                today.plusDays(1).atStartOfDay(), today)
+                .orElseThrow(() -> new ResourceNotFoundException("Society not found with id: " + societyId));
+        return new SocietyCounts(today, stats);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, societies, "dashboard.counters");
+    }
+}
@@ -0,0 +1,8 @@
+package com.app.dashboard;
+
+/**
+ * The first counter of {@code societyId} changed since its last pushed
+ * delta; later changes are coalesced into the same delta.
+ */
+public record DashBoardCountsMoved(Long societyId) {
+}
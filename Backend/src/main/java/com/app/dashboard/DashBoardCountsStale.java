@@ -0,0 +1,12 @@
+package com.app.dashboard;
+
+/**
+ * Rows changed behind the entity listeners (bulk SQL), so the counters of
+ * {@code societyId}, or of every society when it is null, must be recounted.
+ */
+public record DashBoardCountsStale(Long societyId) {
+
+    public static DashBoardCountsStale all() {
+        return new DashBoardCountsStale(null);
+    }
+}
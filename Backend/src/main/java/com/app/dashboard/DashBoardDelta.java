@@ -0,0 +1,14 @@
+package com.app.dashboard;
+
+import java.util.Map;
+
+/**
+ * The counters that changed in sequence numbers {@code fromSeq} to
+ * {@code seq}, keyed by {@link DashBoardCounter#key()}, with their values
+ * as of {@code seq}. Values rather than differences, so a delta that
+ * overlaps a client's snapshot can still be applied whole; a
+ * {@code fromSeq} past the client's sequence number plus one means a delta
+ * was missed and the client fetches a new snapshot.
+ */
+public record DashBoardDelta(long fromSeq, long seq, Map<String, Long> counts) {
+}
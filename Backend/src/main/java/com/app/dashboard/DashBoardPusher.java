@@ -0,0 +1,74 @@
+package com.app.dashboard;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.stereotype.Component;
+
+import com.app.dto.NotificationDto;
+import com.app.service.NotificationService;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes dashboard counter changes to the admins of a society, on
+ * {@code /topic/admin/{societyId}} as {@value #TYPE} notifications carrying
+ * a {@link DashBoardDelta}. A society's first change opens a window of
+ * {@code app.dashboard.push.window}; everything that changes within it goes
+ * out as one delta when it closes, so a burst of check-ins is a few frames
+ * rather than one per visitor.
+ *
+ * <p>A client subscribes first, then fetches a {@link DashBoardSnapshot}
+ * ({@code GET /dashboard/society/{societyId}/snapshot}), skips deltas up to
+ * its {@code seq} and applies the rest.
+ *
+ * <p>Deltas are sent from a single thread of their own, so those of a
+ * society go out in sequence order.
+ */
+@Component
+@Slf4j
+public class DashBoardPusher implements DisposableBean {
+
+    static final String TYPE = "DASHBOARD_COUNTS";
+
+    private final DashBoardCounters dashBoardCounters;
+    private final NotificationService notificationService;
+    private final Duration window;
+    private final ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+
+    public DashBoardPusher(
+            DashBoardCounters dashBoardCounters,
+            NotificationService notificationService,
+            @Value("${app.dashboard.push.window:250ms}") Duration window) {
+        this.dashBoardCounters = dashBoardCounters;
+        this.notificationService = notificationService;
+        this.window = window;
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("dashboard-push-");
+        scheduler.initialize();
+    }
+
+    @EventListener
+    public void onCountsMoved(DashBoardCountsMoved event) {
+        scheduler.schedule(() -> push(event.societyId()), Instant.now().plus(window));
+    }
+
+    void push(Long societyId) {
+        try {
+            dashBoardCounters.drain(societyId).ifPresent(delta -> notificationService.sendAdminNotification(
+                    NotificationDto.create(TYPE, "Dashboard counts changed", delta, null, null, null, societyId)));
+        } catch (RuntimeException e) {
+            // Clients catch up from the next delta, or from a snapshot on a sequence gap
+            log.warn("Could not push dashboard counts of society {}", societyId, e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdown();
+    }
+}
@@ -0,0 +1,11 @@
+package com.app.dashboard;
+
+import com.app.dto.DashBoardStatsDTO;
+
+/**
+ * Every counter of a society as of sequence number {@code seq}. A client
+ * that subscribes to the pushed deltas first and then fetches this applies
+ * only the deltas past {@code seq}.
+ */
+public record DashBoardSnapshot(long seq, DashBoardStatsDTO stats) {
+}
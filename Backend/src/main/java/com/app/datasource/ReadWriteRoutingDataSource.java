@@ -0,0 +1,64 @@
+package com.app.datasource;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Sends {@code @Transactional(readOnly = true)} work to the replicas and
+ * everything else (writes, Flyway, non-transactional JDBC) to the primary.
+ *
+ * <p>Routing relies on the lazy connection proxy: Hibernate asks for a
+ * connection as the transaction begins, before Spring has published the
+ * read-only flag, but marks that connection read-only before running any
+ * statement. The proxy only picks the target once the first statement
+ * runs, by which time it knows which one to use.
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements MeterBinder, AutoCloseable {
+
+    private final DataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("datasource.reads", replicas, r -> r.replicaReads.sum())
+                .description("Read-only transactions by where they read from")
+                .tag("target", "replica")
+                .register(registry);
+        FunctionCounter.builder("datasource.reads", replicas, r -> r.stickyReads.sum())
+                .description("Read-only transactions by where they read from")
+                .tag("target", "primary-sticky")
+                .register(registry);
+        FunctionCounter.builder("datasource.reads", replicas, r -> r.failoverReads.sum())
+                .description("Read-only transactions by where they read from")
+                .tag("target", "primary-failover")
+                .register(registry);
+        Gauge.builder("datasource.replicas.healthy", replicas, ReplicaDataSource::healthyReplicas)
+                .description("Replicas currently taking reads")
+                .register(registry);
+    }
+
+    @Override
+    public void close() throws Exception {
+        for (DataSource replica : replicas.getReplicas()) {
+            if (replica instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+        if (primary instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.app.datasource;
+
+import java.time.Duration;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * Remembers which users committed a read-write transaction in the last
+ * {@code window}, so their reads can stay on the primary until the replicas
+ * have caught up. Registered with the transaction manager as an execution
+ * listener. Tracking is per node; a zero window turns it off.
+ */
+public class ReadYourWrites implements TransactionExecutionListener {
+
+    private final Cache<String, Boolean> recentWriters;
+    private final boolean enabled;
+
+    public ReadYourWrites(Duration window) {
+        this.enabled = !window.isZero();
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(100_000)
+                .expireAfterWrite(enabled ? window : Duration.ofMillis(1))
+                .build();
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (!enabled || commitFailure != null || !transaction.isNewTransaction() || transaction.isReadOnly()) {
+            return;
+        }
+        String user = currentUser();
+        if (user != null) {
+            recentWriters.put(user, Boolean.TRUE);
+        }
+    }
+
+    /**
+     * Whether the current user wrote recently enough that a read must go to
+     * the primary.
+     */
+    public boolean isSticky() {
+        if (!enabled) {
+            return false;
+        }
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,97 @@
+package com.app.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Where read-only transactions get their connection. Replicas are used in
+ * turn; one that fails to hand out a connection is skipped for
+ * {@code retryAfter}, and when none is usable the read goes to the primary.
+ * Users who wrote a moment ago (see {@link ReadYourWrites}) read from the
+ * primary too.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<DataSource> replicas;
+    private final ReadYourWrites readYourWrites;
+    private final long retryAfterMs;
+
+    // Per replica: epoch millis until which it is skipped, 0 when healthy
+    private final AtomicLongArray downUntil;
+    private final AtomicInteger next = new AtomicInteger();
+
+    final LongAdder replicaReads = new LongAdder();
+    final LongAdder stickyReads = new LongAdder();
+    final LongAdder failoverReads = new LongAdder();
+
+    public ReplicaDataSource(DataSource primary, List<DataSource> replicas, ReadYourWrites readYourWrites,
+            Duration retryAfter) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.readYourWrites = readYourWrites;
+        this.retryAfterMs = retryAfter.toMillis();
+        this.downUntil = new AtomicLongArray(replicas.size());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (readYourWrites.isSticky()) {
+            stickyReads.increment();
+            return primary.getConnection();
+        }
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+        for (int i = 0; i < size; i++) {
+            int index = (start + i) % size;
+            long now = System.currentTimeMillis();
+            if (downUntil.get(index) > now) {
+                continue;
+            }
+            try {
+                Connection connection = replicas.get(index).getConnection();
+                downUntil.set(index, 0);
+                replicaReads.increment();
+                return connection;
+            } catch (SQLException ex) {
+                downUntil.set(index, now + retryAfterMs);
+                log.warn("Replica {} unavailable, skipping it for {} ms: {}", index, retryAfterMs, ex.getMessage());
+            }
+        }
+        failoverReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Replica connections use the configured credentials");
+    }
+
+    int healthyReplicas() {
+        long now = System.currentTimeMillis();
+        int healthy = 0;
+        for (int i = 0; i < downUntil.length(); i++) {
+            if (downUntil.get(i) <= now) {
+                healthy++;
+            }
+        }
+        return healthy;
+    }
+
+    List<DataSource> getReplicas() {
+        return replicas;
+    }
+}
@@ -0,0 +1,18 @@
+package com.app.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDTO<T> {
+    private List<T> items;
+    // Opaque token for the next page; null on the last page
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+}
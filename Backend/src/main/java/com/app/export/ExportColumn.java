@@ -0,0 +1,13 @@
+package com.app.export;
+
+import java.util.function.Function;
+
+/**
+ * One CSV column: its header and how to read its value from a row.
+ */
+public record ExportColumn<T>(String header, Function<T, Object> value) {
+
+    public static <T> ExportColumn<T> of(String header, Function<T, Object> value) {
+        return new ExportColumn<>(header, value);
+    }
+}
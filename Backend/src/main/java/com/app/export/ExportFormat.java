@@ -0,0 +1,33 @@
+package com.app.export;
+
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Output format of a streamed export: CSV with a header row, or one JSON
+ * object per line.
+ */
+public enum ExportFormat {
+    CSV("text/csv", "csv"),
+    NDJSON("application/x-ndjson", "ndjson");
+
+    private final String contentType;
+    private final String extension;
+
+    ExportFormat(String contentType, String extension) {
+        this.contentType = contentType;
+        this.extension = extension;
+    }
+
+    /** Sets the headers for downloading the export as {@code name} plus the format's extension. */
+    public void prepare(HttpServletResponse response, String name) {
+        response.setContentType(contentType);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(name + "." + extension).build().toString());
+    }
+}
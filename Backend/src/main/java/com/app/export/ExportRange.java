@@ -0,0 +1,34 @@
+package com.app.export;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.app.Exception.BadRequestException;
+
+/**
+ * Inclusive date range of an export. An open end takes a bound every stored
+ * date falls within, so the queries always have both bounds.
+ */
+public record ExportRange(LocalDate from, LocalDate to) {
+
+    private static final LocalDate EARLIEST = LocalDate.of(1970, 1, 1);
+    // MySQL DATETIME ends at 9999-12-31; end() is the day after
+    private static final LocalDate LATEST = LocalDate.of(9999, 12, 30);
+
+    public ExportRange {
+        from = from == null ? EARLIEST : from;
+        to = to == null ? LATEST : to;
+        if (from.isAfter(to)) {
+            throw new BadRequestException("Export range starts after it ends: " + from + " > " + to);
+        }
+    }
+
+    public LocalDateTime start() {
+        return from.atStartOfDay();
+    }
+
+    /** Exclusive upper bound for timestamp columns. */
+    public LocalDateTime end() {
+        return to.plusDays(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,110 @@
+package com.app.export;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes rows to an output stream as they come off a query cursor, so an
+ * export holds one row in memory at a time however many rows it has.
+ */
+@Component
+public class RowExporter {
+
+    /**
+     * Rows fetched per round trip by the export queries. A string so the
+     * DAOs can use it in query hints. On MySQL this only streams with
+     * {@code useCursorFetch=true} on the JDBC URL; without it the driver
+     * reads the whole result set into memory.
+     */
+    public static final String FETCH_SIZE = "500";
+
+    private final ObjectMapper objectMapper;
+
+    public RowExporter(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Writes {@code rows} to {@code out} and returns how many were written.
+     * {@code columns} are only used for CSV; NDJSON writes each row whole.
+     * The caller closes both the stream and {@code out}.
+     */
+    public <T> long write(Stream<T> rows, ExportFormat format, List<ExportColumn<T>> columns, OutputStream out)
+            throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(rows.iterator(), columns, out);
+            case NDJSON -> writeNdjson(rows.iterator(), out);
+        };
+    }
+
+    private <T> long writeCsv(Iterator<T> rows, List<ExportColumn<T>> columns, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        for (int i = 0; i < columns.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(columns.get(i).header());
+        }
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            T row = rows.next();
+            for (int i = 0; i < columns.size(); i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writeCsvValue(writer, columns.get(i).value().apply(row));
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvValue(Writer writer, Object value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!(value instanceof String text)) {
+            writer.write(value.toString());
+            return;
+        }
+        // Free text could start a spreadsheet formula; prefix it so it stays text
+        if (!text.isEmpty() && "=+-@".indexOf(text.charAt(0)) >= 0) {
+            text = "'" + text;
+        }
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private <T> long writeNdjson(Iterator<T> rows, OutputStream out) throws IOException {
+        OutputStream buffered = new BufferedOutputStream(out);
+        long count = 0;
+        while (rows.hasNext()) {
+            buffered.write(objectMapper.writeValueAsBytes(rows.next()));
+            buffered.write('\n');
+            count++;
+        }
+        buffered.flush();
+        return count;
+    }
+}
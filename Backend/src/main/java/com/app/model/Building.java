@@ -3,34 +3,54 @@ package com.app.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "buildings")
+@Table(name = "buildings", uniqueConstraints =
+        @UniqueConstraint(name = "uk_buildings_society_name", columnNames = {"society_id", "name"}))
+@EntityListeners(DashBoardCountListener.class)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "building")
+@NaturalIdCache(region = "building-natural-id")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Building {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
     
+    @NaturalId(mutable = true)
     @Column(nullable = false)
     private String name;
     
     @Column(nullable = false)
     private int totalFloors;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @NaturalId(mutable = true)
     @ManyToOne
     @JoinColumn(name = "society_id", nullable = false)
     private Society society;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "building")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "building-flats")
     private List<Flat> flats;
 
     @Column(name = "created_at")
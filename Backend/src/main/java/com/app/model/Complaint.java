@@ -2,22 +2,38 @@ package com.app.model;
 
 import java.time.LocalDateTime;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "complaints")
+@NamedEntityGraph(name = "Complaint.listing", attributeNodes = {
+        @NamedAttributeNode("flat"),
+        @NamedAttributeNode("createdBy")
+})
+@Table(name = "complaints", indexes = {
+        @Index(name = "idx_complaints_society_created", columnList = "society_id, created_at, id"),
+        @Index(name = "idx_complaints_society_status", columnList = "society_id, status, created_at, id")
+})
+@EntityListeners({ SocietyScopeListener.class, DashBoardCountListener.class })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Complaint {
+public class Complaint implements SocietyScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
+
+    // Bumped on every update; see OptimisticRetry
+    @Version
+    private Long version;
     
     @Column(nullable = false)
     private String title;
@@ -31,9 +47,15 @@ public class Complaint {
     @Enumerated(EnumType.ORDINAL)
     private ComplaintStatus status;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flat_id", nullable = false)
     private Flat flat;
+
+    // Denormalized from flat -> building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
     
     @Column(nullable = false)
     private LocalDateTime createdAt;
@@ -43,7 +65,9 @@ public class Complaint {
     @Column(columnDefinition = "TEXT")
     private String resolution;
     
-    @ManyToOne
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private FlatMember createdBy;
     
@@ -57,7 +81,8 @@ public class Complaint {
         status = ComplaintStatus.PENDING;
     }
 
-	
-    
+    @Override
+    public Flat societyFlat() {
+        return flat;
+    }
 }
-
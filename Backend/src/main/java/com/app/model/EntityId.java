@@ -0,0 +1,21 @@
+package com.app.model;
+
+import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+import org.hibernate.annotations.IdGeneratorType;
+
+/**
+ * Id generation for every entity, kept in one place so the strategy can be
+ * swapped without touching the entities. Ids are currently handed out by
+ * {@link PooledIdGenerator}; unlike IDENTITY they are known before the
+ * INSERT, which lets Hibernate batch inserts.
+ */
+@IdGeneratorType(PooledIdGenerator.class)
+@Retention(RUNTIME)
+@Target(FIELD)
+public @interface EntityId {
+}
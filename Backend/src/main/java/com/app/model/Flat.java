@@ -4,23 +4,46 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Set;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "flats")
+// Everything FlatMapper.toDTO reads: building and society names plus the owner among the members
+@NamedEntityGraph(name = "Flat.listing", attributeNodes = {
+        @NamedAttributeNode(value = "building", subgraph = "building"),
+        @NamedAttributeNode(value = "members", subgraph = "members")
+}, subgraphs = {
+        @NamedSubgraph(name = "building", attributeNodes = @NamedAttributeNode("society")),
+        @NamedSubgraph(name = "members", attributeNodes = @NamedAttributeNode("user"))
+})
+@Table(name = "flats", uniqueConstraints =
+        @UniqueConstraint(name = "uk_flats_building_flat_number", columnNames = {"building_id", "flat_number"}))
+// SocietyScopeListener first, so the dashboard listener sees the society id it assigns
+@EntityListeners({SocietyScopeListener.class, DashBoardCountListener.class})
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "flat")
+@NaturalIdCache(region = "flat-natural-id")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Flat {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
     
+    @NaturalId(mutable = true)
     @Column(nullable = false)
     private String flatNumber;
     
@@ -33,24 +56,39 @@ public class Flat {
     @Column(nullable = false)
     private Double area;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    @NaturalId(mutable = true)
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "building_id", nullable = false)
     private Building building;
+
+    // Denormalized from building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
     
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     @Builder.Default
     private OccupiedStatus occupiedStatus = OccupiedStatus.VACANT;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "flat", cascade = CascadeType.ALL)
     private Set<FlatAllocation> flatAllocations;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "flat", cascade = CascadeType.ALL)
     private Set<Complaint> complaints;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "flat", cascade = CascadeType.ALL)
     private Set<FlatMember> members;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "flat", cascade = CascadeType.ALL)
     private List<MaintenanceBill> maintenanceBills;
     
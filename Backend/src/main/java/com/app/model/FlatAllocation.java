@@ -1,28 +1,52 @@
 package com.app.model;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "flat_allocations")
+@NamedEntityGraph(name = "FlatAllocation.listing", attributeNodes = {
+        @NamedAttributeNode("flat"),
+        @NamedAttributeNode("user")
+})
+@Table(name = "flat_allocations", indexes = {
+        @Index(name = "idx_flat_allocations_society", columnList = "society_id, id"),
+        @Index(name = "idx_flat_allocations_society_status", columnList = "society_id, status, id")
+})
+@EntityListeners({ SocietyScopeListener.class, DashBoardCountListener.class })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class FlatAllocation {
+public class FlatAllocation implements SocietyScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
 
+    // Bumped on every update; see OptimisticRetry
+    @Version
+    private Long version;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
     private User user;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flat_id", nullable = false)
     private Flat flat;
 
+    // Denormalized from flat -> building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
+
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
     private AllocationStatus status = AllocationStatus.PENDING;
@@ -37,4 +61,8 @@ public class FlatAllocation {
     @Column(name = "family_members")
     private Integer familyMembers;
 
+    @Override
+    public Flat societyFlat() {
+        return flat;
+    }
 }
@@ -2,22 +2,30 @@ package com.app.model;
 
 import java.time.LocalDateTime;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "flat_members")
+@NamedEntityGraph(name = "FlatMember.listing", attributeNodes = @NamedAttributeNode("flat"))
+@Table(name = "flat_members", indexes = {
+        @Index(name = "idx_flat_members_society_approved", columnList = "society_id, approved, created_at, id")
+})
+@EntityListeners({ SocietyScopeListener.class, DashBoardCountListener.class })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class FlatMember {
+public class FlatMember implements SocietyScoped {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
 
     @Column(nullable = false)
@@ -35,10 +43,18 @@ public class FlatMember {
     @Column(nullable = false)
     private boolean isOwner;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flat_id", nullable = false)
     private Flat flat;
 
+    // Denormalized from flat -> building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
+
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id")
     private User user;
@@ -61,4 +77,9 @@ public class FlatMember {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    @Override
+    public Flat societyFlat() {
+        return flat;
+    }
 }
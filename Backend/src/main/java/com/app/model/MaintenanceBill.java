@@ -4,21 +4,32 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
-@Table(name = "maintenance_bills")
+@NamedEntityGraph(name = "MaintenanceBill.listing", attributeNodes = @NamedAttributeNode("flat"))
+@Table(name = "maintenance_bills", indexes = {
+        @Index(name = "idx_maintenance_bills_society_created", columnList = "society_id, created_at, id"),
+        @Index(name = "idx_maintenance_bills_society_paid", columnList = "society_id, paid, created_at, id")
+}, uniqueConstraints = @UniqueConstraint(name = "uk_maintenance_bills_bill_number", columnNames = "bill_number"))
+@EntityListeners({ SocietyScopeListener.class, DashBoardCountListener.class })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class MaintenanceBill {
+public class MaintenanceBill implements SocietyScoped {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
 
+    // Bumped on every update; see OptimisticRetry
+    @Version
+    private Long version;
+
     @Column(nullable = false)
     private String billNumber;
 
@@ -40,10 +51,16 @@ public class MaintenanceBill {
     @Column(name = "payment_reference")
     private String paymentReference;
 
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flat_id", nullable = false)
     private Flat flat;
 
+    // Denormalized from flat -> building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
+
     @Column(name = "created_at", nullable = false)
     private LocalDateTime createdAt;
 
@@ -62,4 +79,9 @@ public class MaintenanceBill {
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
     }
+
+    @Override
+    public Flat societyFlat() {
+        return flat;
+    }
 }
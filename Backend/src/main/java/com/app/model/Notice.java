@@ -2,18 +2,21 @@ package com.app.model;
 
 import java.time.LocalDateTime;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.*;
 
 @Entity
 @Table(name = "notices")
+@EntityListeners(DashBoardCountListener.class)
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Notice {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
     
     @Column(nullable = false)
@@ -26,10 +29,14 @@ public class Notice {
     @Enumerated(EnumType.ORDINAL)
     private NoticePriority priority = NoticePriority.NORMAL;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "society_id", nullable = false)
     private Society society;
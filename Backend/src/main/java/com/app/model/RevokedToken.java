@@ -0,0 +1,42 @@
+package com.app.model;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at"),
+        @Index(name = "idx_revoked_tokens_revoked_at", columnList = "revoked_at")
+})
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class RevokedToken {
+
+    // The token's jti claim
+    @Id
+    @Column(length = 64)
+    private String jti;
+
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (revokedAt == null) {
+            revokedAt = LocalDateTime.now();
+        }
+    }
+}
@@ -3,23 +3,34 @@ package com.app.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "societies")
+@Table(name = "societies", uniqueConstraints =
+        @UniqueConstraint(name = "uk_societies_name", columnNames = "name"))
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "society")
+@NaturalIdCache(region = "society-natural-id")
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 public class Society {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
     
+    @NaturalId(mutable = true)
     @Column(nullable = false)
     private String name;
     
@@ -41,9 +52,14 @@ public class Society {
     @Column(name = "number_of_buildings")
     private Integer numberOfBuildings;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "society")
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "society-buildings")
     private List<Building> buildings;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @OneToMany(mappedBy = "society")
     private List<User> admins;
     
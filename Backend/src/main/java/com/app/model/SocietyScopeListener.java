@@ -0,0 +1,55 @@
+package com.app.model;
+
+import org.hibernate.Hibernate;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+
+/**
+ * Copies the owning flat's society id onto a {@link SocietyScoped} row, and
+ * the building's society id onto a {@link Flat}, on insert and whenever the
+ * row is updated (e.g. moved to another flat). Flats that change building and
+ * buildings that change society are handled in bulk by
+ * {@code SocietyScopeService}. A parent still an uninitialized proxy is the
+ * one the row was loaded with (services load the parent a row moves to), so
+ * it is not loaded just to copy the same id again.
+ */
+public class SocietyScopeListener {
+
+    @PrePersist
+    @PreUpdate
+    public void assignSociety(Object entity) {
+        switch (entity) {
+            case Flat flat -> assignSociety(flat);
+            case SocietyScoped scoped -> assignSociety(scoped);
+            default -> {
+            }
+        }
+    }
+
+    private static void assignSociety(Flat flat) {
+        Building building = flat.getBuilding();
+        if (flat.getSocietyId() != null && !Hibernate.isInitialized(building)) {
+            return;
+        }
+        if (building != null && building.getSociety() != null) {
+            flat.setSocietyId(building.getSociety().getId());
+        }
+    }
+
+    private static void assignSociety(SocietyScoped entity) {
+        Flat flat = entity.societyFlat();
+        if (entity.getSocietyId() != null && !Hibernate.isInitialized(flat)) {
+            return;
+        }
+        if (flat == null) {
+            return;
+        }
+        // A loaded flat carries its own copy, so its building need not be loaded too
+        if (flat.getSocietyId() != null) {
+            entity.setSocietyId(flat.getSocietyId());
+        } else if (flat.getBuilding() != null && flat.getBuilding().getSociety() != null) {
+            entity.setSocietyId(flat.getBuilding().getSociety().getId());
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.model;
+
+/**
+ * Entity that hangs off a {@link Flat} and carries a denormalized copy of the
+ * flat's society id, so society-wide queries filter on a single indexed
+ * column instead of joining flat and building. Kept in sync by
+ * {@link SocietyScopeListener}.
+ */
+public interface SocietyScoped {
+
+    Flat societyFlat();
+
+    Long getSocietyId();
+
+    void setSocietyId(Long societyId);
+}
@@ -2,22 +2,38 @@ package com.app.model;
 
 import java.time.LocalDateTime;
 
+import com.app.dashboard.DashBoardCountListener;
+
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 
 @Entity
-@Table(name = "visitors")
+@NamedEntityGraph(name = "Visitor.listing", attributeNodes = {
+        @NamedAttributeNode("visitingFlat"),
+        @NamedAttributeNode("loggedBy"),
+        @NamedAttributeNode("approvedBy")
+})
+@Table(name = "visitors", indexes = {
+        @Index(name = "idx_visitors_society_entry", columnList = "society_id, entry_time, id")
+})
+@EntityListeners({ SocietyScopeListener.class, DashBoardCountListener.class })
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class Visitor {
+public class Visitor implements SocietyScoped {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @EntityId
     private Long id;
+
+    // Bumped on every update; see OptimisticRetry
+    @Version
+    private Long version;
     
     @Column(nullable = false)
     private String name;
@@ -33,14 +49,22 @@ public class Visitor {
     
     private LocalDateTime exitTime;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "flat_id", nullable = false)
     private Flat visitingFlat;
+
+    // Denormalized from flat -> building -> society; see SocietyScopeListener
+    @Column(name = "society_id")
+    private Long societyId;
     
     @Builder.Default
     @Enumerated(EnumType.ORDINAL)
     private VisitorStatus status = VisitorStatus.PENDING;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "logged_by", nullable = false)
     private User loggedBy;
@@ -54,6 +78,8 @@ public class Visitor {
     @Column(name = "approval_time")
     private LocalDateTime approvalTime;
     
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "approved_by")
     private FlatMember approvedBy;
@@ -64,7 +90,8 @@ public class Visitor {
         entryTime = LocalDateTime.now();
     }
 
-	
-    
-    
+    @Override
+    public Flat societyFlat() {
+        return visitingFlat;
+    }
 }
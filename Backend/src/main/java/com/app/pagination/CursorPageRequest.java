@@ -0,0 +1,21 @@
+package com.app.pagination;
+
+/**
+ * Query parameters of a keyset-paginated list: {@code cursor} (from the
+ * previous page's {@code nextCursor}), {@code size}, {@code sort} and the
+ * explicit {@code unpaged} opt-out that returns the legacy full list.
+ */
+public record CursorPageRequest(String cursor, Integer size, PageSort sort, Boolean unpaged) {
+
+    public static CursorPageRequest firstPage(int size, PageSort sort) {
+        return new CursorPageRequest(null, size, sort, false);
+    }
+
+    public boolean isUnpaged() {
+        return Boolean.TRUE.equals(unpaged);
+    }
+
+    public PageSort sortOrDefault() {
+        return sort == null ? PageSort.NEWEST : sort;
+    }
+}
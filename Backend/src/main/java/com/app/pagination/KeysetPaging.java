@@ -0,0 +1,112 @@
+package com.app.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.stereotype.Component;
+
+import com.app.Exception.BadRequestException;
+import com.app.dto.CursorPageDTO;
+
+/**
+ * Runs keyset (seek) pagination over {@code (timestamp, id)} and turns the
+ * last row's keys into an opaque continuation token. Each page is a single
+ * index range scan regardless of how deep the client has paged, unlike
+ * OFFSET which re-reads every skipped row.
+ */
+@Component
+public class KeysetPaging {
+
+    private static final String ID = "id";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final int defaultSize;
+    private final int maxSize;
+    private final boolean unpagedEnabled;
+
+    public KeysetPaging(
+            @Value("${app.pagination.default-size:20}") int defaultSize,
+            @Value("${app.pagination.max-size:100}") int maxSize,
+            @Value("${app.pagination.unpaged-enabled:true}") boolean unpagedEnabled) {
+        this.defaultSize = defaultSize;
+        this.maxSize = maxSize;
+        this.unpagedEnabled = unpagedEnabled;
+    }
+
+    /**
+     * Whether {@code request} asks for the legacy full list. Fails when that
+     * opt-out has been switched off.
+     */
+    public boolean isUnpaged(CursorPageRequest request) {
+        if (!request.isUnpaged()) {
+            return false;
+        }
+        if (!unpagedEnabled) {
+            throw new BadRequestException("Unpaged lists are disabled; use cursor pagination");
+        }
+        return true;
+    }
+
+    /**
+     * Fetches one page ordered by {@code timeProperty} then id, or by id alone
+     * when {@code timeProperty} is null.
+     */
+    public <E, D> CursorPageDTO<D> fetch(CursorPageRequest request, String timeProperty,
+            KeysetQuery<E> query, Function<List<E>, List<D>> mapper) {
+        PageSort sort = request.sortOrDefault();
+        int size = request.size() == null ? defaultSize : Math.max(1, Math.min(request.size(), maxSize));
+        ScrollPosition position = decode(request.cursor(), sort, timeProperty);
+
+        Window<E> window = query.find(position, sort.toSort(timeProperty), Limit.of(size));
+
+        String nextCursor = null;
+        if (window.hasNext() && !window.isEmpty()) {
+            KeysetScrollPosition last = (KeysetScrollPosition) window.positionAt(window.size() - 1);
+            nextCursor = encode(sort, timeProperty, last.getKeys());
+        }
+        return new CursorPageDTO<>(mapper.apply(window.getContent()), nextCursor, nextCursor != null, window.size());
+    }
+
+    // Token layout: "<sort>|<timestamp or empty>|<id>", base64url encoded
+    private static String encode(PageSort sort, String timeProperty, Map<String, ?> keys) {
+        Object time = timeProperty == null ? "" : keys.get(timeProperty);
+        String raw = sort.name() + "|" + time + "|" + keys.get(ID);
+        return ENCODER.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static ScrollPosition decode(String cursor, PageSort sort, String timeProperty) {
+        if (cursor == null || cursor.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        try {
+            String[] parts = new String(DECODER.decode(cursor), StandardCharsets.UTF_8).split("\\|", -1);
+            if (parts.length != 3) {
+                throw new BadRequestException("Invalid cursor");
+            }
+            if (!sort.name().equals(parts[0])) {
+                throw new BadRequestException("Cursor was issued for a different sort order");
+            }
+            Map<String, Object> keys = new HashMap<>();
+            if (timeProperty != null) {
+                keys.put(timeProperty, LocalDateTime.parse(parts[1]));
+            }
+            keys.put(ID, Long.valueOf(parts[2]));
+            return ScrollPosition.forward(keys);
+        } catch (DateTimeParseException | IllegalArgumentException ex) {
+            // Bad base64 and non-numeric ids both surface as IllegalArgumentException
+            throw new BadRequestException("Invalid cursor", ex);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.pagination;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * A scrolling repository call, e.g.
+ * {@code (position, sort, limit) -> complaintRepository.findBySocietyId(id, position, sort, limit)}.
+ */
+@FunctionalInterface
+public interface KeysetQuery<E> {
+
+    Window<E> find(ScrollPosition position, Sort sort, Limit limit);
+}
@@ -0,0 +1,23 @@
+package com.app.pagination;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Sort orders offered by keyset-paginated lists. Both are total orders: the
+ * timestamp is always paired with the id as a tiebreaker.
+ */
+public enum PageSort {
+    NEWEST(Sort.Direction.DESC),
+    OLDEST(Sort.Direction.ASC);
+
+    private final Sort.Direction direction;
+
+    PageSort(Sort.Direction direction) {
+        this.direction = direction;
+    }
+
+    public Sort toSort(String timeProperty) {
+        Sort byId = Sort.by(direction, "id");
+        return timeProperty == null ? byId : Sort.by(direction, timeProperty).and(byId);
+    }
+}
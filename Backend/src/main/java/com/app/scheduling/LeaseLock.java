@@ -0,0 +1,110 @@
+package com.app.scheduling;
+
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Named leases in {@code job_leases}, so a scheduled job runs on one node per
+ * tick. A lease is taken by a conditional UPDATE that only matches an expired
+ * row (or by the INSERT that creates the row), which the database lets only
+ * one node win. Lease times use the database clock, so nodes with skewed
+ * clocks still agree. A node that dies while holding a lease loses it once
+ * the lease expires.
+ *
+ * <p>Every attempt is timed in {@code scheduler.lease.acquire}, tagged with
+ * the lease name and whether it was {@code acquired} or already {@code held}
+ * by another node; the {@code held} count is the contention.
+ */
+@Component
+@Slf4j
+public class LeaseLock {
+
+    private static final String TAKE_EXPIRED = "UPDATE job_leases SET owner = ?, acquired_at = CURRENT_TIMESTAMP(3),"
+            + " expires_at = TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3))"
+            + " WHERE name = ? AND expires_at <= CURRENT_TIMESTAMP(3)";
+
+    private static final String CREATE = "INSERT INTO job_leases (name, owner, acquired_at, expires_at)"
+            + " VALUES (?, ?, CURRENT_TIMESTAMP(3), TIMESTAMPADD(SECOND, ?, CURRENT_TIMESTAMP(3)))";
+
+    // Keeps the lease until at least acquired_at + minimum hold, so a node whose cron fires late skips the tick
+    private static final String RELEASE = "UPDATE job_leases"
+            + " SET expires_at = GREATEST(CURRENT_TIMESTAMP(3), TIMESTAMPADD(SECOND, ?, acquired_at))"
+            + " WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate leaseTransaction;
+    private final MeterRegistry meterRegistry;
+    private final String owner;
+
+    public LeaseLock(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.scheduling.lease.owner:}") String owner) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.leaseTransaction = new TransactionTemplate(transactionManager);
+        this.leaseTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.meterRegistry = meterRegistry;
+        // pid@host plus a random suffix, so a restarted node never mistakes an old lease for its own
+        this.owner = owner.isBlank()
+                ? ManagementFactory.getRuntimeMXBean().getName() + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : owner;
+    }
+
+    /**
+     * Takes the lease {@code name} for at most {@code holdFor} if no other
+     * node holds it. Returns whether this node now holds it.
+     */
+    public boolean tryAcquire(String name, Duration holdFor) {
+        long start = System.nanoTime();
+        boolean acquired = leaseTransaction.execute(status -> {
+            if (jdbcTemplate.update(TAKE_EXPIRED, owner, holdFor.toSeconds(), name) == 1) {
+                return true;
+            }
+            try {
+                return jdbcTemplate.update(CREATE, name, owner, holdFor.toSeconds()) == 1;
+            } catch (DuplicateKeyException e) {
+                // Row exists and has not expired: another node holds the lease
+                return false;
+            }
+        });
+        Timer.builder("scheduler.lease.acquire")
+                .description("Attempts to take a scheduled job lease")
+                .tag("lease", name)
+                .tag("result", acquired ? "acquired" : "held")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (!acquired) {
+            log.debug("Lease {} is held by another node", name);
+        }
+        return acquired;
+    }
+
+    /**
+     * Gives up the lease {@code name}, but no earlier than {@code minimumHold}
+     * after it was taken. Does nothing if the lease has since passed to
+     * another node.
+     */
+    public void release(String name, Duration minimumHold) {
+        leaseTransaction.executeWithoutResult(status ->
+                jdbcTemplate.update(RELEASE, minimumHold.toSeconds(), name, owner));
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+}
@@ -0,0 +1,41 @@
+package com.app.scheduling;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Turns on {@code @Scheduled} jobs, unless {@code app.scheduling.enabled} is
+ * false. Jobs get a pool of their own ({@code app.scheduling.pool-size}
+ * threads named {@code job-*}); the STOMP broker registers a task scheduler
+ * too, and jobs would otherwise end up sharing it.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "app.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class SchedulingConfig implements SchedulingConfigurer {
+
+    @Value("${app.scheduling.pool-size:2}")
+    private int poolSize;
+
+    @Bean
+    public ThreadPoolTaskScheduler jobScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(poolSize);
+        scheduler.setThreadNamePrefix("job-");
+        // A job that is mid-UPDATE at shutdown gets to commit
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(30);
+        return scheduler;
+    }
+
+    @Override
+    public void configureTasks(ScheduledTaskRegistrar registrar) {
+        registrar.setTaskScheduler(jobScheduler());
+    }
+}
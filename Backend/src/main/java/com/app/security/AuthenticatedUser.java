@@ -0,0 +1,87 @@
+package com.app.security;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.app.model.User;
+import com.app.model.UserRole;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Immutable, request-scoped principal built from the verified JWT claims.
+ * Carries only what controllers need (id, role and society) so the
+ * {@code users} and {@code societies} tables are not touched per request.
+ */
+@Getter
+@ToString
+public final class AuthenticatedUser implements UserDetails {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String name;
+    private final String email;
+    private final UserRole role;
+    private final Long societyId;
+    private final String societyName;
+
+    @ToString.Exclude
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String name, String email, UserRole role, Long societyId, String societyName) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.role = role;
+        this.societyId = societyId;
+        this.societyName = societyName;
+        this.authorities = List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    public static AuthenticatedUser fromClaims(Claims claims) {
+        return new AuthenticatedUser(
+                toLong(claims.get("id")),
+                claims.get("name", String.class),
+                claims.get("email", String.class),
+                UserRole.valueOf(claims.get("role", String.class)),
+                toLong(claims.get("societyId")),
+                claims.get("societyName", String.class));
+    }
+
+    public static AuthenticatedUser fromUser(User user) {
+        return new AuthenticatedUser(
+                user.getId(),
+                user.getName(),
+                user.getEmail(),
+                user.getRole(),
+                user.getSociety() != null ? user.getSociety().getId() : null,
+                user.getSociety() != null ? user.getSociety().getName() : null);
+    }
+
+    private static Long toLong(Object value) {
+        return value instanceof Number number ? number.longValue() : null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public String getPassword() {
+        // Credentials are never carried on the token-backed principal
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
@@ -1,6 +1,7 @@
 package com.app.security;
 
 
+import org.springframework.security.authentication.DisabledException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -17,22 +18,34 @@ import lombok.RequiredArgsConstructor;
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserDao userRepository;
+    private final UserDetailsCache userDetailsCache;
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
+        User user = userDetailsCache.getByEmail(email, userRepository::findWithSocietyByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
         
         return user;
     }
 
-    @Transactional
+    @Transactional(readOnly = true)
     public UserDetails loadUserById(Long id) {
-        User user = userRepository.findById(id)
+        User user = userDetailsCache.getById(id, userRepository::findWithSocietyById)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with id: " + id));
         
         return user;
     }
-}
 
+    /**
+     * Builds the lightweight principal from the (cached) user row; the
+     * society is fetched with the user, so no session is needed here.
+     */
+    public AuthenticatedUser loadPrincipalByEmail(String email) {
+        User user = (User) loadUserByUsername(email);
+        if (!user.isEnabled()) {
+            throw new DisabledException("User account is disabled: " + email);
+        }
+        return AuthenticatedUser.fromUser(user);
+    }
+}
@@ -4,17 +4,18 @@ import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.UUID;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.stereotype.Component;
 
 import com.app.model.User;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.ExpiredJwtException;
@@ -41,12 +42,21 @@ public class JwtUtil {
     @Value("${app.jwt.prefix}")
     private String jwtPrefix;
 
-    private final UserDetailsService userDetailsService;
+    // When true the principal is rebuilt from the token claims; when false the
+    // user row is re-read on every request (picks up disabled accounts at once)
+    @Value("${app.jwt.stateless-principal:true}")
+    private boolean statelessPrincipal;
+
+    private final CustomUserDetailsService userDetailsService;
+    private final VerifiedTokenCache verifiedTokenCache;
     private Key key;
+    private JwtParser parser;
 
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        // JwtParser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String generateToken(User user) {
@@ -65,6 +75,7 @@ public class JwtUtil {
 
         return Jwts.builder()
                 .setClaims(claims)
+                .setId(UUID.randomUUID().toString())
                 .setSubject(user.getName())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
@@ -72,10 +83,14 @@ public class JwtUtil {
                 .compact();
     }
 
-    public boolean validateToken(String token) {
+    /**
+     * Verifies the signature and expiry once and returns the claims, or
+     * {@code null} when the token is not acceptable. Repeated calls for the
+     * same token are served from {@link VerifiedTokenCache}.
+     */
+    public Claims verify(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
+            return verifiedTokenCache.get(token, this::parseClaims);
         } catch (MalformedJwtException ex) {
             log.error("Invalid JWT token");
         } catch (ExpiredJwtException ex) {
@@ -84,31 +99,41 @@ public class JwtUtil {
             log.error("Unsupported JWT token");
         } catch (IllegalArgumentException ex) {
             log.error("JWT claims string is empty");
+        } catch (JwtException ex) {
+            log.error("Invalid JWT signature");
         }
-        return false;
+        return null;
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    public boolean validateToken(String token) {
+        return verify(token) != null;
+    }
 
-        return claims.getSubject();
+    public String getUsernameFromToken(String token) {
+        return getClaims(token).getSubject();
     }
+
     public String getEmailFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.get("email", String.class);
+        return getClaims(token).get("email", String.class);
+    }
+
+    public Claims getClaims(String token) {
+        return verifiedTokenCache.get(token, this::parseClaims);
     }
 
     public Authentication getAuthentication(String token) {
-    	UserDetails userDetails = userDetailsService.loadUserByUsername(getEmailFromToken(token));
-        return new UsernamePasswordAuthenticationToken(userDetails, "", userDetails.getAuthorities());
+        return getAuthentication(getClaims(token));
+    }
+
+    public Authentication getAuthentication(Claims claims) {
+        AuthenticatedUser principal = statelessPrincipal
+                ? AuthenticatedUser.fromClaims(claims)
+                : userDetailsService.loadPrincipalByEmail(claims.get("email", String.class));
+        return new UsernamePasswordAuthenticationToken(principal, "", principal.getAuthorities());
+    }
+
+    private Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
     }
 
     public long getExpirationTime() {
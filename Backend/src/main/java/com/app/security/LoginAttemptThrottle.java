@@ -0,0 +1,86 @@
+package com.app.security;
+
+import java.time.Duration;
+import java.util.Locale;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.app.Exception.TooManyRequestsException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Per-email login throttle. After {@code maxFailures} consecutive failed
+ * logins the email is blocked for {@code lockout}; blocked attempts are
+ * rejected before any password hashing is done. A successful login clears
+ * the count.
+ */
+@Component
+public class LoginAttemptThrottle implements MeterBinder {
+
+    private record Attempts(int failures, long blockedUntil) {
+    }
+
+    private final Cache<String, Attempts> attempts;
+    private final int maxFailures;
+    private final Duration lockout;
+    private Counter throttled;
+
+    public LoginAttemptThrottle(
+            @Value("${app.security.login-throttle.max-failures:5}") int maxFailures,
+            @Value("${app.security.login-throttle.lockout:5m}") Duration lockout,
+            @Value("${app.security.login-throttle.max-size:100000}") long maxSize) {
+        this.maxFailures = maxFailures;
+        this.lockout = lockout;
+        this.attempts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(lockout)
+                .build();
+    }
+
+    public void checkAllowed(String email) {
+        Attempts current = attempts.getIfPresent(key(email));
+        long now = System.currentTimeMillis();
+        if (current != null && current.blockedUntil() > now) {
+            if (throttled != null) {
+                throttled.increment();
+            }
+            long retryAfter = Math.max(1, (current.blockedUntil() - now + 999) / 1000);
+            throw new TooManyRequestsException("Too many failed login attempts, try again later", retryAfter);
+        }
+    }
+
+    public void recordFailure(String email) {
+        attempts.asMap().compute(key(email), (key, current) -> {
+            int failures = (current == null ? 0 : current.failures()) + 1;
+            if (failures >= maxFailures) {
+                return new Attempts(0, System.currentTimeMillis() + lockout.toMillis());
+            }
+            return new Attempts(failures, current == null ? 0 : current.blockedUntil());
+        });
+    }
+
+    public void recordSuccess(String email) {
+        attempts.invalidate(key(email));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        throttled = Counter.builder("auth.login.throttled")
+                .description("Login attempts rejected by the per-email throttle")
+                .register(registry);
+        Gauge.builder("auth.login.tracked", attempts, Cache::estimatedSize)
+                .description("Emails with recent failed logins")
+                .register(registry);
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
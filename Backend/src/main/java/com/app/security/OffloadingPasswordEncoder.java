@@ -0,0 +1,143 @@
+package com.app.security;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.app.Exception.ServiceOverloadedException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the delegate's (BCrypt) hash and verify work on a small dedicated pool
+ * with a bounded queue. At most {@code threads} hashes burn CPU at once, so a
+ * login storm cannot starve other endpoints; once the queue is full callers
+ * get a {@link ServiceOverloadedException} (503 + Retry-After) immediately
+ * instead of piling up on request threads.
+ * <p>
+ * The bounded queue is the only load shedding: BCrypt does not check for
+ * interrupts, so a hash that has been handed to a worker always runs to the
+ * end. A caller that was accepted therefore waits at most for the work
+ * already queued ahead of it.
+ */
+@Slf4j
+public class OffloadingPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+
+    private Timer encodeTimer;
+    private Timer matchesTimer;
+    private Counter rejected;
+
+    public OffloadingPasswordEncoder(PasswordEncoder delegate, int threads, int queueCapacity,
+            Duration retryAfter) {
+        this.delegate = delegate;
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                r -> {
+                    Thread thread = new Thread(r, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.retryAfterSeconds = Math.max(1, retryAfter.toSeconds());
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTimer);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTimer);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private <T> T submit(Callable<T> work, Timer timer) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return work.call();
+                } finally {
+                    if (timer != null) {
+                        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException ex) {
+            if (rejected != null) {
+                rejected.increment();
+            }
+            throw new ServiceOverloadedException("Authentication is busy, please retry shortly", retryAfterSeconds);
+        }
+
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            // Only stops a hash that has not started yet; a running one finishes regardless
+            future.cancel(false);
+            throw new ServiceOverloadedException("Authentication was interrupted", retryAfterSeconds);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException("Password hashing failed", ex.getCause());
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        encodeTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "encode")
+                .register(registry);
+        matchesTimer = Timer.builder("auth.password.hash")
+                .description("Time spent hashing or verifying a password")
+                .tag("operation", "matches")
+                .register(registry);
+        rejected = Counter.builder("auth.password.rejected")
+                .description("Hash requests rejected because the pool was saturated")
+                .register(registry);
+        Gauge.builder("auth.password.queue.depth", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a worker")
+                .register(registry);
+        Gauge.builder("auth.password.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Hash requests currently running")
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
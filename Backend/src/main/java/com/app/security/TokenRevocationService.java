@@ -0,0 +1,199 @@
+package com.app.security;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import com.app.dao.RevokedTokenDao;
+import com.app.model.RevokedToken;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Revocation list keyed by the token's {@code jti}. A Bloom filter sits in
+ * front of the exact jti-to-expiry map, so the common case (token not
+ * revoked) costs a few array reads and never touches the map. Revocations
+ * are written to {@code revoked_tokens}, reloaded on startup and re-synced
+ * periodically so other nodes pick them up. Entries are dropped once the
+ * token itself has expired, at which point the signature check rejects it
+ * anyway.
+ */
+@Component
+@Slf4j
+public class TokenRevocationService implements MeterBinder {
+
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    private final RevokedTokenDao revokedTokenRepository;
+    private final VerifiedTokenCache verifiedTokenCache;
+    private final long expectedRevocations;
+    private final double falsePositiveRate;
+    private final Duration syncInterval;
+
+    // jti -> token expiry (epoch millis)
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    private final Object writeLock = new Object();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile BloomFilter filter;
+    private volatile LocalDateTime lastSync;
+    private ScheduledExecutorService pruner;
+
+    public TokenRevocationService(
+            RevokedTokenDao revokedTokenRepository,
+            VerifiedTokenCache verifiedTokenCache,
+            @Value("${app.jwt.revocation.expected-size:100000}") long expectedRevocations,
+            @Value("${app.jwt.revocation.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${app.jwt.revocation.sync-interval:1m}") Duration syncInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.verifiedTokenCache = verifiedTokenCache;
+        this.expectedRevocations = expectedRevocations;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncInterval = syncInterval;
+        this.filter = new BloomFilter(expectedRevocations, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        LocalDateTime now = LocalDateTime.now();
+        revokedTokenRepository.deleteExpired(now);
+        synchronized (writeLock) {
+            for (RevokedToken token : revokedTokenRepository.findByExpiresAtAfter(now)) {
+                add(token.getJti(), toMillis(token.getExpiresAt()));
+            }
+        }
+        lastSync = now;
+        log.info("Loaded {} revoked tokens", revoked.size());
+
+        pruner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "token-revocation-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long intervalMs = syncInterval.toMillis();
+        pruner.scheduleWithFixedDelay(this::syncAndPrune, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (pruner != null) {
+            pruner.shutdownNow();
+        }
+    }
+
+    /**
+     * Whether the token with this {@code jti} has been revoked. Tokens issued
+     * without a jti cannot be revoked individually.
+     */
+    public boolean isRevoked(String jti) {
+        if (jti == null || !filter.mightContain(jti)) {
+            return false;
+        }
+        Long expiresAt = revoked.get(jti);
+        if (expiresAt == null) {
+            falsePositives.increment();
+            return false;
+        }
+        return expiresAt > System.currentTimeMillis();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        return isRevoked(claims.getId());
+    }
+
+    /**
+     * Revokes the token described by {@code claims} until it expires.
+     */
+    public void revoke(String token, Claims claims) {
+        String jti = claims.getId();
+        Date expiration = claims.getExpiration();
+        if (jti == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        RevokedToken entity = RevokedToken.builder()
+                .jti(jti)
+                .userId(claims.get("id") instanceof Number id ? id.longValue() : null)
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZONE))
+                .build();
+        revokedTokenRepository.save(entity);
+        synchronized (writeLock) {
+            add(jti, expiration.getTime());
+        }
+        if (token != null) {
+            verifiedTokenCache.invalidate(token);
+        }
+    }
+
+    public int size() {
+        return revoked.size();
+    }
+
+    /**
+     * Pulls revocations made on other nodes since the last run, drops expired
+     * entries and rebuilds the filter so removed jtis stop costing map lookups.
+     */
+    void syncAndPrune() {
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            // Overlap the window slightly so rows committed late are not missed
+            LocalDateTime since = lastSync.minus(syncInterval);
+            List<RevokedToken> recent = revokedTokenRepository.findByRevokedAtAfterAndExpiresAtAfter(since, now);
+            int deleted = revokedTokenRepository.deleteExpired(now);
+
+            synchronized (writeLock) {
+                for (RevokedToken token : recent) {
+                    add(token.getJti(), toMillis(token.getExpiresAt()));
+                }
+                long nowMs = System.currentTimeMillis();
+                boolean removed = revoked.values().removeIf(expiresAt -> expiresAt <= nowMs);
+                if (removed) {
+                    BloomFilter rebuilt = new BloomFilter(expectedRevocations, falsePositiveRate);
+                    revoked.keySet().forEach(rebuilt::put);
+                    filter = rebuilt;
+                }
+            }
+            lastSync = now;
+            log.debug("Revocation list synced: {} active, {} expired rows deleted", revoked.size(), deleted);
+        } catch (Exception ex) {
+            log.error("Failed to sync token revocation list", ex);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("jwt.revoked.size", revoked, Map::size)
+                .description("Revoked tokens that have not yet expired")
+                .register(registry);
+        FunctionCounter.builder("jwt.revoked.filter.false-positives", falsePositives, LongAdder::sum)
+                .description("Filter hits that were not in the revocation list")
+                .register(registry);
+    }
+
+    // Callers hold writeLock so a concurrent rebuild cannot drop the entry
+    private void add(String jti, long expiresAtMs) {
+        revoked.put(jti, expiresAtMs);
+        filter.put(jti);
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,29 @@
+package com.app.security;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.app.model.User;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JPA listener on {@link User}. Catches every entity-level change (enabled
+ * flag, role, society, password) regardless of which service made it.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserChangeListener {
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onChange(User user) {
+        eventPublisher.publishEvent(new UserChangedEvent(user.getId(), user.getEmail()));
+    }
+}
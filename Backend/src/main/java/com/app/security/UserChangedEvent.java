@@ -0,0 +1,8 @@
+package com.app.security;
+
+/**
+ * Published whenever a {@code User} row is inserted, updated or removed, so
+ * anything holding a copy of it (the user-details cache) can drop it.
+ */
+public record UserChangedEvent(Long userId, String email) {
+}
@@ -0,0 +1,144 @@
+package com.app.security;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.app.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Size-bounded, TTL-based cache of detached {@link User} rows keyed by email
+ * and by id, plus an id-to-email index so evicting a user is a direct
+ * lookup even after their email changed. Users are cached with their society already fetched, so callers
+ * can read it without a session. Cached instances are shared and must be
+ * treated as read-only.
+ *
+ * <p>Entries are evicted after commit on every {@link UserChangedEvent}; the
+ * TTL bounds staleness for anything that bypasses JPA (bulk SQL, other nodes).
+ */
+@Component
+@Slf4j
+public class UserDetailsCache implements MeterBinder {
+
+    private final Cache<String, User> byEmail;
+    private final Cache<Long, User> byId;
+    // Email each cached id is stored under in byEmail; at most one per id
+    private final ConcurrentMap<Long, String> emailById = new ConcurrentHashMap<>();
+    private final boolean enabled;
+
+    public UserDetailsCache(
+            @Value("${app.security.user-cache.enabled:true}") boolean enabled,
+            @Value("${app.security.user-cache.max-size:50000}") long maxSize,
+            @Value("${app.security.user-cache.ttl:10m}") Duration ttl) {
+        this.enabled = enabled;
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .evictionListener((String email, User user, RemovalCause cause) -> {
+                    if (user != null) {
+                        emailById.remove(user.getId(), email);
+                    }
+                })
+                .recordStats()
+                .build();
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> getByEmail(String email, Function<String, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(email);
+        }
+        User cached = byEmail.getIfPresent(email);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> loaded = loader.apply(email);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    public Optional<User> getById(Long id, Function<Long, Optional<User>> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        User cached = byId.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        Optional<User> loaded = loader.apply(id);
+        loaded.ifPresent(this::put);
+        return loaded;
+    }
+
+    private void put(User user) {
+        String previous = emailById.put(user.getId(), user.getEmail());
+        if (previous != null && !previous.equals(user.getEmail())) {
+            byEmail.invalidate(previous);
+        }
+        byEmail.put(user.getEmail(), user);
+        byId.put(user.getId(), user);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        evict(event.userId(), event.email());
+    }
+
+    public void evict(Long userId, String email) {
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+        if (userId != null) {
+            byId.invalidate(userId);
+            // Catches the entry stored under a previous email address
+            String cachedEmail = emailById.remove(userId);
+            if (cachedEmail != null) {
+                byEmail.invalidate(cachedEmail);
+            }
+        }
+        log.debug("Evicted cached user details for id={} email={}", userId, email);
+    }
+
+    public void clear() {
+        byEmail.invalidateAll();
+        byId.invalidateAll();
+        emailById.clear();
+    }
+
+    public long size() {
+        return byEmail.estimatedSize();
+    }
+
+    public CacheStats emailStats() {
+        return byEmail.stats();
+    }
+
+    public CacheStats idStats() {
+        return byId.stats();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, byEmail, "user.details.by-email");
+        CaffeineCacheMetrics.monitor(registry, byId, "user.details.by-id");
+    }
+}
@@ -0,0 +1,106 @@
+package com.app.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded cache of already verified tokens, keyed by the SHA-256 digest of the
+ * compact token so the raw bearer string is never held as a map key. Each
+ * entry lives until the token's own {@code exp} claim, so a hit can never
+ * outlive the token. Only successful verifications are cached.
+ */
+@Component
+public class VerifiedTokenCache implements MeterBinder {
+
+    private final Cache<String, Claims> cache;
+    private final boolean enabled;
+
+    public VerifiedTokenCache(
+            @Value("${app.jwt.cache.enabled:true}") boolean enabled,
+            @Value("${app.jwt.cache.max-size:10000}") long maxSize) {
+        this.enabled = enabled;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the claims for {@code token}, running {@code verifier} only on a
+     * miss. Exceptions thrown by the verifier propagate and nothing is cached.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        if (!enabled) {
+            return verifier.apply(token);
+        }
+        return cache.get(digest(token), key -> verifier.apply(token));
+    }
+
+    public void invalidate(String token) {
+        cache.invalidate(digest(token));
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "jwt.verified-tokens");
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 not available", ex);
+        }
+    }
+
+    private static final class TokenExpiry implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String key, Claims claims, long currentTime) {
+            Date expiration = claims.getExpiration();
+            if (expiration == null) {
+                return 0;
+            }
+            long remainingMs = expiration.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
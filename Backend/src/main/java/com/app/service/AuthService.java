@@ -1,6 +1,7 @@
 package com.app.service;
 
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -8,6 +9,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.app.Exception.BadRequestException;
 import com.app.Exception.ResourceAlreadyExistsException;
 import com.app.Exception.ResourceNotFoundException;
 import com.app.Mapper.UserMapper;
@@ -16,12 +18,16 @@ import com.app.dao.UserDao;
 import com.app.dto.AuthRequest;
 import com.app.dto.JwtResponseDTO;
 import com.app.dto.LoginDTO;
+import com.app.dto.PasswordChangeDTO;
 import com.app.dto.UserDTO;
 import com.app.model.Society;
 import com.app.model.User;
 import com.app.model.UserRole;
 import com.app.security.JwtUtil;
+import com.app.security.LoginAttemptThrottle;
+import com.app.security.TokenRevocationService;
 
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 
 @Service
@@ -33,6 +39,8 @@ public class AuthService {
     private final SocietyService societyService;
     private final PasswordEncoder passwordEncoder;
     private final JwtUtil tokenProvider;
+    private final TokenRevocationService revocationService;
+    private final LoginAttemptThrottle loginAttemptThrottle;
     private final AuthenticationManager authenticationManager;
     private final UserMapper userMapper;
 
@@ -40,7 +48,7 @@ public class AuthService {
     public UserDTO registerUser(AuthRequest request) {
         // Validate password match
         if (!request.getPassword().equals(request.getConfirmPassword())) {
-            throw new IllegalArgumentException("Passwords do not match");
+            throw new BadRequestException("Passwords do not match");
         }
 
         // Check if email already exists
@@ -64,7 +72,7 @@ public class AuthService {
             society = societyRepository.findById(request.getSocietyId())
                     .orElseThrow(() -> new ResourceNotFoundException("Society not found with id: " + request.getSocietyId()));
         } else if (request.getRole() != UserRole.ADMIN) {
-            throw new IllegalArgumentException("Society ID is required for Resident and Guard roles");
+            throw new BadRequestException("Society ID is required for Resident and Guard roles");
         }
 
         // Create new user
@@ -82,13 +90,53 @@ public class AuthService {
         return userMapper.toDTO(savedUser);
     }
 
+    @Transactional
+    public void changePassword(Long userId, PasswordChangeDTO request) {
+        if (!request.getNewPassword().equals(request.getConfirmPassword())) {
+            throw new BadRequestException("Passwords do not match");
+        }
+
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+
+        if (!passwordEncoder.matches(request.getCurrentPassword(), user.getPassword())) {
+            throw new BadCredentialsException("Current password is incorrect");
+        }
+
+        // The User entity listener evicts the cached login details after commit
+        user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        userRepository.save(user);
+    }
+
+    public void logout(String authorizationHeader) {
+        String token = tokenProvider.getJwtFromHeader(authorizationHeader);
+        if (token == null) {
+            throw new BadCredentialsException("Missing bearer token");
+        }
+        Claims claims = tokenProvider.verify(token);
+        if (claims == null) {
+            throw new BadCredentialsException("Invalid token");
+        }
+        revocationService.revoke(token, claims);
+    }
+
     public JwtResponseDTO login(LoginDTO request) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        request.getEmail(),
-                        request.getPassword()
-                )
-        );
+        // Blocked emails are turned away before any hashing is done
+        loginAttemptThrottle.checkAllowed(request.getEmail());
+
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            request.getEmail(),
+                            request.getPassword()
+                    )
+            );
+        } catch (BadCredentialsException ex) {
+            loginAttemptThrottle.recordFailure(request.getEmail());
+            throw ex;
+        }
+        loginAttemptThrottle.recordSuccess(request.getEmail());
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         User user = (User) authentication.getPrincipal();
@@ -0,0 +1,124 @@
+package com.app.service;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out bill numbers of the form {@code SOC<societyId>-<FY>-<sequence>},
+ * e.g. {@code SOC12-2026-000123}. The financial year runs April to March and
+ * is named after the year it starts in; the sequence restarts at 1 for every
+ * society and financial year.
+ *
+ * <p>Numbers are reserved from {@code bill_number_sequences} in blocks: one
+ * UPDATE bumps the counter under its row lock, in a short transaction of its
+ * own, so two nodes (or threads) can never get overlapping ranges. Single
+ * bills draw from a per-node block of {@code blockSize} numbers; bulk runs
+ * reserve exactly what they need. Numbers increase on each node, but blocks
+ * of different nodes interleave, and a block that is not used up before a
+ * restart leaves a gap.
+ */
+@Service
+public class BillNumberAllocator {
+
+    private static final String BUMP = "UPDATE bill_number_sequences SET next_value = next_value + ?"
+            + " WHERE society_id = ? AND financial_year = ?";
+
+    private static final String CREATE = "INSERT INTO bill_number_sequences (society_id, financial_year, next_value)"
+            + " VALUES (?, ?, ?)";
+
+    private static final String CURRENT = "SELECT next_value FROM bill_number_sequences"
+            + " WHERE society_id = ? AND financial_year = ?";
+
+    private record Key(long societyId, int financialYear) {
+    }
+
+    // Numbers [next, end) are reserved for this node and not handed out yet
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate reserveTransaction;
+    private final int blockSize;
+    private final Map<Key, Block> blocks = new ConcurrentHashMap<>();
+
+    public BillNumberAllocator(
+            JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.billing.number-block-size:20}") int blockSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.reserveTransaction = new TransactionTemplate(transactionManager);
+        this.reserveTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Next bill number for a bill of {@code societyId} dated {@code billDate}.
+     */
+    public String next(Long societyId, LocalDate billDate) {
+        Key key = new Key(societyId, financialYear(billDate));
+        Block block = blocks.computeIfAbsent(key, k -> new Block());
+        long value;
+        synchronized (block) {
+            if (block.next == block.end) {
+                block.next = reserve(key, blockSize);
+                block.end = block.next + blockSize;
+            }
+            value = block.next++;
+        }
+        return format(key, value);
+    }
+
+    /**
+     * Reserves {@code count} consecutive bill numbers with a single reservation.
+     */
+    public List<String> nextBlock(Long societyId, LocalDate billDate, int count) {
+        if (count <= 0) {
+            return List.of();
+        }
+        Key key = new Key(societyId, financialYear(billDate));
+        long first = reserve(key, count);
+        List<String> numbers = new ArrayList<>(count);
+        for (long value = first; value < first + count; value++) {
+            numbers.add(format(key, value));
+        }
+        return numbers;
+    }
+
+    static int financialYear(LocalDate date) {
+        return date.getMonthValue() >= Month.APRIL.getValue() ? date.getYear() : date.getYear() - 1;
+    }
+
+    // Returns the first of count freshly reserved numbers
+    private long reserve(Key key, int count) {
+        return reserveTransaction.execute(status -> {
+            if (jdbcTemplate.update(BUMP, count, key.societyId(), key.financialYear()) == 0) {
+                try {
+                    jdbcTemplate.update(CREATE, key.societyId(), key.financialYear(), 1L + count);
+                    return 1L;
+                } catch (DuplicateKeyException e) {
+                    // Another node created the row first; its row lock now orders us after it
+                    jdbcTemplate.update(BUMP, count, key.societyId(), key.financialYear());
+                }
+            }
+            return jdbcTemplate.queryForObject(CURRENT, Long.class, key.societyId(), key.financialYear()) - count;
+        });
+    }
+
+    private static String format(Key key, long value) {
+        return String.format("SOC%d-%d-%06d", key.societyId(), key.financialYear(), value);
+    }
+}
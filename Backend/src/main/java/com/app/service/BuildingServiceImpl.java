@@ -25,6 +25,7 @@ public class BuildingServiceImpl implements BuildingService {
     private final BuildingDao buildingRepository;
     private final SocietyDao societyRepository;
     private final BuildingMapper buildingMapper;
+    private final SocietyScopeService societyScopeService;
 
     @Override
     @Transactional(readOnly = true)
@@ -36,10 +37,11 @@ public class BuildingServiceImpl implements BuildingService {
     @Override
     @Transactional(readOnly = true)
     public List<BuildingDTO> getBuildingsBySocietyId(Long societyId) {
-        if (!societyRepository.existsById(societyId)) {
+        List<Building> buildings = buildingRepository.findBySocietyId(societyId);
+        // Only an empty result needs telling apart from a society that does not exist
+        if (buildings.isEmpty() && !societyRepository.existsById(societyId)) {
             throw new ResourceNotFoundException("Society not found with id: " + societyId);
         }
-        List<Building> buildings = buildingRepository.findBySocietyId(societyId);
         return buildingMapper.toDtoList(buildings);
     }
 
@@ -85,20 +87,26 @@ public class BuildingServiceImpl implements BuildingService {
             throw new ResourceAlreadyExistsException("Building already exists with name: " + buildingDto.getName() + " in society: " + society.getName());
         }
 
+        Long previousSocietyId = building.getSociety().getId();
+
         building.setName(buildingDto.getName());
         building.setSociety(society);
 
         Building updatedBuilding = buildingRepository.save(building);
+
+        // Keep the denormalized society_id on rows under this building in step
+        if (!previousSocietyId.equals(society.getId())) {
+            societyScopeService.reassignBuilding(building.getId(), society.getId());
+        }
         return buildingMapper.toDTO(updatedBuilding);
     }
     
     @Override
     @Transactional
     public void deleteBuilding(Long id) {
-        if (!buildingRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Building not found with id: " + id);
-        }
-        buildingRepository.deleteById(id);
+        Building building = buildingRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Building not found with id: " + id));
+        buildingRepository.delete(building);
     }
 
 }
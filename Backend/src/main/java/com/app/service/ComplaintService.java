@@ -3,7 +3,9 @@ package com.app.service;
 import java.util.List;
 
 import com.app.dto.ComplaintDTO;
+import com.app.dto.CursorPageDTO;
 import com.app.model.ComplaintStatus;
+import com.app.pagination.CursorPageRequest;
 
 
 public interface ComplaintService {
@@ -24,6 +26,10 @@ public List<ComplaintDTO> getAllComplaints();
 
 	List<ComplaintDTO> getComplaintsBySocietyIdAndStatus(Long societyId, ComplaintStatus status);
 
+	CursorPageDTO<ComplaintDTO> getComplaintsBySocietyId(Long societyId, CursorPageRequest page);
+
+	CursorPageDTO<ComplaintDTO> getComplaintsBySocietyIdAndStatus(Long societyId, ComplaintStatus status, CursorPageRequest page);
+
 	ComplaintDTO updateComplaintStatus(Long id, ComplaintStatus status, String resolution, Long adminUserId);
 
 	ComplaintDTO updateComplaint(Long id, ComplaintDTO complaintDto);
@@ -2,6 +2,7 @@ package com.app.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,12 +14,15 @@ import com.app.dao.FlatDao;
 import com.app.dao.FlatMemberDao;
 import com.app.dao.UserDao;
 import com.app.dto.ComplaintDTO;
+import com.app.dto.CursorPageDTO;
 import com.app.dto.NotificationDto;
 import com.app.model.Complaint;
 import com.app.model.ComplaintStatus;
 import com.app.model.Flat;
 import com.app.model.FlatMember;
 import com.app.model.User;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
 
 import lombok.RequiredArgsConstructor;
 
@@ -32,43 +36,61 @@ public class ComplaintServiceImpl implements ComplaintService {
     private final UserDao userRepository;
     private final ComplaintMapper complaintMapper;
     private final NotificationService notificationService;
+    private final KeysetPaging keysetPaging;
+    private final OptimisticRetry optimisticRetry;
 
     @Override
     @Transactional(readOnly = true)
     public List<ComplaintDTO> getAllComplaints() {
-        List<Complaint> complaints = complaintRepository.findAll();
-        return complaintMapper.toDtoList(complaints);
+        return complaintRepository.findAllDtos();
     }
     @Override
     @Transactional(readOnly = true)
     public List<ComplaintDTO> getComplaintsByFlatId(Long flatId) {
-        if (!flatRepository.existsById(flatId)) {
+        List<Complaint> complaints = complaintRepository.findByFlatId(flatId);
+        // Only an empty result needs telling apart from a flat that does not exist
+        if (complaints.isEmpty() && !flatRepository.existsById(flatId)) {
             throw new ResourceNotFoundException("Flat not found with id: " + flatId);
         }
-        List<Complaint> complaints = complaintRepository.findByFlatId(flatId);
         return complaintMapper.toDtoList(complaints);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<ComplaintDTO> getComplaintsByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        List<Complaint> complaints = complaintRepository.findByCreatedById(userId);
+        if (complaints.isEmpty() && !userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
-        List<Complaint> complaints = complaintRepository.findByCreatedById(userId);
         return complaintMapper.toDtoList(complaints);
     }
     @Override
     @Transactional(readOnly = true)
     public List<ComplaintDTO> getComplaintsBySocietyId(Long societyId) {
-        List<Complaint> complaints = complaintRepository.findBySocietyId(societyId);
-        return complaintMapper.toDtoList(complaints);
+        return complaintRepository.findDtosBySocietyId(societyId);
     }
     @Override
     @Transactional(readOnly = true)
     public List<ComplaintDTO> getComplaintsBySocietyIdAndStatus(Long societyId, ComplaintStatus status) {
-        List<Complaint> complaints = complaintRepository.findBySocietyIdAndStatus(societyId, status);
-        return complaintMapper.toDtoList(complaints);
+        return complaintRepository.findDtosBySocietyIdAndStatus(societyId, status);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ComplaintDTO> getComplaintsBySocietyId(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, "createdAt",
+                (position, sort, limit) -> complaintRepository.findBySocietyId(societyId, position, sort, limit),
+                complaintMapper::toDtoList);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<ComplaintDTO> getComplaintsBySocietyIdAndStatus(Long societyId, ComplaintStatus status,
+            CursorPageRequest page) {
+        return keysetPaging.fetch(page, "createdAt",
+                (position, sort, limit) -> complaintRepository.findBySocietyIdAndStatus(
+                        societyId, status, position, sort, limit),
+                complaintMapper::toDtoList);
     }
     
     @Override
@@ -85,6 +107,7 @@ public class ComplaintServiceImpl implements ComplaintService {
         Flat flat = flatRepository.findById(complaintDto.getFlatId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + complaintDto.getFlatId()));
 
+        // Loaded rather than referenced: the DTO and the notification both carry the member's name
         FlatMember raisedBy = flatmemberRepo.findById(complaintDto.getRaisedById())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + complaintDto.getRaisedById()));
 
@@ -107,49 +130,60 @@ public class ComplaintServiceImpl implements ComplaintService {
                 raisedBy.getId(),
                 raisedBy.getName(),
                 null,
-                flat.getBuilding().getSociety().getId()
+                flat.getSocietyId()
         );
         notificationService.sendAdminNotification(notification);
 
         return savedDto;
     }
+    /**
+     * Setting the status a complaint already has (with the same resolution)
+     * returns it unchanged and notifies nobody; retried on a concurrent change
+     * (see {@link OptimisticRetry}), so it never overwrites an edit made meanwhile.
+     */
     @Override
-    @Transactional
     public ComplaintDTO updateComplaintStatus(Long id, ComplaintStatus status, String resolution, Long adminUserId) {
-        Complaint complaint = complaintRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Complaint not found with id: " + id));
-
-        complaint.setStatus(status);
-        
-        if (status == ComplaintStatus.RESOLVED) {
-            complaint.setResolvedAt(LocalDateTime.now());
-            complaint.setResolution(resolution);
-        }
-
-        Complaint updatedComplaint = complaintRepository.save(complaint);
-        ComplaintDTO updatedDto = complaintMapper.toDTO(updatedComplaint);
-
-        // Get admin name
-        String adminName = "Admin";
-        if (adminUserId != null) {
-            User admin = userRepository.findById(adminUserId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Admin user not found with id: " + adminUserId));
-            adminName = admin.getName();
-        }
-
-        // Send notification to the user who raised the complaint
-        NotificationDto notification = NotificationDto.create(
-                "COMPLAINT_STATUS_UPDATED",
-                "Your complaint status has been updated to " + status,
-                updatedDto,
-                adminUserId,
-                adminName,
-                complaint.getCreatedBy().getId(),
-                complaint.getFlat().getBuilding().getSociety().getId()
-        );
-        notificationService.sendPrivateNotification(notification);
-
-        return updatedDto;
+        return optimisticRetry.run("Complaint " + id, () -> {
+            Complaint complaint = complaintRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Complaint not found with id: " + id));
+
+            if (complaint.getStatus() == status
+                    && (status != ComplaintStatus.RESOLVED || Objects.equals(complaint.getResolution(), resolution))) {
+                return complaintMapper.toDTO(complaint);
+            }
+
+            complaint.setStatus(status);
+
+            if (status == ComplaintStatus.RESOLVED) {
+                complaint.setResolvedAt(LocalDateTime.now());
+                complaint.setResolution(resolution);
+            }
+
+            Complaint updatedComplaint = complaintRepository.save(complaint);
+            ComplaintDTO updatedDto = complaintMapper.toDTO(updatedComplaint);
+
+            // Get admin name
+            String adminName = "Admin";
+            if (adminUserId != null) {
+                User admin = userRepository.findById(adminUserId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Admin user not found with id: " + adminUserId));
+                adminName = admin.getName();
+            }
+
+            // Send notification to the user who raised the complaint
+            NotificationDto notification = NotificationDto.create(
+                    "COMPLAINT_STATUS_UPDATED",
+                    "Your complaint status has been updated to " + status,
+                    updatedDto,
+                    adminUserId,
+                    adminName,
+                    complaint.getCreatedBy().getId(),
+                    complaint.getFlat().getBuilding().getSociety().getId()
+            );
+            notificationService.afterCommit(() -> notificationService.sendPrivateNotification(notification));
+
+            return updatedDto;
+        }, () -> complaintRepository.findById(id).map(complaintMapper::toDTO).orElse(null));
     }
     @Override
     @Transactional
@@ -157,16 +191,18 @@ public class ComplaintServiceImpl implements ComplaintService {
         Complaint complaint = complaintRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Complaint not found with id: " + id));
 
-        Flat flat = flatRepository.findById(complaintDto.getFlatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + complaintDto.getFlatId()));
-
-        FlatMember raisedBy = flatmemberRepo.findById(complaintDto.getRaisedById())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + complaintDto.getRaisedById()));
+        // Parents are only looked up when they change
+        if (!Objects.equals(complaint.getFlat().getId(), complaintDto.getFlatId())) {
+            complaint.setFlat(flatRepository.findById(complaintDto.getFlatId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + complaintDto.getFlatId())));
+        }
+        if (!Objects.equals(complaint.getCreatedBy().getId(), complaintDto.getRaisedById())) {
+            complaint.setCreatedBy(flatmemberRepo.findById(complaintDto.getRaisedById())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + complaintDto.getRaisedById())));
+        }
 
         complaint.setTitle(complaintDto.getTitle());
         complaint.setDescription(complaintDto.getDescription());
-        complaint.setFlat(flat);
-        complaint.setCreatedBy(raisedBy);
 
         Complaint updatedComplaint = complaintRepository.save(complaint);
         return complaintMapper.toDTO(updatedComplaint);
@@ -175,10 +211,9 @@ public class ComplaintServiceImpl implements ComplaintService {
     @Override
     @Transactional
     public void deleteComplaint(long id) {
-        if (!complaintRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Complaint not found with id: " + id);
-        }
-        complaintRepository.deleteById(id);
+        Complaint complaint = complaintRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Complaint not found with id: " + id));
+        complaintRepository.delete(complaint);
     }
 
 }
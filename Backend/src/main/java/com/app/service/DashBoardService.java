@@ -1,5 +1,11 @@
 package com.app.service;
 
-public class DashBoardService {
+import com.app.dashboard.DashBoardSnapshot;
+import com.app.dto.DashBoardStatsDTO;
 
+public interface DashBoardService {
+
+	DashBoardStatsDTO getStatsBySocietyId(Long societyId);
+
+	DashBoardSnapshot getSnapshotBySocietyId(Long societyId);
 }
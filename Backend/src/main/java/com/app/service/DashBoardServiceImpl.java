@@ -1,5 +1,31 @@
 package com.app.service;
 
-public class DashBoardServiceImpl {
+import org.springframework.stereotype.Service;
 
+import com.app.dashboard.DashBoardCounters;
+import com.app.dashboard.DashBoardSnapshot;
+import com.app.dto.DashBoardStatsDTO;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Dashboard counters, read from the per-society counters kept current by
+ * entity events (see {@link DashBoardCounters}).
+ */
+@Service
+@RequiredArgsConstructor
+public class DashBoardServiceImpl implements DashBoardService {
+
+    private final DashBoardCounters dashBoardCounters;
+
+    // Not @Transactional: a read needs no connection once the society is counted
+    @Override
+    public DashBoardStatsDTO getStatsBySocietyId(Long societyId) {
+        return dashBoardCounters.get(societyId);
+    }
+
+    @Override
+    public DashBoardSnapshot getSnapshotBySocietyId(Long societyId) {
+        return dashBoardCounters.snapshot(societyId);
+    }
 }
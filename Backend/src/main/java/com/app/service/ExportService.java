@@ -0,0 +1,183 @@
+package com.app.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dao.ComplaintDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.ComplaintDTO;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.dto.VisitorDTO;
+import com.app.export.ExportColumn;
+import com.app.export.ExportFormat;
+import com.app.export.ExportRange;
+import com.app.export.RowExporter;
+import com.app.model.ComplaintStatus;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Full-history exports for auditors. Rows are projected straight into DTOs
+ * (nothing enters the persistence context) and read from a forward-only
+ * cursor, {@link RowExporter#FETCH_SIZE} at a time, while they are written
+ * out, so memory use does not grow with the size of the export. Each
+ * export runs in one read-only transaction, which keeps the cursor open
+ * and reads a consistent snapshot.
+ */
+@Service
+@Slf4j
+public class ExportService {
+
+    private static final List<ExportColumn<MaintenanceBillDTO>> BILL_COLUMNS = List.of(
+            ExportColumn.of("id", MaintenanceBillDTO::getId),
+            ExportColumn.of("bill_number", MaintenanceBillDTO::getBillNumber),
+            ExportColumn.of("flat_id", MaintenanceBillDTO::getFlatId),
+            ExportColumn.of("flat_number", MaintenanceBillDTO::getFlatNumber),
+            ExportColumn.of("bill_date", MaintenanceBillDTO::getBillDate),
+            ExportColumn.of("due_date", MaintenanceBillDTO::getDueDate),
+            ExportColumn.of("amount", MaintenanceBillDTO::getAmount),
+            ExportColumn.of("description", MaintenanceBillDTO::getDescription),
+            ExportColumn.of("paid", MaintenanceBillDTO::isPaid),
+            ExportColumn.of("payment_date", MaintenanceBillDTO::getPaymentDate),
+            ExportColumn.of("payment_reference", MaintenanceBillDTO::getPaymentReference),
+            ExportColumn.of("created_at", MaintenanceBillDTO::getCreatedAt),
+            ExportColumn.of("updated_at", MaintenanceBillDTO::getUpdatedAt));
+
+    private static final List<ExportColumn<VisitorDTO>> VISITOR_COLUMNS = List.of(
+            ExportColumn.of("id", VisitorDTO::getId),
+            ExportColumn.of("name", VisitorDTO::getName),
+            ExportColumn.of("phone", VisitorDTO::getPhone),
+            ExportColumn.of("purpose", VisitorDTO::getPurpose),
+            ExportColumn.of("flat_id", VisitorDTO::getFlatId),
+            ExportColumn.of("flat_number", VisitorDTO::getFlatNumber),
+            ExportColumn.of("entry_time", VisitorDTO::getEntryTime),
+            ExportColumn.of("exit_time", VisitorDTO::getExitTime),
+            ExportColumn.of("logged_by_id", VisitorDTO::getLoggedById),
+            ExportColumn.of("logged_by_name", VisitorDTO::getLoggedByName),
+            ExportColumn.of("approved", VisitorDTO::isApproved),
+            ExportColumn.of("approved_by_id", VisitorDTO::getApprovedById),
+            ExportColumn.of("approved_by_name", VisitorDTO::getApprovedByName),
+            ExportColumn.of("created_at", VisitorDTO::getCreatedAt));
+
+    private static final List<ExportColumn<ComplaintDTO>> COMPLAINT_COLUMNS = List.of(
+            ExportColumn.of("id", ComplaintDTO::getId),
+            ExportColumn.of("title", ComplaintDTO::getTitle),
+            ExportColumn.of("description", ComplaintDTO::getDescription),
+            ExportColumn.of("category", ComplaintDTO::getCategory),
+            ExportColumn.of("status", ComplaintDTO::getStatus),
+            ExportColumn.of("flat_id", ComplaintDTO::getFlatId),
+            ExportColumn.of("flat_number", ComplaintDTO::getFlatNumber),
+            ExportColumn.of("raised_by_id", ComplaintDTO::getRaisedById),
+            ExportColumn.of("raised_by_name", ComplaintDTO::getRaisedByName),
+            ExportColumn.of("created_at", ComplaintDTO::getCreatedAt),
+            ExportColumn.of("resolved_at", ComplaintDTO::getResolvedAt),
+            ExportColumn.of("resolution", ComplaintDTO::getResolution));
+
+    // Archived visits (VisitorLogArchiver) keep their ids but not their foreign
+    // keys, hence the outer joins
+    private static final String ARCHIVED_VISITORS = "SELECT a.id, a.name, a.phone, a.purpose, a.flat_id,"
+            + " f.flat_number, a.logged_by, g.name AS logged_by_name, a.entry_time, a.exit_time, a.approved,"
+            + " a.approved_by, m.name AS approved_by_name, a.created_at"
+            + " FROM visitors_archive a LEFT JOIN flats f ON f.id = a.flat_id LEFT JOIN users g ON g.id = a.logged_by"
+            + " LEFT JOIN flat_members m ON m.id = a.approved_by"
+            + " WHERE a.society_id = :societyId AND a.entry_time >= :from AND a.entry_time < :to";
+
+    private static final RowMapper<VisitorDTO> ARCHIVED_VISITOR = (rs, rowNum) -> new VisitorDTO(
+            rs.getLong("id"), rs.getString("name"), rs.getString("phone"), rs.getString("purpose"),
+            rs.getLong("flat_id"), rs.getString("flat_number"),
+            rs.getLong("logged_by"), rs.getString("logged_by_name"),
+            rs.getObject("entry_time", LocalDateTime.class),
+            rs.getObject("exit_time", LocalDateTime.class),
+            rs.getBoolean("approved"), rs.getObject("approved_by", Long.class), rs.getString("approved_by_name"),
+            rs.getObject("created_at", LocalDateTime.class));
+
+    private final MaintenanceBillDao maintenanceBillRepository;
+    private final VisitorDao visitorRepository;
+    private final ComplaintDao complaintRepository;
+    private final NamedParameterJdbcTemplate archiveJdbcTemplate;
+    private final RowExporter rowExporter;
+
+    public ExportService(
+            MaintenanceBillDao maintenanceBillRepository,
+            VisitorDao visitorRepository,
+            ComplaintDao complaintRepository,
+            JdbcTemplate jdbcTemplate,
+            RowExporter rowExporter) {
+        this.maintenanceBillRepository = maintenanceBillRepository;
+        this.visitorRepository = visitorRepository;
+        this.complaintRepository = complaintRepository;
+        // Own template: the fetch size applies to every query it runs
+        JdbcTemplate cursorTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        cursorTemplate.setFetchSize(Integer.parseInt(RowExporter.FETCH_SIZE));
+        this.archiveJdbcTemplate = new NamedParameterJdbcTemplate(cursorTemplate);
+        this.rowExporter = rowExporter;
+    }
+
+    /** Bills of a society by bill date, optionally only paid or unpaid ones. */
+    @Transactional(readOnly = true)
+    public long exportMaintenanceBills(Long societyId, ExportRange range, Boolean paid, ExportFormat format,
+            OutputStream out) throws IOException {
+        try (Stream<MaintenanceBillDTO> rows = paid == null
+                ? maintenanceBillRepository.streamDtosBySocietyId(societyId, range.from(), range.to())
+                : maintenanceBillRepository.streamDtosBySocietyIdAndPaid(societyId, paid, range.from(), range.to())) {
+            long count = rowExporter.write(rows, format, BILL_COLUMNS, out);
+            log.info("Exported {} bills of society {}", count, societyId);
+            return count;
+        }
+    }
+
+    /**
+     * Visits of a society by entry time, archived ones included. Archived
+     * visits come first, then the live ones, each in entry order.
+     */
+    @Transactional(readOnly = true)
+    public long exportVisitorLogs(Long societyId, ExportRange range, Boolean approved, ExportFormat format,
+            OutputStream out) throws IOException {
+        Map<String, Object> params = new HashMap<>();
+        params.put("societyId", societyId);
+        params.put("from", range.start());
+        params.put("to", range.end());
+        String archived = ARCHIVED_VISITORS;
+        if (approved != null) {
+            archived += " AND a.approved = :approved";
+            params.put("approved", approved);
+        }
+        archived += " ORDER BY a.entry_time, a.id";
+
+        try (Stream<VisitorDTO> rows = Stream.concat(
+                archiveJdbcTemplate.queryForStream(archived, params, ARCHIVED_VISITOR),
+                approved == null
+                        ? visitorRepository.streamDtosBySocietyId(societyId, range.start(), range.end())
+                        : visitorRepository.streamDtosBySocietyIdAndApproved(
+                                societyId, approved, range.start(), range.end()))) {
+            long count = rowExporter.write(rows, format, VISITOR_COLUMNS, out);
+            log.info("Exported {} visitor log entries of society {}", count, societyId);
+            return count;
+        }
+    }
+
+    /** Complaints of a society by the time they were raised, optionally in one status. */
+    @Transactional(readOnly = true)
+    public long exportComplaints(Long societyId, ExportRange range, ComplaintStatus status, ExportFormat format,
+            OutputStream out) throws IOException {
+        try (Stream<ComplaintDTO> rows = status == null
+                ? complaintRepository.streamDtosBySocietyId(societyId, range.start(), range.end())
+                : complaintRepository.streamDtosBySocietyIdAndStatus(societyId, status, range.start(), range.end())) {
+            long count = rowExporter.write(rows, format, COMPLAINT_COLUMNS, out);
+            log.info("Exported {} complaints of society {}", count, societyId);
+            return count;
+        }
+    }
+}
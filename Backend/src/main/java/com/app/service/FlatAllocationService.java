@@ -1,12 +1,15 @@
 package com.app.service;
 
+import com.app.dto.CursorPageDTO;
 import com.app.dto.FlatAllocationRequestDTO;
+import com.app.pagination.CursorPageRequest;
 
 import java.util.List;
 
 public interface FlatAllocationService {
     FlatAllocationRequestDTO createAllocationRequest(FlatAllocationRequestDTO requestDTO, Long userId);
     List<FlatAllocationRequestDTO> getAllocationRequestsBySociety(Long societyId);
+    CursorPageDTO<FlatAllocationRequestDTO> getAllocationRequestsBySociety(Long societyId, CursorPageRequest page);
     FlatAllocationRequestDTO approveAllocationRequest(Long requestId, Long adminId);
     FlatAllocationRequestDTO rejectAllocationRequest(Long requestId, Long adminId);
 }
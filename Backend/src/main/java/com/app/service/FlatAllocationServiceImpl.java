@@ -1,13 +1,17 @@
 package com.app.service;
 
+import com.app.Exception.ConcurrentUpdateException;
 import com.app.Exception.ResourceNotFoundException;
 import com.app.Mapper.FlatAllocationRequestMapper;
 import com.app.dao.FlatAllocationDao;
 import com.app.dao.FlatDao;
 import com.app.dao.UserDao;
+import com.app.dto.CursorPageDTO;
 import com.app.dto.FlatAllocationRequestDTO;
 import com.app.dto.NotificationDto;
 import com.app.model.*;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,6 +28,8 @@ public class FlatAllocationServiceImpl implements FlatAllocationService {
     private final UserDao userRepository;
     private final FlatAllocationRequestMapper allocationMapper;
     private final NotificationService notificationService;
+    private final KeysetPaging keysetPaging;
+    private final OptimisticRetry optimisticRetry;
 
     @Override
     @Transactional
@@ -67,30 +73,67 @@ public class FlatAllocationServiceImpl implements FlatAllocationService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FlatAllocationRequestDTO> getAllocationRequestsBySociety(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, null,
+                (position, sort, limit) -> allocationRepository.findBySocietyId(societyId, position, sort, limit),
+                allocations -> allocations.stream().map(allocationMapper::toDTO).collect(Collectors.toList()));
+    }
+
+    /**
+     * Approving an approved request returns it unchanged, approving a rejected
+     * one is a conflict; retried on a concurrent change (see {@link OptimisticRetry}).
+     */
+    @Override
     public FlatAllocationRequestDTO approveAllocationRequest(Long requestId, Long adminId) {
-        FlatAllocation allocation = allocationRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Allocation request not found with id: " + requestId));
-        
-        allocation.setStatus(AllocationStatus.APPROVED);
-        
-        // Update flat status
-        Flat flat = allocation.getFlat();
-        flat.setOccupiedStatus(OccupiedStatus.OCCUPIED);
-        flatRepository.save(flat);
-
-        FlatAllocation updatedAllocation = allocationRepository.save(allocation);
-        return allocationMapper.toDTO(updatedAllocation);
+        return optimisticRetry.run("Allocation request " + requestId, () -> {
+            FlatAllocation allocation = allocationRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Allocation request not found with id: " + requestId));
+            if (!transitions(allocation, AllocationStatus.APPROVED)) {
+                return allocationMapper.toDTO(allocation);
+            }
+
+            allocation.setStatus(AllocationStatus.APPROVED);
+
+            // Update flat status
+            Flat flat = allocation.getFlat();
+            flat.setOccupiedStatus(OccupiedStatus.OCCUPIED);
+            flatRepository.save(flat);
+
+            FlatAllocation updatedAllocation = allocationRepository.save(allocation);
+            return allocationMapper.toDTO(updatedAllocation);
+        }, () -> currentAllocation(requestId));
     }
 
+    /** The counterpart of {@link #approveAllocationRequest}. */
     @Override
-    @Transactional
     public FlatAllocationRequestDTO rejectAllocationRequest(Long requestId, Long adminId) {
-        FlatAllocation allocation = allocationRepository.findById(requestId)
-                .orElseThrow(() -> new ResourceNotFoundException("Allocation request not found with id: " + requestId));
-        
-        allocation.setStatus(AllocationStatus.REJECTED);
-        FlatAllocation updatedAllocation = allocationRepository.save(allocation);
-        return allocationMapper.toDTO(updatedAllocation);
+        return optimisticRetry.run("Allocation request " + requestId, () -> {
+            FlatAllocation allocation = allocationRepository.findById(requestId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Allocation request not found with id: " + requestId));
+            if (!transitions(allocation, AllocationStatus.REJECTED)) {
+                return allocationMapper.toDTO(allocation);
+            }
+
+            allocation.setStatus(AllocationStatus.REJECTED);
+            FlatAllocation updatedAllocation = allocationRepository.save(allocation);
+            return allocationMapper.toDTO(updatedAllocation);
+        }, () -> currentAllocation(requestId));
+    }
+
+    // False when the request is already in the target status; a decided request cannot be decided otherwise
+    private boolean transitions(FlatAllocation allocation, AllocationStatus target) {
+        if (allocation.getStatus() == target) {
+            return false;
+        }
+        if (allocation.getStatus() != AllocationStatus.PENDING) {
+            throw new ConcurrentUpdateException("Allocation request " + allocation.getId() + " is already "
+                    + allocation.getStatus(), allocationMapper.toDTO(allocation));
+        }
+        return true;
+    }
+
+    private FlatAllocationRequestDTO currentAllocation(Long requestId) {
+        return allocationRepository.findById(requestId).map(allocationMapper::toDTO).orElse(null);
     }
 }
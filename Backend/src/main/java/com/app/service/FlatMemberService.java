@@ -2,7 +2,9 @@ package com.app.service;
 
 import java.util.List;
 
+import com.app.dto.CursorPageDTO;
 import com.app.dto.FlatMemberDTO;
+import com.app.pagination.CursorPageRequest;
 
 
 public interface FlatMemberService {
@@ -18,6 +20,8 @@ public interface FlatMemberService {
 
 	List<FlatMemberDTO> getPendingFlatMembersBySocietyId(Long societyId);
 
+	CursorPageDTO<FlatMemberDTO> getPendingFlatMembersBySocietyId(Long societyId, CursorPageRequest page);
+
 	List<FlatMemberDTO> getFlatMembersByUserId(Long userId);
 
 	List<FlatMemberDTO> getFlatMembersByFlatId(Long flatId);
@@ -1,22 +1,28 @@
 package com.app.service;
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.app.Exception.ResourceInUseException;
 import com.app.Exception.ResourceNotFoundException;
 import com.app.Mapper.FlatMemberMapper;
 import com.app.dao.FlatDao;
 import com.app.dao.FlatMemberDao;
 import com.app.dao.UserDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.CursorPageDTO;
 import com.app.dto.FlatMemberDTO;
 import com.app.dto.NotificationDto;
 import com.app.model.Flat;
 import com.app.model.FlatMember;
 import com.app.model.User;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
 
 import lombok.RequiredArgsConstructor;
 
@@ -27,8 +33,10 @@ public class FlatMemberServiceImpl implements FlatMemberService {
     private final FlatMemberDao flatMemberRepository;
     private final FlatDao flatRepository;
     private final UserDao userRepository;
+    private final VisitorDao visitorLogRepository;
     private final FlatMemberMapper flatMemberMapper;
     private final NotificationService notificationService;
+    private final KeysetPaging keysetPaging;
 
     @Override
     @Transactional(readOnly = true)
@@ -40,20 +48,21 @@ public class FlatMemberServiceImpl implements FlatMemberService {
     @Override
     @Transactional(readOnly = true)
     public List<FlatMemberDTO> getFlatMembersByFlatId(Long flatId) {
-        if (!flatRepository.existsById(flatId)) {
+        List<FlatMember> flatMembers = flatMemberRepository.findByFlatId(flatId);
+        // Only an empty result needs telling apart from a flat that does not exist
+        if (flatMembers.isEmpty() && !flatRepository.existsById(flatId)) {
             throw new ResourceNotFoundException("Flat not found with id: " + flatId);
         }
-        List<FlatMember> flatMembers = flatMemberRepository.findByFlatId(flatId);
         return flatMemberMapper.toDtoList(flatMembers);
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<FlatMemberDTO> getFlatMembersByUserId(Long userId) {
-        if (!userRepository.existsById(userId)) {
+        List<FlatMember> flatMembers = flatMemberRepository.findByUserId(userId);
+        if (flatMembers.isEmpty() && !userRepository.existsById(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
-        List<FlatMember> flatMembers = flatMemberRepository.findByUserId(userId);
         return flatMemberMapper.toDtoList(flatMembers);
     }
     @Override
@@ -63,6 +72,15 @@ public class FlatMemberServiceImpl implements FlatMemberService {
         return flatMemberMapper.toDtoList(pendingMembers);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<FlatMemberDTO> getPendingFlatMembersBySocietyId(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, "createdAt",
+                (position, sort, limit) -> flatMemberRepository.findBySocietyIdAndApproved(
+                        societyId, false, position, sort, limit),
+                flatMemberMapper::toDtoList);
+    }
+
     @Override
     @Transactional(readOnly = true)
     public FlatMemberDTO getFlatMemberById(Long id) {
@@ -76,11 +94,8 @@ public class FlatMemberServiceImpl implements FlatMemberService {
         Flat flat = flatRepository.findById(flatMemberDto.getFlatId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + flatMemberDto.getFlatId()));
 
-        User user = null;
-        if (flatMemberDto.getUserId() != null) {
-            user = userRepository.findById(flatMemberDto.getUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + flatMemberDto.getUserId()));
-        }
+        // Only the user's id is written or returned, so it is never loaded; the foreign key checks it
+        User user = flatMemberDto.getUserId() == null ? null : userRepository.getReferenceById(flatMemberDto.getUserId());
 
         // Check if this is the first member (owner) or if the current user is already an owner
         boolean isFirstMember = flatMemberRepository.findByFlatId(flat.getId()).isEmpty();
@@ -110,7 +125,8 @@ public class FlatMemberServiceImpl implements FlatMemberService {
                 .approved(isApproved)
                 .build();
 
-        FlatMember savedFlatMember = flatMemberRepository.save(flatMember);
+        FlatMember savedFlatMember = ForeignKeys.orNotFound(() -> flatMemberRepository.saveAndFlush(flatMember),
+                () -> "User not found with id: " + flatMemberDto.getUserId());
         FlatMemberDTO savedDto = flatMemberMapper.toDto(savedFlatMember);
 
         // Send notification to admins if this is not the first member
@@ -135,24 +151,22 @@ public class FlatMemberServiceImpl implements FlatMemberService {
         FlatMember flatMember = flatMemberRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flat member not found with id: " + id));
 
-        Flat flat = flatRepository.findById(flatMemberDto.getFlatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + flatMemberDto.getFlatId()));
-
-        User user = null;
-        if (flatMemberDto.getUserId() != null) {
-            user = userRepository.findById(flatMemberDto.getUserId())
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + flatMemberDto.getUserId()));
+        // The flat is only looked up when the member moves; the user never is
+        if (!Objects.equals(flatMember.getFlat().getId(), flatMemberDto.getFlatId())) {
+            flatMember.setFlat(flatRepository.findById(flatMemberDto.getFlatId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + flatMemberDto.getFlatId())));
         }
+        flatMember.setUser(flatMemberDto.getUserId() == null ? null
+                : userRepository.getReferenceById(flatMemberDto.getUserId()));
 
         flatMember.setName(flatMemberDto.getName());
         flatMember.setPhone(flatMemberDto.getPhone());
         flatMember.setEmail(flatMemberDto.getEmail());
         flatMember.setRelationship(flatMemberDto.getRelationship());
         flatMember.setOwner(flatMemberDto.isOwner());
-        flatMember.setFlat(flat);
-        flatMember.setUser(user);
 
-        FlatMember updatedFlatMember = flatMemberRepository.save(flatMember);
+        FlatMember updatedFlatMember = ForeignKeys.orNotFound(() -> flatMemberRepository.saveAndFlush(flatMember),
+                () -> "User not found with id: " + flatMemberDto.getUserId());
         return flatMemberMapper.toDto(updatedFlatMember);
     }
     
@@ -193,10 +207,13 @@ public class FlatMemberServiceImpl implements FlatMemberService {
     @Override
     @Transactional
     public void deleteFlatMember(Long id) {
-        if (!flatMemberRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Flat member not found with id: " + id);
+        FlatMember flatMember = flatMemberRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flat member not found with id: " + id));
+        // Stands in for the visitors foreign key, which partitioning drops on MySQL
+        if (visitorLogRepository.existsByApprovedById(id)) {
+            throw new ResourceInUseException("Flat member " + id + " has approved visitor log entries");
         }
-        flatMemberRepository.deleteById(id);
+        flatMemberRepository.delete(flatMember);
     }
 
 	
@@ -8,11 +8,13 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.app.Exception.ResourceAlreadyExistsException;
+import com.app.Exception.ResourceInUseException;
 import com.app.Exception.ResourceNotFoundException;
 import com.app.Mapper.FlatMapper;
 import com.app.dao.BuildingDao;
 import com.app.dao.FlatDao;
 import com.app.dao.FlatMemberDao;
+import com.app.dao.VisitorDao;
 import com.app.dto.FlatDTO;
 import com.app.model.Building;
 import com.app.model.Flat;
@@ -27,7 +29,9 @@ public class FlatServiceImpl implements FlatService {
     private final FlatDao flatRepository;
     private final BuildingDao buildingRepository;
     private final FlatMemberDao flatMemberRepository;
+    private final VisitorDao visitorLogRepository;
     private final FlatMapper flatMapper;
+    private final SocietyScopeService societyScopeService;
 
     @Override
     @Transactional(readOnly = true)
@@ -39,16 +43,17 @@ public class FlatServiceImpl implements FlatService {
     @Override
     @Transactional(readOnly = true)
     public List<FlatDTO> getFlatsByBuildingId(Long buildingId) {
-        if (!buildingRepository.existsById(buildingId)) {
+        List<Flat> flats = flatRepository.findByBuildingId(buildingId);
+        // Only an empty result needs telling apart from a building that does not exist
+        if (flats.isEmpty() && !buildingRepository.existsById(buildingId)) {
             throw new ResourceNotFoundException("Building not found with id: " + buildingId);
         }
-        List<Flat> flats = flatRepository.findByBuildingId(buildingId);
         return flatMapper.toDtoList(flats);
     }
     @Override
     @Transactional(readOnly = true)
     public List<FlatDTO> getFlatsBySocietyId(Long societyId) {
-        List<Flat> flats = flatRepository.findBySocietyId(societyId);
+        List<Flat> flats = flatRepository.findWithOwnersBySocietyId(societyId);
         return flatMapper.toDtoList(flats);
     }
 
@@ -98,22 +103,32 @@ public class FlatServiceImpl implements FlatService {
             throw new ResourceAlreadyExistsException("Flat already exists with number: " + flatDto.getFlatNumber() + " in building: " + building.getName());
         }
 
+        Long previousSocietyId = flat.getBuilding().getSociety().getId();
+
         flat.setFlatNumber(flatDto.getFlatNumber());
         flat.setFloorNumber(flatDto.getFloorNumber());
         flat.setBuilding(building);
         flat.setOccupiedStatus(flatDto.getOccupiedStatus());
 
         Flat updatedFlat = flatRepository.save(flat);
+
+        // Keep the denormalized society_id on the flat's rows in step
+        if (!previousSocietyId.equals(building.getSociety().getId())) {
+            societyScopeService.reassignFlat(flat.getId(), building.getSociety().getId());
+        }
         return flatMapper.toDTO(updatedFlat);
     }
 
     @Override
     @Transactional
     public void deleteFlat(Long id) {
-        if (!flatRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Flat not found with id: " + id);
+        Flat flat = flatRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + id));
+        // Stands in for the visitors foreign key, which partitioning drops on MySQL
+        if (visitorLogRepository.existsByVisitingFlatId(id)) {
+            throw new ResourceInUseException("Flat " + id + " still has visitor log entries");
         }
-        flatRepository.deleteById(id);
+        flatRepository.delete(flat);
     }
 
 	@Override
@@ -0,0 +1,38 @@
+package com.app.service;
+
+import java.sql.SQLException;
+import java.util.function.Supplier;
+
+import org.hibernate.JDBCException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.app.Exception.ResourceNotFoundException;
+
+/**
+ * Writes that point at a parent through {@code getReferenceById} instead of
+ * loading it leave the existence check to the database's foreign key. Run
+ * such a write, flushing it, through {@link #orNotFound} so a missing parent
+ * is still reported as {@link ResourceNotFoundException}; keep to one
+ * unchecked reference per write, so the violation can only mean that one.
+ */
+final class ForeignKeys {
+
+    private ForeignKeys() {
+    }
+
+    static <T> T orNotFound(Supplier<T> write, Supplier<String> message) {
+        try {
+            return write.get();
+        } catch (DataIntegrityViolationException e) {
+            if (e.getCause() instanceof JDBCException jdbc && parentMissing(jdbc.getSQLException())) {
+                throw new ResourceNotFoundException(message.get());
+            }
+            throw e;
+        }
+    }
+
+    // MySQL reports a child row without its parent as error 1452, H2 (the tests) as SQL state 23506
+    private static boolean parentMissing(SQLException e) {
+        return e.getErrorCode() == 1452 || "23506".equals(e.getSQLState());
+    }
+}
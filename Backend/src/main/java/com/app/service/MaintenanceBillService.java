@@ -1,27 +1,30 @@
 package com.app.service;
 
-import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
-import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.app.Exception.ResourceAlreadyExistsException;
+import com.app.Exception.ConcurrentUpdateException;
 import com.app.Exception.ResourceNotFoundException;
 import com.app.Mapper.MaintenanceBillMapper;
 import com.app.dao.FlatDao;
 import com.app.dao.FlatMemberDao;
 import com.app.dao.MaintenanceBillDao;
 import com.app.dao.UserDao;
+import com.app.dashboard.DashBoardCountsStale;
+import com.app.dto.CursorPageDTO;
 import com.app.dto.MaintenanceBillDTO;
 import com.app.dto.NotificationDto;
 import com.app.model.Flat;
 import com.app.model.FlatMember;
 import com.app.model.MaintenanceBill;
 import com.app.model.User;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,38 +38,55 @@ public class MaintenanceBillService {
     private final UserDao userRepository;
     private final MaintenanceBillMapper maintenanceBillMapper;
     private final NotificationService notificationService;
+    private final KeysetPaging keysetPaging;
+    private final BulkBillGenerator bulkBillGenerator;
+    private final BillNumberAllocator billNumberAllocator;
+    private final ApplicationEventPublisher eventPublisher;
+    private final OptimisticRetry optimisticRetry;
 
     @Transactional(readOnly = true)
     public List<MaintenanceBillDTO> getAllMaintenanceBills() {
-        List<MaintenanceBill> bills = maintenanceBillRepository.findAll();
-        return maintenanceBillMapper.toDtoList(bills);
+        return maintenanceBillRepository.findAllDtos();
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceBillDTO> getMaintenanceBillsByFlatId(Long flatId) {
-        if (!flatRepository.existsById(flatId)) {
+        List<MaintenanceBill> bills = maintenanceBillRepository.findByFlatId(flatId);
+        // Only an empty result needs telling apart from a flat that does not exist
+        if (bills.isEmpty() && !flatRepository.existsById(flatId)) {
             throw new ResourceNotFoundException("Flat not found with id: " + flatId);
         }
-        List<MaintenanceBill> bills = maintenanceBillRepository.findByFlatId(flatId);
         return maintenanceBillMapper.toDtoList(bills);
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceBillDTO> getMaintenanceBillsBySocietyId(Long societyId) {
-        List<MaintenanceBill> bills = maintenanceBillRepository.findBySocietyId(societyId);
-        return maintenanceBillMapper.toDtoList(bills);
+        return maintenanceBillRepository.findDtosBySocietyId(societyId);
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceBillDTO> getPendingMaintenanceBillsBySocietyId(Long societyId) {
-        List<MaintenanceBill> bills = maintenanceBillRepository.findBySocietyIdAndPaid(societyId, false);
-        return maintenanceBillMapper.toDtoList(bills);
+        return maintenanceBillRepository.findDtosBySocietyIdAndPaid(societyId, false);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MaintenanceBillDTO> getMaintenanceBillsBySocietyId(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, "createdAt",
+                (position, sort, limit) -> maintenanceBillRepository.findBySocietyId(societyId, position, sort, limit),
+                maintenanceBillMapper::toDtoList);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDTO<MaintenanceBillDTO> getPendingMaintenanceBillsBySocietyId(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, "createdAt",
+                (position, sort, limit) -> maintenanceBillRepository.findBySocietyIdAndPaid(
+                        societyId, false, position, sort, limit),
+                maintenanceBillMapper::toDtoList);
     }
 
     @Transactional(readOnly = true)
     public List<MaintenanceBillDTO> getOverdueMaintenanceBills() {
-        List<MaintenanceBill> bills = maintenanceBillRepository.findByDueDateBeforeAndPaid(LocalDate.now(), false);
-        return maintenanceBillMapper.toDtoList(bills);
+        return maintenanceBillRepository.findDtosByDueDateBeforeAndPaid(LocalDate.now(), false);
     }
 
     @Transactional(readOnly = true)
@@ -81,17 +101,13 @@ public class MaintenanceBillService {
         Flat flat = flatRepository.findById(billDto.getFlatId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + billDto.getFlatId()));
 
-        // Generate unique bill number
-        String billNumber = "BILL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-        
-        // Check if bill number already exists
-        if (maintenanceBillRepository.findByBillNumber(billNumber).isPresent()) {
-            throw new ResourceAlreadyExistsException("Bill with number " + billNumber + " already exists");
-        }
+        LocalDate billDate = billDto.getBillDate() != null ? billDto.getBillDate() : LocalDate.now();
+        // Allocated numbers are unique by construction, no lookup needed
+        String billNumber = billNumberAllocator.next(flat.getBuilding().getSociety().getId(), billDate);
 
         MaintenanceBill bill = MaintenanceBill.builder()
                 .billNumber(billNumber)
-                .billDate(billDto.getBillDate() != null ? billDto.getBillDate() : LocalDate.now())
+                .billDate(billDate)
                 .dueDate(billDto.getDueDate())
                 .amount(billDto.getAmount())
                 .paid(false)
@@ -135,88 +151,84 @@ public class MaintenanceBillService {
         MaintenanceBill bill = maintenanceBillRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Maintenance bill not found with id: " + id));
 
-        Flat flat = flatRepository.findById(billDto.getFlatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + billDto.getFlatId()));
+        // The flat is only looked up when the bill moves
+        if (!Objects.equals(bill.getFlat().getId(), billDto.getFlatId())) {
+            bill.setFlat(flatRepository.findById(billDto.getFlatId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + billDto.getFlatId())));
+        }
 
         bill.setBillDate(billDto.getBillDate());
         bill.setDueDate(billDto.getDueDate());
         bill.setAmount(billDto.getAmount());
-        bill.setFlat(flat);
         bill.setDescription(billDto.getDescription());
 
         MaintenanceBill updatedBill = maintenanceBillRepository.save(bill);
         return maintenanceBillMapper.toDTO(updatedBill);
     }
 
-    @Transactional
+    /**
+     * Marks a bill paid, retried on a concurrent change (see {@link OptimisticRetry}).
+     * Paying a paid bill again with the same reference returns it unchanged;
+     * with another reference it is a conflict, as that would be a second payment.
+     */
     public MaintenanceBillDTO markBillAsPaid(Long id, String paymentReference, Long userId) {
-        MaintenanceBill bill = maintenanceBillRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Maintenance bill not found with id: " + id));
+        return optimisticRetry.run("Maintenance bill " + id, () -> {
+            MaintenanceBill bill = maintenanceBillRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Maintenance bill not found with id: " + id));
+
+            if (bill.isPaid()) {
+                if (Objects.equals(bill.getPaymentReference(), paymentReference)) {
+                    return maintenanceBillMapper.toDTO(bill);
+                }
+                throw new ConcurrentUpdateException("Maintenance bill " + bill.getBillNumber() + " is already paid",
+                        maintenanceBillMapper.toDTO(bill));
+            }
 
-        bill.setPaid(true);
-        bill.setPaymentDate(LocalDate.now());
-        bill.setPaymentReference(paymentReference);
+            bill.setPaid(true);
+            bill.setPaymentDate(LocalDate.now());
+            bill.setPaymentReference(paymentReference);
 
-        MaintenanceBill updatedBill = maintenanceBillRepository.save(bill);
-        MaintenanceBillDTO updatedDto = maintenanceBillMapper.toDTO(updatedBill);
-
-        // Get user name
-        String userName = "Resident";
-        if (userId != null) {
-            User user = userRepository.findById(userId)
-                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
-            userName = user.getName();
-        }
+            MaintenanceBill updatedBill = maintenanceBillRepository.save(bill);
+            MaintenanceBillDTO updatedDto = maintenanceBillMapper.toDTO(updatedBill);
 
-        // Send notification to admins
-        NotificationDto notification = NotificationDto.create(
-                "MAINTENANCE_BILL_PAID",
-                "Maintenance bill " + bill.getBillNumber() + " has been paid",
-                updatedDto,
-                userId,
-                userName,
-                null,
-                bill.getFlat().getBuilding().getSociety().getId()
-        );
-        notificationService.sendAdminNotification(notification);
+            // Get user name
+            String userName = "Resident";
+            if (userId != null) {
+                User user = userRepository.findById(userId)
+                        .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+                userName = user.getName();
+            }
 
-        return updatedDto;
+            // Send notification to admins
+            NotificationDto notification = NotificationDto.create(
+                    "MAINTENANCE_BILL_PAID",
+                    "Maintenance bill " + bill.getBillNumber() + " has been paid",
+                    updatedDto,
+                    userId,
+                    userName,
+                    null,
+                    bill.getFlat().getBuilding().getSociety().getId()
+            );
+            notificationService.afterCommit(() -> notificationService.sendAdminNotification(notification));
+
+            return updatedDto;
+        }, () -> maintenanceBillRepository.findById(id).map(maintenanceBillMapper::toDTO).orElse(null));
     }
 
     @Transactional
     public void deleteMaintenanceBill(Long id) {
-        if (!maintenanceBillRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Maintenance bill not found with id: " + id);
-        }
-        maintenanceBillRepository.deleteById(id);
+        MaintenanceBill bill = maintenanceBillRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Maintenance bill not found with id: " + id));
+        maintenanceBillRepository.delete(bill);
     }
 
-    @Transactional
+    // Not transactional: the generator commits chunk by chunk
     public List<MaintenanceBillDTO> generateBulkMaintenanceBills(Long societyId, LocalDate billDate, LocalDate dueDate, String description, Long adminUserId) {
-        // Get all flats in the society
-        List<Flat> flats = flatRepository.findBySocietyId(societyId);
-        
-        List<MaintenanceBill> generatedBills = flats.stream().map(flat -> {
-            // Calculate amount based on flat area (example calculation)
-            double amount = flat.getArea() * 2.5; // Rs. 2.5 per sq ft
-            
-            // Generate unique bill number
-            String billNumber = "BILL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
-            
-            MaintenanceBill bill = MaintenanceBill.builder()
-                    .billNumber(billNumber)
-                    .billDate(billDate)
-                    .dueDate(dueDate)
-                    .amount(BigDecimal.valueOf(amount))
-                    .paid(false)
-                    .flat(flat)
-                    .description(description)
-                    .build();
-            
-            return maintenanceBillRepository.save(bill);
-        }).collect(Collectors.toList());
-        
-        List<MaintenanceBillDTO> generatedBillDtos = maintenanceBillMapper.toDtoList(generatedBills);
+        List<MaintenanceBillDTO> generatedBillDtos = bulkBillGenerator.generate(societyId, billDate, dueDate, description);
+        // Inserted over JDBC, past the dashboard's entity listener
+        if (!generatedBillDtos.isEmpty()) {
+            eventPublisher.publishEvent(new DashBoardCountsStale(societyId));
+        }
         
         // Get admin name
         String adminName = "Admin";
@@ -2,7 +2,9 @@ package com.app.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -12,11 +14,13 @@ import com.app.Mapper.NoticeMapper;
 import com.app.dao.NoticeDao;
 import com.app.dao.SocietyDao;
 import com.app.dao.UserDao;
+import com.app.dashboard.DashBoardCountsStale;
 import com.app.dto.NoticeDTO;
 import com.app.dto.NotificationDto;
 import com.app.model.Notice;
 import com.app.model.Society;
 import com.app.model.User;
+import com.app.scheduling.ScheduledJobRunner;
 
 import lombok.RequiredArgsConstructor;
 
@@ -29,29 +33,31 @@ public class NoticeService {
     private final UserDao userRepository;
     private final NoticeMapper noticeMapper;
     private final NotificationService notificationService;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional(readOnly = true)
     public List<NoticeDTO> getAllNotices() {
-        List<Notice> notices = noticeRepository.findAll();
-        return noticeMapper.toDtoList(notices);
+        return noticeRepository.findAllDtos();
     }
 
     @Transactional(readOnly = true)
     public List<NoticeDTO> getNoticesBySocietyId(Long societyId) {
-        if (!societyRepository.existsById(societyId)) {
+        List<NoticeDTO> notices = noticeRepository.findDtosBySocietyId(societyId);
+        // Only an empty result needs telling apart from a society that does not exist
+        if (notices.isEmpty() && !societyRepository.existsById(societyId)) {
             throw new ResourceNotFoundException("Society not found with id: " + societyId);
         }
-        List<Notice> notices = noticeRepository.findBySocietyId(societyId);
-        return noticeMapper.toDtoList(notices);
+        return notices;
     }
 
     @Transactional(readOnly = true)
     public List<NoticeDTO> getActiveNoticesBySocietyId(Long societyId) {
-        if (!societyRepository.existsById(societyId)) {
+        List<NoticeDTO> notices = noticeRepository.findDtosBySocietyIdAndIsActive(societyId, true);
+        if (notices.isEmpty() && !societyRepository.existsById(societyId)) {
             throw new ResourceNotFoundException("Society not found with id: " + societyId);
         }
-        List<Notice> notices = noticeRepository.findBySocietyIdAndIsActive(societyId, true);
-        return noticeMapper.toDtoList(notices);
+        return notices;
     }
 
     @Transactional(readOnly = true)
@@ -63,8 +69,8 @@ public class NoticeService {
 
     @Transactional
     public NoticeDTO createNotice(NoticeDTO noticeDto) {
-        Society society = societyRepository.findById(noticeDto.getSocietyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Society not found with id: " + noticeDto.getSocietyId()));
+        // Checked by the foreign key on flush; its name is read from the second-level cache
+        Society society = societyRepository.getReferenceById(noticeDto.getSocietyId());
 
         User createdBy = userRepository.findById(noticeDto.getCreatedById())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + noticeDto.getCreatedById()));
@@ -78,7 +84,8 @@ public class NoticeService {
                 .isActive(true)
                 .build();
 
-        Notice savedNotice = noticeRepository.save(notice);
+        Notice savedNotice = ForeignKeys.orNotFound(() -> noticeRepository.saveAndFlush(notice),
+                () -> "Society not found with id: " + noticeDto.getSocietyId());
         NoticeDTO savedDto = noticeMapper.toDTO(savedNotice);
 
         // Send notification to all society members
@@ -101,20 +108,24 @@ public class NoticeService {
         Notice notice = noticeRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Notice not found with id: " + id));
 
-        Society society = societyRepository.findById(noticeDto.getSocietyId())
-                .orElseThrow(() -> new ResourceNotFoundException("Society not found with id: " + noticeDto.getSocietyId()));
-
-        User createdBy = userRepository.findById(noticeDto.getCreatedById())
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + noticeDto.getCreatedById()));
+        // Parents are only looked up when they change
+        if (!Objects.equals(notice.getSociety().getId(), noticeDto.getSocietyId())) {
+            notice.setSociety(societyRepository.getReferenceById(noticeDto.getSocietyId()));
+        }
+        if (!Objects.equals(notice.getCreatedBy().getId(), noticeDto.getCreatedById())) {
+            notice.setCreatedBy(userRepository.findById(noticeDto.getCreatedById())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + noticeDto.getCreatedById())));
+        }
+        Society society = notice.getSociety();
+        User createdBy = notice.getCreatedBy();
 
         notice.setTitle(noticeDto.getTitle());
         notice.setContent(noticeDto.getContent());
-        notice.setSociety(society);
-        notice.setCreatedBy(createdBy);
         notice.setExpiresAt(noticeDto.getExpiryDate());
         notice.setIsActive(noticeDto.isActive());
 
-        Notice updatedNotice = noticeRepository.save(notice);
+        Notice updatedNotice = ForeignKeys.orNotFound(() -> noticeRepository.saveAndFlush(notice),
+                () -> "Society not found with id: " + noticeDto.getSocietyId());
         NoticeDTO updatedDto = noticeMapper.toDTO(updatedNotice);
 
         // Send notification about updated notice
@@ -146,19 +157,21 @@ public class NoticeService {
 
     @Transactional
     public void deleteNotice(Long id) {
-        if (!noticeRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Notice not found with id: " + id);
-        }
-        noticeRepository.deleteById(id);
+        Notice notice = noticeRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Notice not found with id: " + id));
+        noticeRepository.delete(notice);
     }
 
-    @Scheduled(cron = "0 0 0 * * ?") // Run at midnight every day
-    @Transactional
-    public void deactivateExpiredNotices() {
-        List<Notice> expiredNotices = noticeRepository.findByExpiresAtBeforeAndIsActive(LocalDateTime.now(), true);
-        for (Notice notice : expiredNotices) {
-            notice.setIsActive(false);
-            noticeRepository.save(notice);
-        }
+    // Timed around the commit, so the UPDATE runs in the DAO's own transaction
+    @Scheduled(cron = "${app.scheduling.notice-expiry.cron:0 */5 * * * *}")
+    public int deactivateExpiredNotices() {
+        return scheduledJobRunner.run("notice-expiry", () -> {
+            int expired = noticeRepository.deactivateExpired(LocalDateTime.now());
+            // One UPDATE across societies, past the dashboard's entity listener
+            if (expired > 0) {
+                eventPublisher.publishEvent(DashBoardCountsStale.all());
+            }
+            return expired;
+        });
     }
 }
@@ -2,6 +2,8 @@ package com.app.service;
 
 import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import com.app.dto.NotificationDto;
 
@@ -15,6 +17,23 @@ public class NotificationService {
 
     private final SimpMessagingTemplate messagingTemplate;
 
+    /**
+     * Runs {@code send} once the current transaction commits, or right away
+     * outside one, so a change that is rolled back or retried is not announced.
+     */
+    public void afterCommit(Runnable send) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            send.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                send.run();
+            }
+        });
+    }
+
     public void sendPrivateNotification(NotificationDto notification) {
         if (notification.getRecipientId() != null) {
             messagingTemplate.convertAndSendToUser(
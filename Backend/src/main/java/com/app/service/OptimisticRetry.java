@@ -0,0 +1,89 @@
+package com.app.service;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.Exception.ConcurrentUpdateException;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs a status transition on a versioned row ({@code @Version}) in a
+ * transaction of its own, and runs it again on a fresh read when a
+ * concurrent writer committed first, up to {@code app.concurrency.max-attempts}
+ * times with a short jittered pause in between. Only pass transitions that
+ * are safe to repeat: each attempt re-reads the row and must decide from
+ * what it finds, returning the row as is when the transition already
+ * happened and throwing {@link ConcurrentUpdateException} when it no longer
+ * applies.
+ *
+ * <p>When every attempt loses, the caller gets {@link ConcurrentUpdateException}
+ * with the row as it is now. Inside a transaction the caller already holds,
+ * the transition runs once and a conflict surfaces at the caller's commit,
+ * as retrying within a transaction that saw the stale row cannot succeed.
+ */
+@Component
+@Slf4j
+public class OptimisticRetry {
+
+    private final TransactionTemplate attemptTransaction;
+    private final TransactionTemplate readTransaction;
+    private final int maxAttempts;
+    private final Duration backoff;
+
+    public OptimisticRetry(
+            PlatformTransactionManager transactionManager,
+            @Value("${app.concurrency.max-attempts:3}") int maxAttempts,
+            @Value("${app.concurrency.backoff:20ms}") Duration backoff) {
+        this.attemptTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+    }
+
+    /**
+     * @param what       names the row in the conflict message, e.g. {@code "Complaint 42"}
+     * @param transition reads, changes and maps the row
+     * @param current    reads the row as it is now, for the conflict response
+     */
+    public <T> T run(String what, Supplier<T> transition, Supplier<?> current) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return transition.get();
+        }
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return attemptTransaction.execute(status -> transition.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    log.info("{} still changing after {} attempts; giving up", what, attempt);
+                    throw new ConcurrentUpdateException(what + " was changed by someone else at the same time",
+                            readTransaction.execute(status -> current.get()));
+                }
+                log.debug("{} changed concurrently, attempt {} of {}", what, attempt, maxAttempts);
+                pause(attempt);
+            }
+        }
+    }
+
+    // Jittered, so writers that collided once do not collide again in step
+    private void pause(int attempt) {
+        long bound = backoff.toMillis() * attempt;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.app.service;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dashboard.DashBoardCountsStale;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Maintains the denormalized {@code society_id} on flats and flat-owned tables
+ * (visitors, complaints, bills, allocations, members). New and updated rows
+ * are handled by {@code SocietyScopeListener}; this service covers the bulk
+ * cases: a flat moving to a building in another society, a building moving
+ * society, and backfilling rows written before the column existed.
+ */
+@Service
+@Slf4j
+public class SocietyScopeService implements ApplicationRunner {
+
+    private record ScopedTable(String entity, String flatPath) {
+    }
+
+    private static final List<ScopedTable> TABLES = List.of(
+            new ScopedTable("Visitor", "visitingFlat"),
+            new ScopedTable("Complaint", "flat"),
+            new ScopedTable("MaintenanceBill", "flat"),
+            new ScopedTable("FlatAllocation", "flat"),
+            new ScopedTable("FlatMember", "flat"));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean backfillEnabled;
+    private final int batchSize;
+
+    public SocietyScopeService(
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${app.society-scope.backfill.enabled:true}") boolean backfillEnabled,
+            @Value("${app.society-scope.backfill.batch-size:5000}") int batchSize) {
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.backfillEnabled = backfillEnabled;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Re-points every row of {@code flatId} at {@code societyId}. Call after a
+     * flat is moved to a building in a different society.
+     */
+    @Transactional
+    public int reassignFlat(Long flatId, Long societyId) {
+        int updated = 0;
+        for (ScopedTable table : TABLES) {
+            updated += entityManager.createQuery("UPDATE " + table.entity() + " x SET x.societyId = :societyId"
+                    + " WHERE x." + table.flatPath() + ".id = :flatId")
+                    .setParameter("societyId", societyId)
+                    .setParameter("flatId", flatId)
+                    .executeUpdate();
+        }
+        // Rows moved between societies in bulk; recount both sides' dashboards
+        eventPublisher.publishEvent(DashBoardCountsStale.all());
+        return updated;
+    }
+
+    /**
+     * Re-points every row under {@code buildingId} at {@code societyId}. Call
+     * after a building is moved to a different society.
+     */
+    @Transactional
+    public int reassignBuilding(Long buildingId, Long societyId) {
+        int updated = entityManager.createQuery("UPDATE Flat f SET f.societyId = :societyId WHERE f.building.id = :buildingId")
+                .setParameter("societyId", societyId)
+                .setParameter("buildingId", buildingId)
+                .executeUpdate();
+        for (ScopedTable table : TABLES) {
+            updated += entityManager.createQuery("UPDATE " + table.entity() + " x SET x.societyId = :societyId"
+                    + " WHERE x." + table.flatPath() + ".id IN (SELECT f.id FROM Flat f WHERE f.building.id = :buildingId)")
+                    .setParameter("societyId", societyId)
+                    .setParameter("buildingId", buildingId)
+                    .executeUpdate();
+        }
+        // Rows moved between societies in bulk; recount both sides' dashboards
+        eventPublisher.publishEvent(DashBoardCountsStale.all());
+        return updated;
+    }
+
+    /**
+     * Fills {@code society_id} on rows that predate the column, one id range
+     * per transaction so locks stay short on large tables. A no-op once every
+     * row is populated.
+     */
+    public int backfill() {
+        int total = 0;
+        for (ScopedTable table : TABLES) {
+            Object[] range = (Object[]) entityManager.createQuery("SELECT MIN(x.id), MAX(x.id) FROM "
+                    + table.entity() + " x WHERE x.societyId IS NULL")
+                    .getSingleResult();
+            if (range[0] == null) {
+                continue;
+            }
+            long min = ((Number) range[0]).longValue();
+            long max = ((Number) range[1]).longValue();
+            String update = "UPDATE " + table.entity() + " x SET x.societyId ="
+                    + " (SELECT b.society.id FROM Flat f JOIN f.building b WHERE f.id = x." + table.flatPath() + ".id)"
+                    + " WHERE x.societyId IS NULL AND x.id BETWEEN :fromId AND :toId";
+            int filled = 0;
+            for (long start = min; start <= max; start += batchSize) {
+                long from = start;
+                long to = start + batchSize - 1;
+                Integer rows = transactionTemplate.execute(status -> entityManager.createQuery(update)
+                        .setParameter("fromId", from)
+                        .setParameter("toId", to)
+                        .executeUpdate());
+                filled += rows == null ? 0 : rows;
+            }
+            log.info("Backfilled society_id on {} {} rows", filled, table.entity());
+            total += filled;
+        }
+        return total;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (backfillEnabled) {
+            backfill();
+        }
+    }
+}
@@ -88,10 +88,9 @@ public class SocietyServiceImpl implements SocietyService {
     @Override
     @Transactional
     public void deleteSociety(Long id) {
-        if (!societyRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Society not found with id: " + id);
-        }
-        societyRepository.deleteById(id);
+        Society society = societyRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Society not found with id: " + id));
+        societyRepository.delete(society);
     }
 
 	
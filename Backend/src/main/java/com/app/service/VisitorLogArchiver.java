@@ -0,0 +1,165 @@
+package com.app.service;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.scheduling.ScheduledJobRunner;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly upkeep of the visitor log. Entries left open past the open window
+ * ({@link VisitorLogRetention}) are closed first, which keeps every open entry
+ * inside the window the active list reads. Closed entries older than the
+ * archive horizon are then copied to {@code visitors_archive} and deleted from
+ * {@code visitors}, {@code batchSize} rows per transaction.
+ * On MySQL it then creates the partitions for the coming months and drops
+ * the partitions the archiving has emptied (see {@link VisitorPartitions}).
+ */
+@Service
+@Slf4j
+public class VisitorLogArchiver {
+
+    private static final String COLUMNS = "approved, status, approval_time, approved_by, created_at, entry_time,"
+            + " exit_time, flat_id, id, logged_by, society_id, name, phone, purpose";
+
+    // Nobody recorded the exit, so it is stamped with the time the entry was closed; the
+    // version bump makes an approval racing with it fail instead of reopening the row
+    private static final String CLOSE_OPEN = "UPDATE visitors SET exit_time = :now, version = version + 1"
+            + " WHERE entry_time < :cutoff AND exit_time IS NULL";
+
+    // The entry_time bound keeps every statement on the partitions being archived
+    private static final String SELECT_BATCH = "SELECT id FROM visitors"
+            + " WHERE entry_time < :cutoff AND exit_time IS NOT NULL ORDER BY entry_time, id LIMIT :limit FOR UPDATE";
+
+    private static final String COPY = "INSERT INTO visitors_archive (" + COLUMNS + ", archived_at)"
+            + " SELECT " + COLUMNS + ", :now FROM visitors WHERE entry_time < :cutoff AND id IN (:ids)";
+
+    private static final String DELETE = "DELETE FROM visitors WHERE entry_time < :cutoff AND id IN (:ids)";
+
+    private static final String PARTITIONS = "SELECT partition_name FROM information_schema.partitions"
+            + " WHERE table_schema = DATABASE() AND table_name = 'visitors' AND partition_name IS NOT NULL";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate batchTransaction;
+    private final ScheduledJobRunner scheduledJobRunner;
+    private final VisitorLogRetention retention;
+    private final int batchSize;
+
+    public VisitorLogArchiver(
+            NamedParameterJdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            ScheduledJobRunner scheduledJobRunner,
+            VisitorLogRetention retention,
+            @Value("${app.visitors.archive.batch-size:1000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.batchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.scheduledJobRunner = scheduledJobRunner;
+        this.retention = retention;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${app.visitors.archive.cron:0 15 3 * * *}")
+    public int maintain() {
+        return scheduledJobRunner.run("visitor-log-archive", () -> {
+            int closed = closeOpenBefore(retention.openSince());
+            LocalDateTime cutoff = retention.horizonStart();
+            int archived = archiveClosedBefore(cutoff);
+            maintainPartitions(YearMonth.from(cutoff));
+            return closed + archived;
+        });
+    }
+
+    /**
+     * Closes the entries that came in before {@code cutoff} and were never
+     * given an exit time, and returns how many were closed.
+     */
+    public int closeOpenBefore(LocalDateTime cutoff) {
+        int closed = batchTransaction.execute(status -> jdbcTemplate.update(CLOSE_OPEN,
+                Map.of("cutoff", cutoff, "now", LocalDateTime.now())));
+        if (closed > 0) {
+            log.info("Closed {} visitor entries left open since before {}", closed, cutoff);
+        }
+        return closed;
+    }
+
+    /**
+     * Moves closed entries that came in before {@code cutoff} to the archive
+     * and returns how many were moved. Open entries stay where they are.
+     */
+    public int archiveClosedBefore(LocalDateTime cutoff) {
+        int archived = 0;
+        int moved;
+        do {
+            moved = batchTransaction.execute(status -> {
+                List<Long> ids = jdbcTemplate.queryForList(SELECT_BATCH,
+                        Map.of("cutoff", cutoff, "limit", batchSize), Long.class);
+                if (ids.isEmpty()) {
+                    return 0;
+                }
+                Map<String, Object> params = Map.of("cutoff", cutoff, "ids", ids, "now", LocalDateTime.now());
+                jdbcTemplate.update(COPY, params);
+                return jdbcTemplate.update(DELETE, params);
+            });
+            archived += moved;
+        } while (moved == batchSize);
+        return archived;
+    }
+
+    /**
+     * Creates the partitions up to {@link VisitorPartitions#MONTHS_AHEAD}
+     * months from now and drops empty ones before {@code oldestKept}. Does
+     * nothing on databases without partitioning.
+     */
+    public void maintainPartitions(YearMonth oldestKept) {
+        JdbcTemplate jdbc = jdbcTemplate.getJdbcTemplate();
+        if (!jdbc.execute((ConnectionCallback<Boolean>) VisitorPartitions::isSupported)) {
+            return;
+        }
+        TreeSet<YearMonth> months = new TreeSet<>();
+        for (String name : jdbc.queryForList(PARTITIONS, String.class)) {
+            YearMonth month = VisitorPartitions.month(name);
+            if (month != null) {
+                months.add(month);
+            }
+        }
+
+        List<String> added = new ArrayList<>();
+        YearMonth last = YearMonth.now().plusMonths(VisitorPartitions.MONTHS_AHEAD);
+        for (YearMonth month = months.isEmpty() ? YearMonth.now() : months.last().plusMonths(1);
+                !month.isAfter(last); month = month.plusMonths(1)) {
+            added.add(VisitorPartitions.definition(month));
+        }
+        if (!added.isEmpty()) {
+            added.add(VisitorPartitions.overflowDefinition());
+            jdbc.execute("alter table visitors reorganize partition " + VisitorPartitions.OVERFLOW
+                    + " into (" + String.join(", ", added) + ")");
+            log.info("Added {} visitor partitions", added.size() - 1);
+        }
+
+        for (YearMonth month : months.headSet(oldestKept)) {
+            String name = VisitorPartitions.name(month);
+            // Open entries keep a partition alive; only empty ones go
+            if (!jdbc.queryForList("SELECT 1 FROM visitors PARTITION (" + name + ") LIMIT 1").isEmpty()) {
+                continue;
+            }
+            jdbc.execute("alter table visitors drop partition " + name);
+            log.info("Dropped empty visitor partition {}", name);
+        }
+    }
+}
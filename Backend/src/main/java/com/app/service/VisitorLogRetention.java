@@ -0,0 +1,42 @@
+package com.app.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Time windows of the visitor log. An entry left open longer than the open
+ * window is closed by the nightly archiver run, and closed entries older
+ * than the archive horizon move to {@code visitors_archive}. Every list is
+ * bounded on {@code entry_time} by one of the two, so on MySQL it reads only
+ * the partitions inside it: the active list ("who is inside") looks back the
+ * open window, which keeps it on the current month's partition except in the
+ * first hours of a month.
+ */
+@Component
+public class VisitorLogRetention {
+
+    private final Duration horizon;
+    private final Duration openWindow;
+
+    public VisitorLogRetention(
+            @Value("${app.visitors.archive.horizon:90d}") Duration horizon,
+            @Value("${app.visitors.open-window:24h}") Duration openWindow) {
+        if (openWindow.compareTo(horizon) >= 0) {
+            throw new IllegalArgumentException("app.visitors.open-window (" + openWindow
+                    + ") must be shorter than app.visitors.archive.horizon (" + horizon + ")");
+        }
+        this.horizon = horizon;
+        this.openWindow = openWindow;
+    }
+
+    public LocalDateTime horizonStart() {
+        return LocalDateTime.now().minus(horizon);
+    }
+
+    public LocalDateTime openSince() {
+        return LocalDateTime.now().minus(openWindow);
+    }
+}
@@ -0,0 +1,56 @@
+package com.app.service;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Naming and DDL of the monthly partitions of {@code visitors}. On MySQL the
+ * table is partitioned by RANGE on {@code TO_DAYS(entry_time)}: partition
+ * {@code pYYYYMM} holds the entries of that month and {@code pmax} anything
+ * past the last month created, so queries bounded on {@code entry_time} read
+ * only the months they cover. Other databases (H2 in the tests) keep a plain
+ * table; callers check {@link #isSupported} before issuing partition DDL.
+ */
+public final class VisitorPartitions {
+
+    public static final String OVERFLOW = "pmax";
+
+    // Months created ahead of the current one, so inserts never land in pmax
+    public static final int MONTHS_AHEAD = 2;
+
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private VisitorPartitions() {
+    }
+
+    public static boolean isSupported(Connection connection) throws SQLException {
+        return "MySQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+    }
+
+    public static String name(YearMonth month) {
+        return month.format(NAME);
+    }
+
+    /**
+     * Month held by a partition, or {@code null} for {@code pmax} and names
+     * this class did not create.
+     */
+    public static YearMonth month(String partitionName) {
+        try {
+            return YearMonth.parse(partitionName, NAME);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public static String definition(YearMonth month) {
+        return "partition " + name(month) + " values less than (to_days('" + month.plusMonths(1).atDay(1) + "'))";
+    }
+
+    public static String overflowDefinition() {
+        return "partition " + OVERFLOW + " values less than maxvalue";
+    }
+}
@@ -2,7 +2,9 @@ package com.app.service;
 
 import java.util.List;
 
+import com.app.dto.CursorPageDTO;
 import com.app.dto.VisitorDTO;
+import com.app.pagination.CursorPageRequest;
 
 
 public interface VisitorService {
@@ -19,6 +21,8 @@ public List<VisitorDTO> getAllVisitors();
 
 	List<VisitorDTO> getVisitorLogsBySocietyId(Long societyId);
 
+	CursorPageDTO<VisitorDTO> getVisitorLogsBySocietyId(Long societyId, CursorPageRequest page);
+
 	List<VisitorDTO> getActiveVisitorsBySocietyId(Long societyId);
 
 	List<VisitorDTO> getPendingApprovalVisitorLogs(Long societyId);
@@ -2,6 +2,7 @@ package com.app.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Objects;
 
 
 
@@ -14,6 +15,7 @@ import com.app.dao.FlatDao;
 import com.app.dao.FlatMemberDao;
 import com.app.dao.UserDao;
 import com.app.dao.VisitorDao;
+import com.app.dto.CursorPageDTO;
 import com.app.dto.NotificationDto;
 import com.app.dto.VisitorDTO;
 import com.app.model.Flat;
@@ -21,6 +23,8 @@ import com.app.model.FlatMember;
 import com.app.model.User;
 import com.app.model.Visitor;
 import com.app.model.VisitorStatus;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.KeysetPaging;
 
 import lombok.RequiredArgsConstructor;
 
@@ -34,39 +38,48 @@ public class VisitorServiceImpl implements VisitorService {
     private final FlatMemberDao flatMemberRepository;
     private final VisitorMapper visitorLogMapper;
     private final NotificationService notificationService;
+    private final KeysetPaging keysetPaging;
+    private final VisitorLogRetention retention;
+    private final OptimisticRetry optimisticRetry;
 
     @Override
     @Transactional(readOnly = true)
     public List<VisitorDTO> getAllVisitors() {
-        List<Visitor> visitorLogs = visitorLogRepository.findAll();
-        return visitorLogMapper.toDtoList(visitorLogs);
+        return visitorLogRepository.findAllDtos();
     }
     @Override
     @Transactional(readOnly = true)
     public List<VisitorDTO> getVisitorLogsByFlatId(long flatId) {
-        if (!flatRepository.existsById(flatId)) {
+        List<Visitor> visitorLogs = visitorLogRepository.findByvisitingFlatId(flatId);
+        // Only an empty result needs telling apart from a flat that does not exist
+        if (visitorLogs.isEmpty() && !flatRepository.existsById(flatId)) {
             throw new ResourceNotFoundException("Flat not found with id: " + flatId);
         }
-        List<Visitor> visitorLogs = visitorLogRepository.findByvisitingFlatId(flatId);
         return visitorLogMapper.toDtoList(visitorLogs);
     }
     @Override
     @Transactional(readOnly = true)
     public List<VisitorDTO> getVisitorLogsBySocietyId(Long societyId) {
-        List<Visitor> visitorLogs = visitorLogRepository.findBySocietyId(societyId);
-        return visitorLogMapper.toDtoList(visitorLogs);
+        return visitorLogRepository.findDtosBySocietyId(societyId, retention.horizonStart());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<VisitorDTO> getVisitorLogsBySocietyId(Long societyId, CursorPageRequest page) {
+        return keysetPaging.fetch(page, "entryTime",
+                (position, sort, limit) -> visitorLogRepository.findBySocietyIdAndEntryTimeGreaterThanEqual(
+                        societyId, retention.horizonStart(), position, sort, limit),
+                visitorLogMapper::toDtoList);
     }
     @Override
     @Transactional(readOnly = true)
     public List<VisitorDTO> getActiveVisitorsBySocietyId(Long societyId) {
-        List<Visitor> visitorLogs = visitorLogRepository.findBySocietyIdAndExitTimeIsNull(societyId);
-        return visitorLogMapper.toDtoList(visitorLogs);
+        return visitorLogRepository.findDtosBySocietyIdAndExitTimeIsNull(societyId, retention.openSince());
     }
     @Override
     @Transactional(readOnly = true)
     public List<VisitorDTO> getPendingApprovalVisitorLogs(Long societyId) {
-        List<Visitor> visitorLogs = visitorLogRepository.findBySocietyIdAndApproved(societyId, false);
-        return visitorLogMapper.toDtoList(visitorLogs);
+        return visitorLogRepository.findDtosBySocietyIdAndApproved(societyId, false, retention.horizonStart());
     }
 
     @Override
@@ -82,6 +95,7 @@ public class VisitorServiceImpl implements VisitorService {
         Flat flat = flatRepository.findById(visitorLogDto.getFlatId())
                 .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + visitorLogDto.getFlatId()));
 
+        // visitors has no foreign keys on MySQL (partitioned, see V8), so parents are looked up
         User loggedBy = userRepository.findById(visitorLogDto.getLoggedById())
                 .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + visitorLogDto.getLoggedById()));
 
@@ -117,35 +131,43 @@ public class VisitorServiceImpl implements VisitorService {
 
         return savedDto;
     }
+    /**
+     * Approving an approved visitor returns the entry unchanged, keeping its
+     * first approver; retried on a concurrent change (see {@link OptimisticRetry}).
+     */
     @Override
-    @Transactional
     public VisitorDTO approveVisitorLog(Long id, Long approverId) {
-        Visitor visitorLog = visitorLogRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Visitor log not found with id: " + id));
-
-        FlatMember approvedBy = flatMemberRepository.findById(approverId)
-                .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + approverId));
-
-        visitorLog.setApproved(true);
-        visitorLog.setApprovalTime(LocalDateTime.now());
-        visitorLog.setApprovedBy(approvedBy);
+        return optimisticRetry.run("Visitor log " + id, () -> {
+            Visitor visitorLog = visitorLogRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Visitor log not found with id: " + id));
+            if (visitorLog.isApproved()) {
+                return visitorLogMapper.toDTO(visitorLog);
+            }
 
-        Visitor updatedVisitorLog = visitorLogRepository.save(visitorLog);
-        VisitorDTO updatedDto = visitorLogMapper.toDTO(updatedVisitorLog);
-
-        // Send notification to guards
-        NotificationDto notification = NotificationDto.create(
-                "VISITOR_APPROVED",
-                "Visitor " + visitorLog.getName() + " has been approved to visit flat " + visitorLog.getVisitingFlat().getFlatNumber(),
-                updatedDto,
-                approverId,
-                approvedBy.getName(),
-                visitorLog.getLoggedBy().getId(),
-                visitorLog.getVisitingFlat().getBuilding().getSociety().getId()
-        );
-        notificationService.sendGuardNotification(notification);
-
-        return updatedDto;
+            FlatMember approvedBy = flatMemberRepository.findById(approverId)
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + approverId));
+
+            visitorLog.setApproved(true);
+            visitorLog.setApprovalTime(LocalDateTime.now());
+            visitorLog.setApprovedBy(approvedBy);
+
+            Visitor updatedVisitorLog = visitorLogRepository.save(visitorLog);
+            VisitorDTO updatedDto = visitorLogMapper.toDTO(updatedVisitorLog);
+
+            // Send notification to guards
+            NotificationDto notification = NotificationDto.create(
+                    "VISITOR_APPROVED",
+                    "Visitor " + visitorLog.getName() + " has been approved to visit flat " + visitorLog.getVisitingFlat().getFlatNumber(),
+                    updatedDto,
+                    approverId,
+                    approvedBy.getName(),
+                    visitorLog.getLoggedBy().getId(),
+                    visitorLog.getVisitingFlat().getBuilding().getSociety().getId()
+            );
+            notificationService.afterCommit(() -> notificationService.sendGuardNotification(notification));
+
+            return updatedDto;
+        }, () -> visitorLogRepository.findById(id).map(visitorLogMapper::toDTO).orElse(null));
     }
     @Override
     @Transactional
@@ -164,29 +186,31 @@ public class VisitorServiceImpl implements VisitorService {
         Visitor visitorLog = visitorLogRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Visitor log not found with id: " + id));
 
-        Flat flat = flatRepository.findById(visitorLogDto.getFlatId())
-                .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + visitorLogDto.getFlatId()));
-
-        User loggedBy = userRepository.findById(visitorLogDto.getLoggedById())
-               .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + visitorLogDto.getLoggedById()));
+        // Parents are only looked up when they change; there is no foreign key to fall back on (see V8)
+        if (!Objects.equals(visitorLog.getVisitingFlat().getId(), visitorLogDto.getFlatId())) {
+            visitorLog.setVisitingFlat(flatRepository.findById(visitorLogDto.getFlatId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Flat not found with id: " + visitorLogDto.getFlatId())));
+        }
+        if (!Objects.equals(visitorLog.getLoggedBy().getId(), visitorLogDto.getLoggedById())) {
+            visitorLog.setLoggedBy(userRepository.findById(visitorLogDto.getLoggedById())
+                    .orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + visitorLogDto.getLoggedById())));
+        }
 
         visitorLog.setName(visitorLogDto.getName());
         visitorLog.setPhone(visitorLogDto.getPhone());
         visitorLog.setPurpose(visitorLogDto.getPurpose());
-        visitorLog.setVisitingFlat(flat);
-        visitorLog.setLoggedBy(loggedBy);
 
-        Visitor updatedVisitorLog = visitorLogRepository.save(visitorLog);
+        // Flushed before mapping, so SocietyScopeListener still finds the kept flat unloaded
+        Visitor updatedVisitorLog = visitorLogRepository.saveAndFlush(visitorLog);
         return visitorLogMapper.toDTO(updatedVisitorLog);
     }
 
     @Override
     @Transactional
     public void deleteVisitor(long id) {
-        if (!visitorLogRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Visitor log not found with id: " + id);
-        }
-        visitorLogRepository.deleteById(id);
+        Visitor visitorLog = visitorLogRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Visitor log not found with id: " + id));
+        visitorLogRepository.delete(visitorLog);
     }
 
 
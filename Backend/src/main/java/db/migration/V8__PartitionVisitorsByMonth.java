@@ -0,0 +1,70 @@
+package db.migration;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import com.app.service.VisitorPartitions;
+
+/**
+ * Partitions {@code visitors} by month of {@code entry_time} on MySQL, from
+ * the month of the oldest entry to {@link VisitorPartitions#MONTHS_AHEAD}
+ * months ahead; VisitorLogArchiver adds later months as time passes. Its
+ * foreign keys go, so parent existence is enforced by the services. A
+ * no-op on other databases. Written in Java because the partition list
+ * depends on the data and the database.
+ */
+public class V8__PartitionVisitorsByMonth extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        if (!VisitorPartitions.isSupported(connection)) {
+            return;
+        }
+        try (Statement statement = connection.createStatement()) {
+            // Partitioned InnoDB tables cannot have foreign keys; the indexes behind them stay.
+            // The services check parents instead: VisitorServiceImpl looks up the flat, guard and
+            // approver before writing, and flats or members with visitor entries are not deleted
+            List<String> foreignKeys = new ArrayList<>();
+            try (ResultSet rs = statement.executeQuery("select constraint_name from information_schema.referential_constraints"
+                    + " where constraint_schema = database() and table_name = 'visitors'")) {
+                while (rs.next()) {
+                    foreignKeys.add(rs.getString(1));
+                }
+            }
+            for (String foreignKey : foreignKeys) {
+                statement.execute("alter table visitors drop foreign key " + foreignKey);
+            }
+
+            // Every unique key of a partitioned table must include the partitioning column
+            statement.execute("alter table visitors drop primary key, add primary key (id, entry_time)");
+
+            YearMonth first = YearMonth.now();
+            try (ResultSet rs = statement.executeQuery("select min(entry_time) from visitors")) {
+                Timestamp oldest = rs.next() ? rs.getTimestamp(1) : null;
+                if (oldest != null) {
+                    first = YearMonth.from(oldest.toLocalDateTime());
+                }
+            }
+            List<String> partitions = new ArrayList<>();
+            YearMonth last = YearMonth.now().plusMonths(VisitorPartitions.MONTHS_AHEAD);
+            for (YearMonth month = first; !month.isAfter(last); month = month.plusMonths(1)) {
+                partitions.add(VisitorPartitions.definition(month));
+            }
+            partitions.add(VisitorPartitions.overflowDefinition());
+            statement.execute("alter table visitors partition by range (to_days(entry_time)) ("
+                    + String.join(", ", partitions) + ")");
+
+            // Archived rows are written once and rarely read
+            statement.execute("alter table visitors_archive row_format=compressed");
+        }
+    }
+}
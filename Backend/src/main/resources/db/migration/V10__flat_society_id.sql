@@ -0,0 +1,6 @@
+-- society_id denormalized onto flats from their building (SocietyScopeListener keeps
+-- it current), so a flat write knows its society without loading the building.
+alter table flats add column society_id bigint;
+
+update flats set society_id = (select b.society_id from buildings b where b.id = flats.building_id)
+    where society_id is null;
@@ -0,0 +1,12 @@
+-- Token revocation list (TokenRevocationService): one row per revoked jti
+-- until the token it names expires.
+create table revoked_tokens (
+    expires_at datetime(6) not null,
+    revoked_at datetime(6) not null,
+    user_id bigint,
+    jti varchar(64) not null,
+    primary key (jti)
+) engine=InnoDB;
+
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
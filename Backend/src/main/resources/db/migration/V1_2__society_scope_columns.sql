@@ -0,0 +1,28 @@
+-- society_id denormalized onto the flat-owned tables (SocietyScopeListener keeps
+-- it current on writes). Existing rows are filled from flat -> building -> society.
+
+alter table complaints add column society_id bigint;
+alter table flat_allocations add column society_id bigint;
+alter table flat_members add column society_id bigint;
+alter table maintenance_bills add column society_id bigint;
+alter table visitors add column society_id bigint;
+
+update complaints set society_id = (select b.society_id from flats f join buildings b on b.id = f.building_id
+    where f.id = complaints.flat_id) where society_id is null;
+update flat_allocations set society_id = (select b.society_id from flats f join buildings b on b.id = f.building_id
+    where f.id = flat_allocations.flat_id) where society_id is null;
+update flat_members set society_id = (select b.society_id from flats f join buildings b on b.id = f.building_id
+    where f.id = flat_members.flat_id) where society_id is null;
+update maintenance_bills set society_id = (select b.society_id from flats f join buildings b on b.id = f.building_id
+    where f.id = maintenance_bills.flat_id) where society_id is null;
+update visitors set society_id = (select b.society_id from flats f join buildings b on b.id = f.building_id
+    where f.id = visitors.flat_id) where society_id is null;
+
+create index idx_complaints_society_created on complaints (society_id, created_at, id);
+create index idx_complaints_society_status on complaints (society_id, status, created_at, id);
+create index idx_flat_allocations_society on flat_allocations (society_id, id);
+create index idx_flat_allocations_society_status on flat_allocations (society_id, status, id);
+create index idx_flat_members_society_approved on flat_members (society_id, approved, created_at, id);
+create index idx_maintenance_bills_society_created on maintenance_bills (society_id, created_at, id);
+create index idx_maintenance_bills_society_paid on maintenance_bills (society_id, paid, created_at, id);
+create index idx_visitors_society_entry on visitors (society_id, entry_time, id);
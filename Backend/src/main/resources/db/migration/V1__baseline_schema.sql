@@ -0,0 +1,156 @@
+-- Baseline schema: matches what ddl-auto=update produced for the entities before
+-- Flyway took over, so existing databases can be baselined at version 1 without changes.
+
+create table buildings (
+    total_floors integer not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    society_id bigint not null,
+    updated_at datetime(6),
+    name varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table complaints (
+    category tinyint,
+    status tinyint,
+    created_at datetime(6) not null,
+    flat_id bigint not null,
+    id bigint not null auto_increment,
+    resolved_at datetime(6),
+    user_id bigint not null,
+    description varchar(255) not null,
+    resolution TEXT,
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table flat_allocations (
+    family_members integer,
+    flat_id bigint not null,
+    id bigint not null auto_increment,
+    user_id bigint not null,
+    occupation varchar(255),
+    resident_type enum ('FAMILY_MEMBER','OWNER','TENANT') not null,
+    status enum ('APPROVED','PENDING','REJECTED') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table flat_members (
+    approved bit not null,
+    is_owner bit not null,
+    created_at datetime(6) not null,
+    flat_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    user_id bigint,
+    email varchar(255),
+    name varchar(255) not null,
+    phone varchar(255) not null,
+    relationship varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table flats (
+    area float(53) not null,
+    flat_type tinyint,
+    floor_number integer not null,
+    building_id bigint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    flat_number varchar(255) not null,
+    occupied_status enum ('MAINTENANCE','OCCUPIED','VACANT') not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table maintenance_bills (
+    amount decimal(10,2) not null,
+    bill_date date not null,
+    due_date date not null,
+    paid bit not null,
+    payment_date date,
+    created_at datetime(6) not null,
+    flat_id bigint not null,
+    id bigint not null auto_increment,
+    updated_at datetime(6),
+    bill_number varchar(255) not null,
+    description TEXT,
+    payment_reference varchar(255),
+    primary key (id)
+) engine=InnoDB;
+
+create table notices (
+    is_active bit,
+    priority tinyint,
+    created_at datetime(6),
+    created_by bigint not null,
+    expires_at datetime(6),
+    id bigint not null auto_increment,
+    society_id bigint not null,
+    updated_at datetime(6),
+    content TEXT,
+    title varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table societies (
+    number_of_buildings integer,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    address varchar(255) not null,
+    city varchar(255) not null,
+    name varchar(255) not null,
+    pincode varchar(255) not null,
+    registration_number varchar(255) not null,
+    state varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table users (
+    enabled bit not null,
+    role tinyint not null,
+    created_at datetime(6),
+    id bigint not null auto_increment,
+    society_id bigint,
+    email varchar(255) not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    phone varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create table visitors (
+    approved bit not null,
+    status tinyint,
+    approval_time datetime(6),
+    approved_by bigint,
+    created_at datetime(6),
+    entry_time datetime(6) not null,
+    exit_time datetime(6),
+    flat_id bigint not null,
+    id bigint not null auto_increment,
+    logged_by bigint not null,
+    name varchar(255) not null,
+    phone varchar(255) not null,
+    purpose varchar(255) not null,
+    primary key (id)
+) engine=InnoDB;
+
+alter table societies add constraint UKoeqpff0x1kismika63aif9eil unique (registration_number);
+alter table users add constraint UK6dotkott2kjsp8vw4d0m25fb7 unique (email);
+alter table buildings add constraint FKdis66yvh0nmo42exojkkx2t0u foreign key (society_id) references societies (id);
+alter table complaints add constraint FKr3v68fu06p9ooq1hx09go5232 foreign key (user_id) references flat_members (id);
+alter table complaints add constraint FKijklnjs5f0wxwhkyx6ndadbt5 foreign key (flat_id) references flats (id);
+alter table flat_allocations add constraint FKpma0x2jv3nlaqf359js6t5l7x foreign key (flat_id) references flats (id);
+alter table flat_allocations add constraint FK6rb140uupc4xmvyipevhajidw foreign key (user_id) references users (id);
+alter table flat_members add constraint FKtd5tct7onieabvfyil7w4awbj foreign key (flat_id) references flats (id);
+alter table flat_members add constraint FK86x5rwllixbqn6jh0hcp8bngk foreign key (user_id) references users (id);
+alter table flats add constraint FK8ulxg0ytcls5rb03ek0eowv4c foreign key (building_id) references buildings (id);
+alter table maintenance_bills add constraint FKl5aqkn3dbmy530jya3xwwhhi3 foreign key (flat_id) references flats (id);
+alter table notices add constraint FKdcx7eafm2avpoafgx6otyvd79 foreign key (created_by) references users (id);
+alter table notices add constraint FK1h382r7qatetd1ygn2iy2elx6 foreign key (society_id) references societies (id);
+alter table users add constraint FKj2n86tkxdd1ko0il2k7rfreci foreign key (society_id) references societies (id);
+alter table visitors add constraint FKcfy5x97egk2ahwc30lyc587tn foreign key (approved_by) references flat_members (id);
+alter table visitors add constraint FKnv6gfh3bpou7n2fc5e6ylf5ot foreign key (logged_by) references users (id);
+alter table visitors add constraint FK4x1lp4l6sy3uo75k8dytbfiu0 foreign key (flat_id) references flats (id);
@@ -0,0 +1,40 @@
+-- Natural keys the services already treat as unique (existsBy... checks before insert);
+-- the constraint closes the race between the check and the insert.
+alter table flats add constraint uk_flats_building_flat_number unique (building_id, flat_number);
+alter table buildings add constraint uk_buildings_society_name unique (society_id, name);
+alter table maintenance_bills add constraint uk_maintenance_bills_bill_number unique (bill_number);
+
+-- One index per derived-query shape in the DAOs. Foreign-key columns already carry an
+-- index, so single-column lookups by flat_id / user_id / society_id are not repeated here.
+
+-- SocietyDao.findByName / existsByName
+create index idx_societies_name on societies (name);
+
+-- UserDao.existsByPhone, findBySocietyIdAndRole
+create index idx_users_phone on users (phone);
+create index idx_users_society_role on users (society_id, role);
+
+-- FlatMemberDao.findByUserIdAndFlatId, findByFlatIdAndIsOwner, findByApproved
+create index idx_flat_members_user_flat on flat_members (user_id, flat_id);
+create index idx_flat_members_flat_owner on flat_members (flat_id, is_owner);
+create index idx_flat_members_approved on flat_members (approved, created_at);
+
+-- ComplaintDao.findByStatus
+create index idx_complaints_status on complaints (status, created_at);
+
+-- MaintenanceBillDao.findByFlatIdAndPaid, findByDueDateBefore, findByDueDateBeforeAndPaid
+create index idx_maintenance_bills_flat_paid on maintenance_bills (flat_id, paid, due_date);
+create index idx_maintenance_bills_due_date on maintenance_bills (due_date);
+create index idx_maintenance_bills_paid_due_date on maintenance_bills (paid, due_date);
+
+-- NoticeDao.findBySocietyIdAndIsActive, findByExpiresAtBeforeAndIsActive
+create index idx_notices_society_active on notices (society_id, is_active, created_at);
+create index idx_notices_active_expires on notices (is_active, expires_at);
+
+-- VisitorDao.findByApproved, findByExitTimeIsNull, findByEntryTimeBetween,
+-- findBySocietyIdAndApproved, findBySocietyIdAndExitTimeIsNull
+create index idx_visitors_approved on visitors (approved, entry_time);
+create index idx_visitors_exit_time on visitors (exit_time);
+create index idx_visitors_entry_time on visitors (entry_time);
+create index idx_visitors_society_approved on visitors (society_id, approved, entry_time);
+create index idx_visitors_society_exit on visitors (society_id, exit_time);
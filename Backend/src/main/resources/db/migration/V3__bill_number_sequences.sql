@@ -0,0 +1,9 @@
+-- Per-society, per-financial-year bill number counters. next_value is the
+-- first number not yet handed out; nodes reserve blocks by bumping it under
+-- the row lock (see BillNumberAllocator).
+create table bill_number_sequences (
+    society_id bigint not null,
+    financial_year integer not null,
+    next_value bigint not null,
+    primary key (society_id, financial_year)
+) engine=InnoDB;
@@ -0,0 +1,20 @@
+-- Pooled id allocation (PooledIdGenerator): one row per entity table holding
+-- the next id to hand out, seeded past the ids AUTO_INCREMENT already used.
+-- The id columns keep AUTO_INCREMENT so existing rows and foreign keys are
+-- untouched; nothing relies on it any more.
+create table id_sequences (
+    sequence_name varchar(255) not null,
+    next_val bigint,
+    primary key (sequence_name)
+) engine=InnoDB;
+
+insert into id_sequences (sequence_name, next_val) select 'societies', coalesce(max(id), 0) + 1 from societies;
+insert into id_sequences (sequence_name, next_val) select 'buildings', coalesce(max(id), 0) + 1 from buildings;
+insert into id_sequences (sequence_name, next_val) select 'flats', coalesce(max(id), 0) + 1 from flats;
+insert into id_sequences (sequence_name, next_val) select 'users', coalesce(max(id), 0) + 1 from users;
+insert into id_sequences (sequence_name, next_val) select 'flat_members', coalesce(max(id), 0) + 1 from flat_members;
+insert into id_sequences (sequence_name, next_val) select 'flat_allocations', coalesce(max(id), 0) + 1 from flat_allocations;
+insert into id_sequences (sequence_name, next_val) select 'complaints', coalesce(max(id), 0) + 1 from complaints;
+insert into id_sequences (sequence_name, next_val) select 'maintenance_bills', coalesce(max(id), 0) + 1 from maintenance_bills;
+insert into id_sequences (sequence_name, next_val) select 'notices', coalesce(max(id), 0) + 1 from notices;
+insert into id_sequences (sequence_name, next_val) select 'visitors', coalesce(max(id), 0) + 1 from visitors;
@@ -0,0 +1,9 @@
+-- Cluster-wide leases for scheduled jobs (LeaseLock): a job runs on the node
+-- whose owner id holds its row until expires_at.
+create table job_leases (
+    name varchar(64) not null,
+    owner varchar(255) not null,
+    acquired_at datetime(6) not null,
+    expires_at datetime(6) not null,
+    primary key (name)
+) engine=InnoDB;
@@ -0,0 +1,5 @@
+-- Society names become the natural id the second-level cache resolves by
+-- name (SocietyDao.findByName). Registration already rejects duplicates;
+-- the unique constraint replaces the plain lookup index.
+alter table societies add constraint uk_societies_name unique (name);
+drop index idx_societies_name on societies;
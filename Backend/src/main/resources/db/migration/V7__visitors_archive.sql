@@ -0,0 +1,24 @@
+-- Closed visitor entries past app.visitors.archive.horizon move here
+-- (VisitorLogArchiver), out of the monthly partitions of visitors. Same
+-- columns plus archived_at; no foreign keys, so flats and members can still
+-- be deleted once their visits are archived.
+create table visitors_archive (
+    approved bit not null,
+    status tinyint,
+    approval_time datetime(6),
+    approved_by bigint,
+    created_at datetime(6),
+    entry_time datetime(6) not null,
+    exit_time datetime(6) not null,
+    flat_id bigint not null,
+    id bigint not null,
+    logged_by bigint not null,
+    society_id bigint,
+    name varchar(255) not null,
+    phone varchar(255) not null,
+    purpose varchar(255) not null,
+    archived_at datetime(6) not null,
+    primary key (id)
+) engine=InnoDB;
+
+create index idx_visitors_archive_society_entry on visitors_archive (society_id, entry_time);
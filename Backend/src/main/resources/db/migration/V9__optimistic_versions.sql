@@ -0,0 +1,8 @@
+-- Optimistic lock versions (@Version) for the rows whose status transitions
+-- race: bill payment, allocation approval, complaint status and visitor
+-- approval. Existing rows start at 0. visitors_archive keeps no version; an
+-- archived entry is no longer updated.
+alter table maintenance_bills add column version bigint not null default 0;
+alter table flat_allocations add column version bigint not null default 0;
+alter table complaints add column version bigint not null default 0;
+alter table visitors add column version bigint not null default 0;
@@ -0,0 +1,38 @@
+package com.app.config;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "management.endpoints.web.exposure.include=health,metrics")
+@AutoConfigureMockMvc
+class ActuatorSecurityTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    void healthIsPublicButMetricsAreNot() throws Exception {
+        mockMvc.perform(get("/actuator/health")).andExpect(status().isOk());
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().is4xxClientError());
+        mockMvc.perform(get("/actuator/metrics/http.server.requests")).andExpect(status().is4xxClientError());
+    }
+
+    @Test
+    @WithMockUser(roles = "RESIDENT")
+    void metricsAreForbiddenToNonAdmins() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isForbidden());
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void adminsCanReadMetrics() throws Exception {
+        mockMvc.perform(get("/actuator/metrics")).andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,69 @@
+package com.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+// A database created by the old ddl-auto=update has the V1 tables but no Flyway history;
+// production baselines it at V1 and runs everything after. It must end up where a fresh
+// database does, with its existing rows carried over.
+class BaselineMigrationTests {
+
+    @Test
+    void baselinedDatabaseMigratesToTheSameSchemaAsAFreshOne() {
+        DataSource legacy = h2("baseline_legacy");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(legacy);
+        JdbcTemplate legacyJdbc = new JdbcTemplate(legacy);
+        legacyJdbc.update("INSERT INTO societies (id, name, address, city, state, pincode, registration_number)"
+                + " VALUES (1, 'Old Society', 'Addr', 'City', 'State', '411001', 'REG-OLD')");
+        legacyJdbc.update("INSERT INTO buildings (id, society_id, name, total_floors) VALUES (1, 1, 'A', 4)");
+        legacyJdbc.update("INSERT INTO flats (id, building_id, flat_number, floor_number, area, occupied_status)"
+                + " VALUES (1, 1, '101', 1, 850, 'OCCUPIED')");
+        legacyJdbc.update("INSERT INTO users (id, society_id, name, email, password, phone, role, enabled)"
+                + " VALUES (1, 1, 'Guard', 'guard@old.test', 'x', '9000000000', 2, true)");
+        legacyJdbc.update("INSERT INTO visitors (id, flat_id, logged_by, name, phone, purpose, approved, entry_time)"
+                + " VALUES (1, 1, 1, 'Courier', '9000000001', 'Delivery', false, CURRENT_TIMESTAMP)");
+        legacyJdbc.update("INSERT INTO maintenance_bills (id, flat_id, bill_number, amount, bill_date, due_date, paid, created_at)"
+                + " VALUES (1, 1, 'MB-OLD-1', 1500.00, CURRENT_DATE, CURRENT_DATE, false, CURRENT_TIMESTAMP)");
+
+        Flyway.configure().dataSource(legacy).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+
+        DataSource fresh = h2("baseline_fresh");
+        Flyway.configure().dataSource(fresh).load().migrate();
+
+        assertThat(columns(legacy)).isEqualTo(columns(fresh));
+        assertThat(indexes(legacy)).isEqualTo(indexes(fresh));
+        assertThat(legacyJdbc.queryForObject("SELECT society_id FROM flats WHERE id = 1", Long.class)).isEqualTo(1L);
+        assertThat(legacyJdbc.queryForObject("SELECT society_id FROM visitors WHERE id = 1", Long.class)).isEqualTo(1L);
+        assertThat(legacyJdbc.queryForObject("SELECT society_id FROM maintenance_bills WHERE id = 1", Long.class))
+                .isEqualTo(1L);
+        assertThat(legacyJdbc.queryForObject("SELECT COUNT(*) FROM revoked_tokens", Integer.class)).isZero();
+    }
+
+    private static DataSource h2(String name) {
+        return new DriverManagerDataSource("jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+    }
+
+    private static List<String> columns(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT CONCAT(table_name, '.', column_name, ' ', data_type,"
+                + " ' ', is_nullable) FROM information_schema.columns WHERE table_schema = 'PUBLIC'"
+                + " AND table_name <> 'flyway_schema_history' ORDER BY table_name, column_name", String.class);
+    }
+
+    // H2 suffixes the indexes behind constraints with a per-database counter
+    private static List<String> indexes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForList("SELECT CONCAT(table_name, '.',"
+                + " REGEXP_REPLACE(index_name, '_INDEX_[0-9A-F]+$', '')) FROM"
+                + " information_schema.indexes WHERE table_schema = 'PUBLIC' AND index_name NOT LIKE 'PRIMARY%'"
+                + " AND table_name <> 'flyway_schema_history' ORDER BY table_name, index_name", String.class);
+    }
+}
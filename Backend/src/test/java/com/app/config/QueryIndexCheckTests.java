@@ -0,0 +1,19 @@
+package com.app.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class QueryIndexCheckTests {
+
+    @Autowired
+    private QueryIndexCheck queryIndexCheck;
+
+    @Test
+    void migrationsIndexEveryDerivedQuery() {
+        assertThat(queryIndexCheck.findUnindexedQueries()).isEmpty();
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.dao;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.Society;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+
+// Not @Transactional: the cache is only filled once a transaction commits
+@SpringBootTest
+class SecondLevelCacheTests {
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Society society;
+    private Building building;
+    private Flat flat;
+
+    @BeforeEach
+    void seed() {
+        society = societyRepository.save(Society.builder().name("Cached " + System.nanoTime())
+                .address("1 Main Rd").city("Pune").state("MH").pincode("411001")
+                .registrationNumber("REG-" + System.nanoTime()).build());
+        building = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(society).build());
+        flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0)
+                .building(building).build());
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void repeatedLoadsAreServedFromTheCache() {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.executeWithoutResult(status -> {
+            Flat loaded = flatRepository.findById(flat.getId()).orElseThrow();
+            loaded.getBuilding().getSociety().getName();
+        });
+
+        statistics.clear();
+        transaction.executeWithoutResult(status -> {
+            Flat loaded = flatRepository.findById(flat.getId()).orElseThrow();
+            assertThat(loaded.getBuilding().getSociety().getName()).isEqualTo(society.getName());
+            assertThat(societyRepository.existsById(society.getId())).isTrue();
+            assertThat(buildingRepository.existsById(building.getId())).isTrue();
+        });
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getSecondLevelCacheHitCount()).isPositive();
+    }
+
+    @Test
+    void naturalIdLookupsAreServedFromTheCache() {
+        assertThat(societyRepository.findByName(society.getName())).get()
+                .extracting(Society::getId).isEqualTo(society.getId());
+        assertThat(flatRepository.findByFlatNumberAndBuildingId("101", building.getId())).get()
+                .extracting(Flat::getId).isEqualTo(flat.getId());
+
+        statistics.clear();
+        assertThat(societyRepository.findByName(society.getName())).isPresent();
+        assertThat(buildingRepository.findByNameAndSocietyId("A", society.getId())).isPresent();
+        assertThat(flatRepository.findByFlatNumberAndBuildingId("101", building.getId())).isPresent();
+        assertThat(flatRepository.findByFlatNumberAndBuildingId("999", building.getId())).isEmpty();
+        // Only the unknown flat number reaches the database
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void reportsHitsPerRegion() {
+        flatRepository.findById(flat.getId());
+        flatRepository.findById(flat.getId());
+
+        assertThat(meterRegistry.get("cache.gets").tag("cache", "flat").tag("result", "hit")
+                .functionCounter().count()).isPositive();
+        assertThat(meterRegistry.find("cache.gets").tag("cache", "society-natural-id").functionCounters())
+                .isNotEmpty();
+    }
+}
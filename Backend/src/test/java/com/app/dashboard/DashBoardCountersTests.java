@@ -0,0 +1,195 @@
+package com.app.dashboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+
+import com.app.dao.BuildingDao;
+import com.app.dao.ComplaintDao;
+import com.app.dao.FlatDao;
+import com.app.dao.FlatMemberDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.SocietyDao;
+import com.app.dto.DashBoardStatsDTO;
+import com.app.model.Building;
+import com.app.model.Complaint;
+import com.app.model.ComplaintStatus;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Not @Transactional: counters only move once a change commits
+@SpringBootTest
+class DashBoardCountersTests {
+
+    @Autowired
+    private DashBoardCounters counters;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private FlatMemberDao flatMemberRepository;
+
+    @Autowired
+    private ComplaintDao complaintRepository;
+
+    @Autowired
+    private MaintenanceBillDao maintenanceBillRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private AbstractSubscribableChannel brokerChannel;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long societyId;
+    private Flat flat;
+
+    @BeforeEach
+    void seed() {
+        Society society = societyRepository.save(Society.builder().name("Counted " + System.nanoTime())
+                .address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+        societyId = society.getId();
+        Building building = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(society).build());
+        flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build());
+    }
+
+    @Test
+    void followsCommittedChangesWithoutRecounting() {
+        assertThat(counters.get(societyId)).isEqualTo(new DashBoardStatsDTO(0L, 1L, 1L, 0L, 0L, 0L, 0L, 0L));
+
+        FlatMember member = flatMemberRepository.save(FlatMember.builder().name("Asha").phone("9000000000")
+                .relationship("Self").isOwner(true).approved(true).flat(flat).build());
+        Complaint complaint = complaintRepository.save(Complaint.builder().title("Leak").description("Kitchen tap")
+                .flat(flat).createdBy(member).build());
+        MaintenanceBill bill = maintenanceBillRepository.save(MaintenanceBill.builder()
+                .billNumber("DC-" + System.nanoTime()).billDate(LocalDate.now().minusMonths(1))
+                .dueDate(LocalDate.now().minusDays(1)).amount(BigDecimal.valueOf(2500)).flat(flat).build());
+        flatRepository.save(Flat.builder().flatNumber("102").floorNumber(1).area(800.0)
+                .building(flat.getBuilding()).build());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            assertThat(counters.get(societyId)).isEqualTo(new DashBoardStatsDTO(1L, 2L, 1L, 1L, 0L, 0L, 1L, 0L));
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        complaint.setStatus(ComplaintStatus.RESOLVED);
+        complaintRepository.save(complaint);
+        bill.setPaid(true);
+        maintenanceBillRepository.save(bill);
+        member.setApproved(false);
+        flatMemberRepository.save(member);
+
+        assertThat(counters.get(societyId)).isEqualTo(new DashBoardStatsDTO(0L, 2L, 1L, 0L, 0L, 0L, 0L, 0L));
+    }
+
+    @Test
+    void flatWriteWithAnUnloadedBuildingIsCountedFromTheFlatsSocietyId() {
+        assertThat(counters.get(societyId).getTotalFlats()).isEqualTo(1L);
+
+        // Loaded afresh, the flat's building is a proxy the listener must not initialize mid-flush
+        flatRepository.deleteById(flat.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            // No recount of every society: the delta went straight to this one
+            assertThat(counters.get(societyId).getTotalFlats()).isZero();
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    @Test
+    void reconciliationCorrectsChangesMadeBehindTheListeners() {
+        counters.get(societyId);
+        jdbcTemplate.update("INSERT INTO buildings (id, name, total_floors, society_id) VALUES (?, 'B', 2, ?)",
+                flat.getBuilding().getId() + 1_000_000, societyId);
+        assertThat(counters.get(societyId).getTotalBuildings()).isEqualTo(1L);
+
+        assertThat(counters.reconcile()).isPositive();
+        assertThat(counters.get(societyId).getTotalBuildings()).isEqualTo(2L);
+    }
+
+    @Test
+    void pushesBurstsAsAFewDeltasFollowingTheSnapshot() throws Exception {
+        BlockingQueue<JsonNode> deltas = new LinkedBlockingQueue<>();
+        String topic = "/topic/admin/" + societyId;
+        MessageHandler subscriber = message -> {
+            if (topic.equals(SimpMessageHeaderAccessor.getDestination(message.getHeaders()))) {
+                try {
+                    deltas.add(objectMapper.readTree((byte[]) message.getPayload()).get("data"));
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        };
+        brokerChannel.subscribe(subscriber);
+        try {
+            DashBoardSnapshot snapshot = counters.snapshot(societyId);
+            FlatMember member = flatMemberRepository.save(FlatMember.builder().name("Ravi").phone("9000000001")
+                    .relationship("Self").isOwner(true).flat(flat).build());
+            for (int i = 0; i < 200; i++) {
+                complaintRepository.save(Complaint.builder().title("Lift " + i).description("Stuck")
+                        .flat(flat).createdBy(member).build());
+            }
+
+            List<JsonNode> received = new ArrayList<>();
+            long seq = snapshot.seq();
+            while (seq < snapshot.seq() + 200) {
+                JsonNode delta = deltas.poll(5, TimeUnit.SECONDS);
+                assertThat(delta).as("delta after seq %d", seq).isNotNull();
+                assertThat(delta.get("fromSeq").asLong()).isEqualTo(seq + 1);
+                seq = delta.get("seq").asLong();
+                received.add(delta);
+            }
+            assertThat(received).hasSizeLessThan(20);
+            assertThat(received.getLast().get("counts").get("pendingComplaints").asLong()).isEqualTo(200L);
+        } finally {
+            brokerChannel.unsubscribe(subscriber);
+        }
+    }
+}
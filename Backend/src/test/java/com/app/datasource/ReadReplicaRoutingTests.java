@@ -0,0 +1,127 @@
+package com.app.datasource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dao.SocietyDao;
+
+/**
+ * Primary is the usual test database; the replica is a second in-memory H2
+ * database with the same schema but its own rows, so the data a query sees
+ * shows where it was routed.
+ */
+@SpringBootTest(properties = {
+        "app.datasource.replica.urls=" + ReadReplicaRoutingTests.REPLICA_URL,
+        "app.datasource.replica.read-your-writes=1m"
+})
+class ReadReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica_routing;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final String COUNT_REPLICA_ROWS = "SELECT COUNT(*) FROM societies WHERE name = 'Replica only'";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @BeforeAll
+    static void createReplica() {
+        DataSource replica = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure().dataSource(replica).load().migrate();
+        new JdbcTemplate(replica).update("INSERT INTO societies (id, name, address, city, state, pincode,"
+                + " registration_number) VALUES (1, 'Replica only', '1 Main Rd', 'Pune', 'MH', '411001', 'REP1')");
+    }
+
+    @AfterEach
+    void clearUser() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplica() {
+        assertThat(readOnly(() -> jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class))).isEqualTo(1);
+        assertThat(readOnly(() -> societyRepository.findAll()))
+                .extracting(society -> society.getName()).contains("Replica only");
+
+        assertThat(readWrite(() -> jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class))).isZero();
+        assertThat(jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class)).isZero();
+    }
+
+    @Test
+    void usersWhoJustWroteReadFromThePrimary() {
+        signIn("reader@example.com");
+        assertThat(readOnly(() -> jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class))).isEqualTo(1);
+
+        signIn("writer@example.com");
+        readWrite(() -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        assertThat(readOnly(() -> jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class))).isZero();
+
+        signIn("reader@example.com");
+        assertThat(readOnly(() -> jdbcTemplate.queryForObject(COUNT_REPLICA_ROWS, Long.class))).isEqualTo(1);
+    }
+
+    @Test
+    void readsFailOverToThePrimaryAndSkipADeadReplica() throws SQLException {
+        AtomicInteger attempts = new AtomicInteger();
+        DataSource dead = new DriverManagerDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                attempts.incrementAndGet();
+                throw new SQLTransientConnectionException("replica down");
+            }
+        };
+        DataSource primary = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        ReplicaDataSource replicas = new ReplicaDataSource(primary, List.of(dead), new ReadYourWrites(Duration.ZERO),
+                Duration.ofMinutes(1));
+
+        try (Connection first = replicas.getConnection(); Connection second = replicas.getConnection()) {
+            assertThat(first).isNotNull();
+            assertThat(second).isNotNull();
+        }
+        assertThat(attempts).hasValue(1);
+        assertThat(replicas.failoverReads.sum()).isEqualTo(2);
+        assertThat(replicas.healthyReplicas()).isZero();
+    }
+
+    private <T> T readOnly(Supplier<T> work) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(true);
+        return transaction.execute(status -> work.get());
+    }
+
+    private <T> T readWrite(Supplier<T> work) {
+        return new TransactionTemplate(transactionManager).execute(status -> work.get());
+    }
+
+    private static void signIn(String email) {
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(email, null, List.of()));
+    }
+}
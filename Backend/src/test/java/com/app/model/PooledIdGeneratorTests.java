@@ -0,0 +1,61 @@
+package com.app.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+@Transactional
+class PooledIdGeneratorTests {
+
+    private static final int VISITORS = 120;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void insertsAreBatched() {
+        Flat flat = seedFlat();
+        User guard = User.builder().name("guard").email("guard" + System.nanoTime() + "@example.com")
+                .phone("9000000000").password("hash").role(UserRole.GUARD).enabled(true).build();
+        entityManager.persist(guard);
+        entityManager.flush();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            statistics.clear();
+            for (int i = 0; i < VISITORS; i++) {
+                entityManager.persist(Visitor.builder().name("Visitor " + i).phone("9111111111").purpose("Delivery")
+                        .visitingFlat(flat).loggedBy(guard).build());
+            }
+            entityManager.flush();
+            // One statement per batch of 50 instead of one INSERT per visitor
+            assertThat(statistics.getPrepareStatementCount()).isLessThan(VISITORS / 10);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
+    private Flat seedFlat() {
+        Society society = Society.builder().name("Batch " + System.nanoTime()).address("1 Main Rd").city("Pune")
+                .state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        Building building = Building.builder().name("A").totalFloors(3).society(society).build();
+        entityManager.persist(building);
+        Flat flat = Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build();
+        entityManager.persist(flat);
+        return flat;
+    }
+}
@@ -0,0 +1,113 @@
+package com.app.scheduling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// Not @Transactional: leases commit on their own. Each LeaseLock stands in for one node.
+@SpringBootTest
+class LeaseLockTests {
+
+    private static final Duration HOLD = Duration.ofMinutes(5);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void onlyOneNodeHoldsALeaseUntilItIsReleased() {
+        LeaseLock first = node("node-a");
+        LeaseLock second = node("node-b");
+
+        assertThat(first.tryAcquire("handover", HOLD)).isTrue();
+        assertThat(second.tryAcquire("handover", HOLD)).isFalse();
+        // Releasing someone else's lease is a no-op
+        second.release("handover", Duration.ZERO);
+        assertThat(second.tryAcquire("handover", HOLD)).isFalse();
+
+        first.release("handover", Duration.ZERO);
+        assertThat(second.tryAcquire("handover", HOLD)).isTrue();
+    }
+
+    @Test
+    void minimumHoldKeepsLateNodesOutOfTheSameTick() {
+        LeaseLock first = node("node-a");
+        LeaseLock second = node("node-b");
+
+        assertThat(first.tryAcquire("tick", HOLD)).isTrue();
+        first.release("tick", Duration.ofMinutes(1));
+
+        assertThat(second.tryAcquire("tick", HOLD)).isFalse();
+    }
+
+    @Test
+    void leaseOfACrashedNodeIsTakenOverOnceExpired() {
+        jdbcTemplate.update("INSERT INTO job_leases (name, owner, acquired_at, expires_at)"
+                + " VALUES ('takeover', 'crashed-node', TIMESTAMPADD(MINUTE, -20, CURRENT_TIMESTAMP(3)),"
+                + " TIMESTAMPADD(MINUTE, -10, CURRENT_TIMESTAMP(3)))");
+
+        assertThat(node("node-a").tryAcquire("takeover", HOLD)).isTrue();
+        assertThat(jdbcTemplate.queryForObject("SELECT owner FROM job_leases WHERE name = 'takeover'", String.class))
+                .isEqualTo("node-a");
+    }
+
+    @Test
+    void exactlyOneOfManyRacingNodesWins() throws Exception {
+        int nodes = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(nodes);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < nodes; i++) {
+                LeaseLock node = node("racer-" + i);
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return node.tryAcquire("race", HOLD);
+                }));
+            }
+            start.countDown();
+            int winners = 0;
+            for (Future<Boolean> result : results) {
+                winners += result.get() ? 1 : 0;
+            }
+            assertThat(winners).isEqualTo(1);
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(meterRegistry.get("scheduler.lease.acquire").tag("lease", "race").tag("result", "held")
+                .timer().count()).isEqualTo(nodes - 1);
+    }
+
+    @Test
+    void jobIsSkippedWhileAnotherNodeHoldsItsLease() {
+        node("node-b").tryAcquire("skipped-job", HOLD);
+        ScheduledJobRunner runner = new ScheduledJobRunner(meterRegistry, node("node-a"), HOLD, Duration.ZERO);
+
+        assertThat(runner.run("skipped-job", () -> {
+            throw new AssertionError("ran on a node without the lease");
+        })).isZero();
+    }
+
+    private LeaseLock node(String owner) {
+        return new LeaseLock(jdbcTemplate, transactionManager, meterRegistry, owner);
+    }
+}
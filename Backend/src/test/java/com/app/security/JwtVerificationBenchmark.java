@@ -0,0 +1,105 @@
+package com.app.security;
+
+import java.security.Key;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.Authentication;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+
+/**
+ * Compares the per-request cost of the old verification path (a fresh parser
+ * and a full HMAC check in {@code validateToken}, again in
+ * {@code getEmailFromToken}) with the single-parse pipeline, with and without
+ * the verified-token cache. The old path also did a {@code users} lookup,
+ * which is left out here, so its real cost is higher than shown.
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.app.security.JwtVerificationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtVerificationBenchmark {
+
+    private static final String SECRET = "md6v05hPmmV2OFHi3h93IWReDabxvrVDzu1u4iKts5k=";
+
+    private Key key;
+    private String token;
+    private JwtUtil uncached;
+    private JwtUtil cached;
+
+    @Setup
+    public void setUp() {
+        key = Keys.hmacShaKeyFor(SECRET.getBytes());
+        uncached = newJwtUtil(false);
+        cached = newJwtUtil(true);
+
+        Society society = Society.builder().id(7L).name("Green Acres").build();
+        User user = User.builder()
+                .id(42L)
+                .name("Resident")
+                .email("resident@example.com")
+                .role(UserRole.RESIDENT)
+                .society(society)
+                .build();
+        token = cached.generateToken(user);
+    }
+
+    @Benchmark
+    public String legacyValidateThenAuthenticate() {
+        Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
+        Claims claims = Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token).getBody();
+        return claims.get("email", String.class);
+    }
+
+    @Benchmark
+    public Authentication singleParseUncached() {
+        return uncached.getAuthentication(uncached.verify(token));
+    }
+
+    @Benchmark
+    public Authentication singleParseCached() {
+        return cached.getAuthentication(cached.verify(token));
+    }
+
+    private static JwtUtil newJwtUtil(boolean cacheEnabled) {
+        JwtUtil jwtUtil = new JwtUtil(null, new VerifiedTokenCache(cacheEnabled, 10_000));
+        ReflectionTestUtils.setField(jwtUtil, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationInMs", 1_800_000L);
+        ReflectionTestUtils.setField(jwtUtil, "jwtHeader", "Authorization");
+        ReflectionTestUtils.setField(jwtUtil, "jwtPrefix", "Bearer ");
+        ReflectionTestUtils.setField(jwtUtil, "statelessPrincipal", true);
+        jwtUtil.init();
+        return jwtUtil;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(JwtVerificationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,71 @@
+package com.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.app.Exception.ServiceOverloadedException;
+
+class OffloadingPasswordEncoderTests {
+
+    @Test
+    void delegatesHashAndVerify() {
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new PlainEncoder(null), 1, 4,
+                Duration.ofSeconds(2));
+
+        assertThat(encoder.encode("secret")).isEqualTo("{plain}secret");
+        assertThat(encoder.matches("secret", "{plain}secret")).isTrue();
+        encoder.destroy();
+    }
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        OffloadingPasswordEncoder encoder = new OffloadingPasswordEncoder(new PlainEncoder(release), 1, 1,
+                Duration.ofSeconds(3));
+
+        // One hash running, one queued: the pool is saturated
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (encoder.queueDepth() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+
+        assertThatThrownBy(() -> encoder.encode("c"))
+                .isInstanceOf(ServiceOverloadedException.class)
+                .satisfies(ex -> assertThat(((ServiceOverloadedException) ex).getRetryAfterSeconds()).isEqualTo(3));
+
+        release.countDown();
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("{plain}a");
+        assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("{plain}b");
+        encoder.destroy();
+    }
+
+    private record PlainEncoder(CountDownLatch gate) implements PasswordEncoder {
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            if (gate != null) {
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "{plain}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.app.security;
+
+import static org.mockito.Mockito.mock;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.app.dao.RevokedTokenDao;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+/**
+ * Per-request cost of the revocation check with 100k live revocations, for a
+ * token that is not revoked (the filter answers) and for one that is (the
+ * exact map answers).
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.app.security.TokenRevocationBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationBenchmark {
+
+    private static final int REVOKED = 100_000;
+
+    private TokenRevocationService service;
+    private String liveJti;
+    private String revokedJti;
+
+    @Setup
+    public void setUp() {
+        service = new TokenRevocationService(mock(RevokedTokenDao.class), new VerifiedTokenCache(false, 1),
+                REVOKED, 0.01, Duration.ofMinutes(1));
+        Date expiry = new Date(System.currentTimeMillis() + 3_600_000L);
+        for (int i = 0; i < REVOKED; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            Claims claims = Jwts.claims().setId(revokedJti).setExpiration(expiry);
+            service.revoke(null, claims);
+        }
+        liveJti = UUID.randomUUID().toString();
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return service.isRevoked(liveJti);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return service.isRevoked(revokedJti);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TokenRevocationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
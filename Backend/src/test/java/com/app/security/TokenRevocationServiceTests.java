@@ -0,0 +1,51 @@
+package com.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Date;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.dao.RevokedTokenDao;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+
+@SpringBootTest
+class TokenRevocationServiceTests {
+
+    @Autowired
+    private TokenRevocationService revocationService;
+
+    @Autowired
+    private RevokedTokenDao revokedTokenRepository;
+
+    @Test
+    void revokedTokenIsRejectedAndPersisted() {
+        String jti = UUID.randomUUID().toString();
+        Claims claims = Jwts.claims().setId(jti).setExpiration(new Date(System.currentTimeMillis() + 60_000));
+        claims.put("id", 5L);
+
+        assertThat(revocationService.isRevoked(jti)).isFalse();
+        revocationService.revoke(null, claims);
+
+        assertThat(revocationService.isRevoked(jti)).isTrue();
+        assertThat(revocationService.isRevoked(UUID.randomUUID().toString())).isFalse();
+        assertThat(revokedTokenRepository.findById(jti)).get()
+                .satisfies(row -> assertThat(row.getUserId()).isEqualTo(5L));
+    }
+
+    @Test
+    void expiredTokensAreNotRecorded() {
+        String jti = UUID.randomUUID().toString();
+        Claims claims = Jwts.claims().setId(jti).setExpiration(new Date(System.currentTimeMillis() - 1_000));
+
+        revocationService.revoke(null, claims);
+
+        assertThat(revocationService.isRevoked(jti)).isFalse();
+        assertThat(revokedTokenRepository.existsById(jti)).isFalse();
+    }
+}
@@ -0,0 +1,86 @@
+package com.app.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.dao.UserDao;
+import com.app.model.User;
+import com.app.model.UserRole;
+
+@SpringBootTest
+class UserDetailsCacheTests {
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private UserDetailsCache userDetailsCache;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.deleteAll();
+        userDetailsCache.clear();
+    }
+
+    @Test
+    void secondLookupIsServedFromCache() {
+        User saved = userRepository.save(newUser("cached@example.com"));
+
+        userDetailsService.loadUserByUsername("cached@example.com");
+        long missesAfterFirst = userDetailsCache.emailStats().missCount();
+        User again = (User) userDetailsService.loadUserByUsername("cached@example.com");
+
+        assertThat(again.getId()).isEqualTo(saved.getId());
+        assertThat(userDetailsCache.emailStats().missCount()).isEqualTo(missesAfterFirst);
+        assertThat(userDetailsCache.emailStats().hitCount()).isPositive();
+    }
+
+    @Test
+    void updatingUserEvictsCachedEntry() {
+        User saved = userRepository.save(newUser("evict@example.com"));
+        userDetailsService.loadUserByUsername("evict@example.com");
+
+        saved.setEnabled(false);
+        saved.setRole(UserRole.GUARD);
+        userRepository.save(saved);
+
+        User reloaded = (User) userDetailsService.loadUserByUsername("evict@example.com");
+        assertThat(reloaded.isEnabled()).isFalse();
+        assertThat(reloaded.getRole()).isEqualTo(UserRole.GUARD);
+    }
+
+    @Test
+    void evictingAfterAnEmailChangeDropsTheEntryUnderTheOldEmail() {
+        UserDetailsCache cache = new UserDetailsCache(true, 100, Duration.ofMinutes(10));
+        User user = newUser("old@example.com");
+        user.setId(42L);
+        cache.getByEmail("old@example.com", email -> Optional.of(user));
+
+        // The change event carries the new email only
+        cache.evict(42L, "new@example.com");
+
+        assertThat(cache.getByEmail("old@example.com", email -> Optional.empty())).isEmpty();
+        assertThat(cache.getById(42L, id -> Optional.empty())).isEmpty();
+    }
+
+    private static User newUser(String email) {
+        return User.builder()
+                .name("Test User")
+                .email(email)
+                .phone("9999999999")
+                .password("hash")
+                .role(UserRole.RESIDENT)
+                .enabled(true)
+                .build();
+    }
+}
@@ -0,0 +1,85 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Not @Transactional: reservations commit on their own
+@SpringBootTest
+class BillNumberAllocatorTests {
+
+    private static final LocalDate BILL_DATE = LocalDate.of(2026, 6, 1);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void numbersRestartEachFinancialYear() {
+        BillNumberAllocator allocator = node(5);
+        long societyId = 9_100;
+
+        assertThat(allocator.next(societyId, LocalDate.of(2026, 3, 31))).isEqualTo("SOC9100-2025-000001");
+        assertThat(allocator.next(societyId, LocalDate.of(2026, 4, 1))).isEqualTo("SOC9100-2026-000001");
+        assertThat(allocator.next(societyId, LocalDate.of(2027, 3, 31))).isEqualTo("SOC9100-2026-000002");
+        assertThat(allocator.nextBlock(societyId, BILL_DATE, 3))
+                .containsExactly("SOC9100-2026-000006", "SOC9100-2026-000007", "SOC9100-2026-000008");
+    }
+
+    @Test
+    void nodesSharingTheTableNeverHandOutTheSameNumber() throws Exception {
+        // Two allocators stand in for two app nodes: separate in-memory blocks, one table
+        List<BillNumberAllocator> nodes = List.of(node(7), node(7));
+        long societyId = 9_200;
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<String>>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                BillNumberAllocator allocator = nodes.get(t % 2);
+                boolean bulk = t % 4 == 3;
+                results.add(pool.submit(() -> {
+                    List<String> numbers = new ArrayList<>();
+                    for (int i = 0; i < 50; i++) {
+                        if (bulk) {
+                            numbers.addAll(allocator.nextBlock(societyId, BILL_DATE, 3));
+                        } else {
+                            numbers.add(allocator.next(societyId, BILL_DATE));
+                        }
+                    }
+                    return numbers;
+                }));
+            }
+            for (Future<List<String>> result : results) {
+                List<String> numbers = result.get();
+                // Each caller sees its own numbers increase
+                assertThat(numbers).isSorted();
+                for (String number : numbers) {
+                    assertThat(seen.add(number)).as(number).isTrue();
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(seen).hasSize(6 * 50 + 2 * 50 * 3);
+    }
+
+    private BillNumberAllocator node(int blockSize) {
+        return new BillNumberAllocator(jdbcTemplate, transactionManager, blockSize);
+    }
+}
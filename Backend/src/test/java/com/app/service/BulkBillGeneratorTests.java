@@ -0,0 +1,131 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.dao.BuildingDao;
+import com.app.dao.FlatDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.SocietyDao;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+
+// Not @Transactional: the generator commits each chunk in its own transaction
+@SpringBootTest
+class BulkBillGeneratorTests {
+
+    private static final int FLATS = 7;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private BillNumberAllocator billNumberAllocator;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private MaintenanceBillDao maintenanceBillRepository;
+
+    private BulkBillGenerator generator;
+    private Long societyId;
+    private Flat firstFlat;
+
+    @BeforeEach
+    void seed() {
+        // Chunks of 3 so a 7-flat society crosses two chunk boundaries
+        generator = new BulkBillGenerator(jdbcTemplate, transactionManager, billNumberAllocator, 3);
+        Society society = societyRepository.save(Society.builder()
+                .name("Bulk " + System.nanoTime()).address("1 Main Rd").city("Pune").state("MH").pincode("411001")
+                .build());
+        societyId = society.getId();
+        Building building = buildingRepository.save(Building.builder().name("A").totalFloors(4).society(society).build());
+        for (int i = 0; i < FLATS; i++) {
+            Flat flat = flatRepository.save(Flat.builder().flatNumber("B" + i).floorNumber(i).area(500.0 + i * 100.5)
+                    .building(building).build());
+            if (firstFlat == null) {
+                firstFlat = flat;
+            }
+        }
+    }
+
+    @Test
+    void billsEveryFlatOnceAcrossChunks() {
+        LocalDate billDate = LocalDate.of(2026, 4, 1);
+        List<MaintenanceBillDTO> bills = generator.generate(societyId, billDate, billDate.plusDays(15), "April");
+
+        assertThat(bills).hasSize(FLATS);
+        assertThat(bills).extracting(MaintenanceBillDTO::getId).doesNotContainNull().doesNotHaveDuplicates();
+        // Financial year 2026-27, numbered in flat order across chunks
+        assertThat(bills).extracting(MaintenanceBillDTO::getBillNumber).containsExactly(
+                "SOC" + societyId + "-2026-000001", "SOC" + societyId + "-2026-000002",
+                "SOC" + societyId + "-2026-000003", "SOC" + societyId + "-2026-000004",
+                "SOC" + societyId + "-2026-000005", "SOC" + societyId + "-2026-000006",
+                "SOC" + societyId + "-2026-000007");
+
+        List<MaintenanceBill> stored = maintenanceBillRepository.findBySocietyId(societyId);
+        assertThat(stored).hasSize(FLATS);
+        for (MaintenanceBillDTO bill : bills) {
+            MaintenanceBill row = maintenanceBillRepository.findById(bill.getId()).orElseThrow();
+            assertThat(row.getBillNumber()).isEqualTo(bill.getBillNumber());
+            assertThat(row.getFlat().getId()).isEqualTo(bill.getFlatId());
+            assertThat(row.getSocietyId()).isEqualTo(societyId);
+            assertThat(row.isPaid()).isFalse();
+            assertThat(row.getDescription()).isEqualTo("April");
+            // Same amount the per-entity path stored: area * rate, rounded to the column's scale
+            double area = flatRepository.findById(bill.getFlatId()).orElseThrow().getArea();
+            assertThat(row.getAmount()).isEqualByComparingTo(
+                    BigDecimal.valueOf(area * BulkBillGenerator.RATE_PER_SQ_FT).setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Test
+    void repeatingARunSkipsFlatsAlreadyBilled() {
+        LocalDate billDate = LocalDate.of(2026, 5, 1);
+        generator.generate(societyId, billDate, billDate.plusDays(15), "May");
+
+        assertThat(generator.generate(societyId, billDate, billDate.plusDays(15), "May")).isEmpty();
+        assertThat(generator.generate(societyId, billDate.plusMonths(1), billDate.plusMonths(1).plusDays(15), "June"))
+                .hasSize(FLATS);
+    }
+
+    @Test
+    void sharesTheIdSpaceWithSavedBills() {
+        LocalDate billDate = LocalDate.of(2026, 6, 1);
+        MaintenanceBill saved = maintenanceBillRepository.save(MaintenanceBill.builder().billNumber("SAVED-" + societyId)
+                .billDate(billDate).dueDate(billDate).amount(BigDecimal.TEN)
+                .flat(firstFlat).build());
+        List<MaintenanceBillDTO> bills = generator.generate(societyId, billDate, billDate.plusDays(15), "June");
+        MaintenanceBill savedAfter = maintenanceBillRepository.save(MaintenanceBill.builder().billNumber("AFTER-" + societyId)
+                .billDate(billDate).dueDate(billDate).amount(BigDecimal.TEN)
+                .flat(firstFlat).build());
+
+        // Ids reserved by the JDBC path never overlap the entity generator's blocks
+        assertThat(bills).extracting(MaintenanceBillDTO::getId)
+                .doesNotContain(saved.getId(), savedAfter.getId());
+    }
+}
@@ -0,0 +1,145 @@
+package com.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.HousingManagementSystemApplication;
+import com.app.dao.FlatDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.SocietyDao;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.model.Flat;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+
+/**
+ * One bulk billing run for a society of 100, 1k and 10k flats: the old
+ * per-flat {@code save()} loop in a single transaction against the chunked
+ * JDBC batches of {@link BulkBillGenerator}. Bills are cleared before every
+ * run, so each one inserts a full set into the same table size. Throughput
+ * is flats / score.
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.app.service.BulkBillingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class BulkBillingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int flats;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private FlatDao flatRepository;
+    private MaintenanceBillDao maintenanceBillRepository;
+    private BulkBillGenerator generator;
+    private JdbcTemplate jdbcTemplate;
+    private Long societyId;
+    private LocalDate billDate = LocalDate.of(2000, 1, 1);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HousingManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:billing_benchmark_" + flats
+                        + ";MODE=MySQL;DB_CLOSE_DELAY=-1", "logging.level.root=WARN")
+                .run();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        flatRepository = context.getBean(FlatDao.class);
+        maintenanceBillRepository = context.getBean(MaintenanceBillDao.class);
+        generator = context.getBean(BulkBillGenerator.class);
+
+        Society society = context.getBean(SocietyDao.class).save(Society.builder()
+                .name("Benchmark").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+        societyId = society.getId();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        jdbcTemplate.update("INSERT INTO buildings (name, total_floors, society_id) VALUES ('A', 40, ?)", societyId);
+        Long buildingId = jdbcTemplate.queryForObject("SELECT MAX(id) FROM buildings", Long.class);
+        List<Object[]> rows = new ArrayList<>();
+        for (int i = 0; i < flats; i++) {
+            rows.add(new Object[] { "F" + i, i / 25, 600.0 + i % 900, buildingId, societyId });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO flats (flat_number, floor_number, area, building_id, society_id,"
+                + " occupied_status) VALUES (?, ?, ?, ?, ?, 'VACANT')", rows);
+    }
+
+    // Same table size for every run; also keeps the old 8-hex bill numbers from colliding
+    @Setup(Level.Iteration)
+    public void clearBills() {
+        jdbcTemplate.update("DELETE FROM maintenance_bills");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<MaintenanceBill> perFlatSave() {
+        LocalDate date = nextBillDate();
+        return transaction.execute(status -> {
+            List<MaintenanceBill> saved = new ArrayList<>();
+            for (Flat flat : flatRepository.findBySocietyId(societyId)) {
+                saved.add(maintenanceBillRepository.save(MaintenanceBill.builder()
+                        .billNumber("BILL-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase())
+                        .billDate(date)
+                        .dueDate(date.plusDays(15))
+                        .amount(BigDecimal.valueOf(flat.getArea() * BulkBillGenerator.RATE_PER_SQ_FT))
+                        .paid(false)
+                        .flat(flat)
+                        .description("Benchmark")
+                        .build()));
+            }
+            return saved;
+        });
+    }
+
+    @Benchmark
+    public List<MaintenanceBillDTO> chunkedBatches() {
+        LocalDate date = nextBillDate();
+        return generator.generate(societyId, date, date.plusDays(15), "Benchmark");
+    }
+
+    private LocalDate nextBillDate() {
+        billDate = billDate.plusDays(1);
+        return billDate;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(BulkBillingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
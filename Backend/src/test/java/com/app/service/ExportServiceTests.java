@@ -0,0 +1,155 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.Exception.BadRequestException;
+import com.app.dao.BuildingDao;
+import com.app.dao.FlatDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.SocietyDao;
+import com.app.dao.UserDao;
+import com.app.dao.VisitorDao;
+import com.app.export.ExportFormat;
+import com.app.export.ExportRange;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+@SpringBootTest
+@Transactional
+class ExportServiceTests {
+
+    @Autowired
+    private ExportService exportService;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private MaintenanceBillDao maintenanceBillRepository;
+
+    @Autowired
+    private VisitorDao visitorRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Long societyId;
+    private Flat flat;
+    private User guard;
+
+    @BeforeEach
+    void seed() {
+        Society society = societyRepository.save(Society.builder().name("Export " + System.nanoTime())
+                .address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+        societyId = society.getId();
+        Building building = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(society).build());
+        flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build());
+        guard = userRepository.save(User.builder().name("guard").email("guard" + System.nanoTime() + "@example.com")
+                .phone("9000000000").password("hash").role(UserRole.GUARD).society(society).enabled(true).build());
+    }
+
+    @Test
+    void writesBillsAsCsvWithinTheRange() throws Exception {
+        bill("EX-1", LocalDate.of(2024, 1, 1), false, "January");
+        bill("EX-2", LocalDate.of(2024, 2, 1), true, "Lift, \"annual\" service");
+        bill("EX-3", LocalDate.of(2024, 3, 1), false, "=1+1");
+        bill("EX-4", LocalDate.of(2024, 4, 1), false, "April");
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportMaintenanceBills(societyId,
+                new ExportRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 3, 1)), null, ExportFormat.CSV, out);
+
+        List<String> lines = out.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(count).isEqualTo(2);
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0)).startsWith("id,bill_number,flat_id,flat_number,bill_date,");
+        assertThat(lines.get(1)).contains(",EX-2,", ",101,2024-02-01,", ",\"Lift, \"\"annual\"\" service\",true,");
+        assertThat(lines.get(2)).contains(",EX-3,", ",'=1+1,false,");
+
+        out.reset();
+        assertThat(exportService.exportMaintenanceBills(societyId, new ExportRange(null, null), true,
+                ExportFormat.CSV, out)).isEqualTo(1);
+    }
+
+    @Test
+    void writesVisitorsAsNdjsonIncludingArchivedOnes() throws Exception {
+        LocalDateTime entry = LocalDateTime.now().minusHours(1);
+        // Flushed so the archive query, plain JDBC, can join the flat and guard
+        Long live = visitorRepository.saveAndFlush(Visitor.builder().name("Courier").phone("9111111111")
+                .purpose("Delivery").visitingFlat(flat).loggedBy(guard).build()).getId();
+        jdbcTemplate.update("INSERT INTO visitors_archive (approved, entry_time, exit_time, flat_id, id, logged_by,"
+                + " society_id, name, phone, purpose, archived_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                true, entry.minusYears(1), entry.minusYears(1).plusMinutes(20), flat.getId(), live + 1000,
+                guard.getId(), societyId, "Plumber", "9222222222", "Repair", entry);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long count = exportService.exportVisitorLogs(societyId, new ExportRange(null, null), null,
+                ExportFormat.NDJSON, out);
+
+        List<JsonNode> rows = out.toString(StandardCharsets.UTF_8).lines()
+                .map(line -> {
+                    try {
+                        return objectMapper.readTree(line);
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                })
+                .toList();
+        assertThat(count).isEqualTo(2);
+        // Archived visits first, with the flat and guard joined back in
+        assertThat(rows.get(0).get("name").asText()).isEqualTo("Plumber");
+        assertThat(rows.get(0).get("flatNumber").asText()).isEqualTo("101");
+        assertThat(rows.get(0).get("loggedByName").asText()).isEqualTo("guard");
+        assertThat(rows.get(1).get("id").asLong()).isEqualTo(live);
+
+        out.reset();
+        assertThat(exportService.exportVisitorLogs(societyId, new ExportRange(null, null), false,
+                ExportFormat.NDJSON, out)).isEqualTo(1);
+    }
+
+    @Test
+    void rejectsAnInvertedRange() {
+        assertThatThrownBy(() -> new ExportRange(LocalDate.of(2024, 2, 1), LocalDate.of(2024, 1, 1)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private void bill(String number, LocalDate billDate, boolean paid, String description) {
+        maintenanceBillRepository.save(MaintenanceBill.builder().billNumber(number).billDate(billDate)
+                .dueDate(billDate.plusDays(15)).amount(BigDecimal.valueOf(2500)).paid(paid)
+                .description(description).flat(flat).build());
+    }
+}
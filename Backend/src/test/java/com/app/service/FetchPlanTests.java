@@ -0,0 +1,151 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dto.FlatDTO;
+import com.app.model.Building;
+import com.app.model.Complaint;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.MaintenanceBill;
+import com.app.model.Notice;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Each society list endpoint must run a fixed number of statements no
+ * matter how many rows it maps.
+ */
+@SpringBootTest
+@Transactional
+class FetchPlanTests {
+
+    private static final int FLATS = 6;
+
+    @Autowired
+    private FlatService flatService;
+
+    @Autowired
+    private ComplaintServiceImpl complaintService;
+
+    @Autowired
+    private VisitorServiceImpl visitorService;
+
+    @Autowired
+    private MaintenanceBillService maintenanceBillService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Long societyId;
+
+    @BeforeEach
+    void seed() {
+        Society society = Society.builder()
+                .name("Fetch Plan").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        societyId = society.getId();
+        Building building = Building.builder().name("A").totalFloors(3).society(society).build();
+        entityManager.persist(building);
+        User guard = user(society, UserRole.GUARD, "guard");
+        entityManager.persist(Notice.builder().title("Water cut").content("Tuesday 10-12")
+                .society(society).createdBy(guard).build());
+
+        for (int i = 0; i < FLATS; i++) {
+            Flat flat = Flat.builder().flatNumber("10" + i).floorNumber(1).area(800.0).building(building).build();
+            entityManager.persist(flat);
+            User owner = user(society, UserRole.RESIDENT, "owner" + i);
+            FlatMember member = FlatMember.builder().name(owner.getName()).phone("9000000000")
+                    .relationship("Self").isOwner(true).approved(true).flat(flat).user(owner).build();
+            entityManager.persist(member);
+            entityManager.persist(Complaint.builder().title("Leak").description("Kitchen tap")
+                    .flat(flat).createdBy(member).build());
+            entityManager.persist(Visitor.builder().name("Courier").phone("9111111111").purpose("Delivery")
+                    .visitingFlat(flat).loggedBy(guard).build());
+            entityManager.persist(MaintenanceBill.builder().billNumber("FP-" + i).billDate(LocalDate.now())
+                    .dueDate(LocalDate.now().plusDays(10)).amount(BigDecimal.TEN).flat(flat).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void flatsBySocietyLoadInOneStatement() {
+        List<FlatDTO> flats = statements(() -> flatService.getFlatsBySocietyId(societyId), 1);
+
+        assertThat(flats).hasSize(FLATS);
+        assertThat(flats).allSatisfy(flat -> {
+            assertThat(flat.getSocietyName()).isEqualTo("Fetch Plan");
+            assertThat(flat.getOwnerEmail()).isNotNull();
+        });
+    }
+
+    @Test
+    void societyListsLoadInOneStatement() {
+        assertThat(statements(() -> complaintService.getComplaintsBySocietyId(societyId), 1))
+                .hasSize(FLATS)
+                .allSatisfy(complaint -> assertThat(complaint.getFlatNumber()).isNotNull());
+        assertThat(statements(() -> visitorService.getVisitorLogsBySocietyId(societyId), 1))
+                .hasSize(FLATS)
+                .allSatisfy(visitor -> assertThat(visitor.getLoggedByName()).isEqualTo("guard"));
+        assertThat(statements(() -> maintenanceBillService.getMaintenanceBillsBySocietyId(societyId), 1))
+                .hasSize(FLATS)
+                .allSatisfy(bill -> assertThat(bill.getFlatNumber()).isNotNull());
+        assertThat(statements(() -> noticeService.getNoticesBySocietyId(societyId), 1))
+                .singleElement()
+                .satisfies(notice -> {
+                    assertThat(notice.getSocietyName()).isEqualTo("Fetch Plan");
+                    assertThat(notice.getCreatedByName()).isEqualTo("guard");
+                    assertThat(notice.isActive()).isTrue();
+                });
+    }
+
+    private <T> T statements(Supplier<T> call, long expected) {
+        entityManager.clear();
+        statistics.clear();
+        T result = call.get();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(expected);
+        return result;
+    }
+
+    private User user(Society society, UserRole role, String name) {
+        User user = User.builder().name(name).email(name + System.nanoTime() + "@example.com").phone("9000000000")
+                .password("hash").role(role).society(society).enabled(true).build();
+        entityManager.persist(user);
+        return user;
+    }
+}
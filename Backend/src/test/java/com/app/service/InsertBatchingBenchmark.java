@@ -0,0 +1,182 @@
+package com.app.service;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.sql.DataSource;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.HousingManagementSystemApplication;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * 1,000 visitors and 1,000 bills persisted through Hibernate in one
+ * transaction each. With IDENTITY ids every persist is its own INSERT; with
+ * pooled ids they go out in JDBC batches of
+ * {@code hibernate.jdbc.batch_size}.
+ *
+ * <p>In-memory H2 has no network, and its driver runs a batch one statement
+ * at a time anyway, so every execute, batch and commit is charged a fixed
+ * {@code roundTripMicros} to stand in for the hop to MySQL (which, with
+ * rewriteBatchedStatements, sends a batch as one statement). Rows per
+ * second = 1,000 / score.
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.app.service.InsertBatchingBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10)
+@Measurement(iterations = 20)
+@Fork(1)
+public class InsertBatchingBenchmark {
+
+    private static final int ROWS = 1_000;
+
+    @Param({ "0", "250" })
+    public long roundTripMicros;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transaction;
+    private EntityManager entityManager;
+    private JdbcTemplate jdbcTemplate;
+    private Long flatId;
+    private Long guardId;
+    private long billSequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HousingManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        return bean instanceof DataSource dataSource ? withLatency(dataSource) : bean;
+                    }
+                }))
+                .properties("spring.datasource.url=jdbc:h2:mem:insert_benchmark_" + roundTripMicros
+                        + ";MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "spring.jpa.show-sql=false", "logging.level.root=WARN")
+                .run();
+        transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        entityManager = context.getBean(EntityManager.class);
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transaction.executeWithoutResult(status -> {
+            Society society = Society.builder()
+                    .name("Benchmark").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+            entityManager.persist(society);
+            Building building = Building.builder().name("A").totalFloors(20).society(society).build();
+            entityManager.persist(building);
+            Flat flat = Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build();
+            entityManager.persist(flat);
+            User guard = User.builder().name("Guard").email("guard@benchmark.test").phone("9000000000")
+                    .password("hash").role(UserRole.GUARD).society(society).enabled(true).build();
+            entityManager.persist(guard);
+            flatId = flat.getId();
+            guardId = guard.getId();
+        });
+    }
+
+    // Same table size for every run
+    @Setup(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM visitors");
+        jdbcTemplate.update("DELETE FROM maintenance_bills");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void visitors() {
+        transaction.executeWithoutResult(status -> {
+            Flat flat = entityManager.getReference(Flat.class, flatId);
+            User guard = entityManager.getReference(User.class, guardId);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(Visitor.builder().name("Visitor " + i).phone("9111111111")
+                        .purpose("Delivery").visitingFlat(flat).loggedBy(guard).build());
+            }
+        });
+    }
+
+    @Benchmark
+    public void bills() {
+        transaction.executeWithoutResult(status -> {
+            Flat flat = entityManager.find(Flat.class, flatId);
+            for (int i = 0; i < ROWS; i++) {
+                entityManager.persist(MaintenanceBill.builder().billNumber("BENCH-" + billSequence++)
+                        .billDate(LocalDate.now()).dueDate(LocalDate.now().plusDays(15))
+                        .amount(BigDecimal.valueOf(2500)).flat(flat).build());
+            }
+        });
+    }
+
+    private DataSource withLatency(DataSource target) {
+        return proxy(DataSource.class, target);
+    }
+
+    // Connections and statements are wrapped too; each call that would reach the server waits one round trip
+    private <T> T proxy(Class<T> type, Object target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (p, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute") || name.equals("commit") || name.equals("rollback")) {
+                LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(roundTripMicros));
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+            Class<?> returnType = method.getReturnType();
+            boolean wrap = returnType == Connection.class || Statement.class.isAssignableFrom(returnType);
+            return wrap && result != null ? proxy(returnType, result) : result;
+        }));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(InsertBatchingBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,111 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.Exception.BadRequestException;
+import com.app.dao.BuildingDao;
+import com.app.dao.FlatDao;
+import com.app.dao.SocietyDao;
+import com.app.dao.UserDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.CursorPageDTO;
+import com.app.dto.VisitorDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.PageSort;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class KeysetPaginationTests {
+
+    @Autowired
+    private VisitorService visitorService;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private VisitorDao visitorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void pagesThroughEveryRowExactlyOnce() {
+        Long societyId = seedVisitors(7);
+
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CursorPageDTO<VisitorDTO> page = visitorService.getVisitorLogsBySocietyId(societyId,
+                    new CursorPageRequest(cursor, 3, PageSort.NEWEST, false));
+            page.getItems().forEach(v -> seen.add(v.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(7).doesNotHaveDuplicates();
+        assertThat(seen).isSortedAccordingTo((a, b) -> Long.compare(b, a));
+    }
+
+    @Test
+    void rejectsCursorIssuedForAnotherSort() {
+        Long societyId = seedVisitors(3);
+        String cursor = visitorService.getVisitorLogsBySocietyId(societyId,
+                new CursorPageRequest(null, 1, PageSort.NEWEST, false)).getNextCursor();
+
+        assertThatThrownBy(() -> visitorService.getVisitorLogsBySocietyId(societyId,
+                new CursorPageRequest(cursor, 1, PageSort.OLDEST, false)))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private Long seedVisitors(int count) {
+        Society society = societyRepository.save(Society.builder()
+                .name("Green Acres").address("1 Main Rd").city("Pune").state("MH").pincode("411001")
+                .build());
+        Building building = buildingRepository.save(Building.builder()
+                .name("A").totalFloors(4).society(society).build());
+        Flat flat = flatRepository.save(Flat.builder()
+                .flatNumber("A-101").floorNumber(1).area(900.0).building(building).build());
+        User guard = userRepository.save(User.builder()
+                .name("Guard").email("guard" + System.nanoTime() + "@example.com").phone("9000000000")
+                .password("hash").role(UserRole.GUARD).society(society).enabled(true).build());
+        for (int i = 0; i < count; i++) {
+            visitorRepository.save(Visitor.builder()
+                    .name("Visitor " + i).phone("9111111111").purpose("Delivery")
+                    .visitingFlat(flat).loggedBy(guard)
+                    .build());
+        }
+        // Read pages back from the database, as a real request would
+        entityManager.flush();
+        entityManager.clear();
+        return society.getId();
+    }
+}
@@ -0,0 +1,157 @@
+package com.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.HousingManagementSystemApplication;
+import com.app.Mapper.MaintenanceBillMapper;
+import com.app.Mapper.VisitorMapper;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.dto.VisitorDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Unpaged society list with 10k rows, loaded as managed entities (with the
+ * listing entity graph) and mapped by MapStruct, versus projected straight
+ * into the DTO by a constructor expression. Both run in a read-only
+ * transaction, as the services do. The GC profiler reports bytes allocated
+ * per call ({@code gc.alloc.rate.norm}).
+ *
+ * <p>Run with:
+ * {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.app.service.ListProjectionBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ListProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int FLATS = 200;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnly;
+    private VisitorDao visitorRepository;
+    private MaintenanceBillDao maintenanceBillRepository;
+    private VisitorMapper visitorMapper;
+    private MaintenanceBillMapper maintenanceBillMapper;
+    private Long societyId;
+    // Everything seeded is inside the visitor lists' window
+    private final LocalDateTime since = LocalDateTime.now().minusYears(1);
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(HousingManagementSystemApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.datasource.url=jdbc:h2:mem:projection_benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        PlatformTransactionManager transactionManager = context.getBean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        visitorRepository = context.getBean(VisitorDao.class);
+        maintenanceBillRepository = context.getBean(MaintenanceBillDao.class);
+        visitorMapper = context.getBean(VisitorMapper.class);
+        maintenanceBillMapper = context.getBean(MaintenanceBillMapper.class);
+        societyId = new TransactionTemplate(transactionManager).execute(status -> seed(context.getBean(EntityManager.class)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<VisitorDTO> visitorsAsEntities() {
+        return readOnly.execute(status -> visitorMapper.toDtoList(visitorRepository.findBySocietyId(societyId, since)));
+    }
+
+    @Benchmark
+    public List<VisitorDTO> visitorsAsProjection() {
+        return readOnly.execute(status -> visitorRepository.findDtosBySocietyId(societyId, since));
+    }
+
+    @Benchmark
+    public List<MaintenanceBillDTO> billsAsEntities() {
+        return readOnly.execute(status ->
+                maintenanceBillMapper.toDtoList(maintenanceBillRepository.findBySocietyId(societyId)));
+    }
+
+    @Benchmark
+    public List<MaintenanceBillDTO> billsAsProjection() {
+        return readOnly.execute(status -> maintenanceBillRepository.findDtosBySocietyId(societyId));
+    }
+
+    private static Long seed(EntityManager entityManager) {
+        Society society = Society.builder()
+                .name("Benchmark").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        Building building = Building.builder().name("A").totalFloors(20).society(society).build();
+        entityManager.persist(building);
+        User guard = User.builder().name("Guard").email("guard@benchmark.test").phone("9000000000")
+                .password("hash").role(UserRole.GUARD).society(society).enabled(true).build();
+        entityManager.persist(guard);
+
+        List<Flat> flats = new ArrayList<>();
+        for (int i = 0; i < FLATS; i++) {
+            Flat flat = Flat.builder().flatNumber("F" + i).floorNumber(i / 10).area(800.0).building(building).build();
+            entityManager.persist(flat);
+            flats.add(flat);
+        }
+        for (int i = 0; i < ROWS; i++) {
+            Flat flat = flats.get(i % FLATS);
+            entityManager.persist(Visitor.builder().name("Visitor " + i).phone("9111111111").purpose("Delivery")
+                    .visitingFlat(flat).loggedBy(guard).build());
+            entityManager.persist(MaintenanceBill.builder().billNumber("BENCH-" + i).billDate(LocalDate.now())
+                    .dueDate(LocalDate.now().plusDays(15)).amount(BigDecimal.valueOf(2500)).flat(flat).build());
+            if (i % 500 == 0) {
+                entityManager.flush();
+            }
+        }
+        return society.getId();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ListProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
@@ -0,0 +1,89 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.scheduling.config.CronTask;
+import org.springframework.scheduling.config.ScheduledTaskHolder;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.model.Notice;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class NoticeExpiryTests {
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private List<ScheduledTaskHolder> scheduledTaskHolders;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void expiryIsScheduled() {
+        assertThat(scheduledTaskHolders)
+                .flatExtracting(ScheduledTaskHolder::getScheduledTasks)
+                .anySatisfy(task -> {
+                    assertThat(task.getTask()).isInstanceOf(CronTask.class);
+                    assertThat(task.getTask().toString()).endsWith("NoticeService.deactivateExpiredNotices");
+                });
+    }
+
+    @Test
+    void deactivatesOnlyActiveNoticesPastTheirExpiry() {
+        Society society = Society.builder()
+                .name("Expiry").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        User admin = User.builder().name("admin").email("admin" + System.nanoTime() + "@example.com")
+                .phone("9000000000").password("hash").role(UserRole.ADMIN).society(society).enabled(true)
+                .build();
+        entityManager.persist(admin);
+        LocalDateTime now = LocalDateTime.now();
+        Notice expired = notice(society, admin, now.minusHours(1));
+        Notice current = notice(society, admin, now.plusDays(1));
+        Notice open = notice(society, admin, null);
+        double rowsBefore = rowsCounted();
+
+        int rows = noticeService.deactivateExpiredNotices();
+        entityManager.clear();
+
+        assertThat(rows).isEqualTo(1);
+        assertThat(entityManager.find(Notice.class, expired.getId()).getIsActive()).isFalse();
+        assertThat(entityManager.find(Notice.class, expired.getId()).getUpdatedAt()).isNotNull();
+        assertThat(entityManager.find(Notice.class, current.getId()).getIsActive()).isTrue();
+        assertThat(entityManager.find(Notice.class, open.getId()).getIsActive()).isTrue();
+        assertThat(rowsCounted()).isEqualTo(rowsBefore + 1);
+        assertThat(meterRegistry.get("scheduler.job.duration").tag("job", "notice-expiry")
+                .tag("outcome", "success").timer().count()).isPositive();
+    }
+
+    private Notice notice(Society society, User author, LocalDateTime expiresAt) {
+        Notice notice = Notice.builder().title("Water cut").content("Tuesday 10-12").society(society)
+                .createdBy(author).expiresAt(expiresAt).build();
+        entityManager.persist(notice);
+        return notice;
+    }
+
+    private double rowsCounted() {
+        Counter counter = meterRegistry.find("scheduler.job.rows").tag("job", "notice-expiry").counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
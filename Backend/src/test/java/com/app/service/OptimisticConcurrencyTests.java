@@ -0,0 +1,174 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.app.Exception.ConcurrentUpdateException;
+import com.app.dao.BuildingDao;
+import com.app.dao.ComplaintDao;
+import com.app.dao.FlatDao;
+import com.app.dao.FlatMemberDao;
+import com.app.dao.MaintenanceBillDao;
+import com.app.dao.SocietyDao;
+import com.app.dto.ComplaintDTO;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.model.Building;
+import com.app.model.Complaint;
+import com.app.model.ComplaintStatus;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.MaintenanceBill;
+import com.app.model.Society;
+
+// Not @Transactional: every caller needs its own transaction for the versions to collide
+@SpringBootTest
+class OptimisticConcurrencyTests {
+
+    private static final int THREADS = 16;
+
+    @Autowired
+    private MaintenanceBillService maintenanceBillService;
+
+    @Autowired
+    private ComplaintServiceImpl complaintService;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private FlatMemberDao flatMemberRepository;
+
+    @Autowired
+    private ComplaintDao complaintRepository;
+
+    @Autowired
+    private MaintenanceBillDao maintenanceBillRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private Flat flat;
+
+    @BeforeEach
+    void seed() {
+        Society society = societyRepository.save(Society.builder().name("Contended " + System.nanoTime())
+                .address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+        Building building = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(society).build());
+        flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build());
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+
+    @AfterEach
+    void shutDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void parallelPaymentsOfOneBillPayItOnce() throws Exception {
+        MaintenanceBill bill = saveBill();
+
+        List<Object> outcomes = race(i -> maintenanceBillService.markBillAsPaid(bill.getId(), "UTR-1", null));
+
+        assertThat(outcomes).allSatisfy(outcome -> assertThat(outcome).isInstanceOfSatisfying(MaintenanceBillDTO.class,
+                paid -> assertThat(paid.getPaymentReference()).isEqualTo("UTR-1")));
+        assertThat(version("maintenance_bills", bill.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void secondPaymentWithAnotherReferenceIsAConflict() {
+        MaintenanceBill bill = saveBill();
+        maintenanceBillService.markBillAsPaid(bill.getId(), "UTR-1", null);
+
+        assertThatThrownBy(() -> maintenanceBillService.markBillAsPaid(bill.getId(), "UTR-2", null))
+                .isInstanceOfSatisfying(ConcurrentUpdateException.class, e -> assertThat(e.getCurrent())
+                        .isInstanceOfSatisfying(MaintenanceBillDTO.class,
+                                current -> assertThat(current.getPaymentReference()).isEqualTo("UTR-1")));
+    }
+
+    @Test
+    void parallelStatusChangesLoseNoUpdate() throws Exception {
+        FlatMember member = flatMemberRepository.save(FlatMember.builder().name("resident").phone("9000000000")
+                .relationship("Self").isOwner(true).approved(false).flat(flat).build());
+        Complaint complaint = complaintRepository.save(Complaint.builder().title("Leak").description("Kitchen tap")
+                .status(ComplaintStatus.PENDING).flat(flat).createdBy(member).build());
+
+        // Every call is a real change, so each one that succeeds must have bumped the version once
+        List<Object> outcomes = race(i -> complaintService.updateComplaintStatus(complaint.getId(),
+                ComplaintStatus.RESOLVED, "Fix " + i, null));
+
+        long applied = outcomes.stream().filter(ComplaintDTO.class::isInstance).count();
+        assertThat(outcomes).allSatisfy(outcome -> {
+            if (outcome instanceof ConcurrentUpdateException conflict) {
+                assertThat(conflict.getCurrent()).isInstanceOf(ComplaintDTO.class);
+            } else {
+                assertThat(outcome).isInstanceOf(ComplaintDTO.class);
+            }
+        });
+        assertThat(applied).isPositive();
+        assertThat(version("complaints", complaint.getId())).isEqualTo(applied);
+    }
+
+    private interface Call {
+        Object run(int i);
+    }
+
+    // Starts every call at once and returns what each returned or threw
+    private List<Object> race(Call call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            int index = i;
+            Callable<Object> task = () -> {
+                start.await();
+                try {
+                    return call.run(index);
+                } catch (ConcurrentUpdateException e) {
+                    return e;
+                }
+            };
+            futures.add(executor.submit(task));
+        }
+        start.countDown();
+        List<Object> outcomes = new ArrayList<>();
+        for (Future<Object> future : futures) {
+            outcomes.add(future.get(30, TimeUnit.SECONDS));
+        }
+        return outcomes;
+    }
+
+    private MaintenanceBill saveBill() {
+        return maintenanceBillRepository.save(MaintenanceBill.builder().billNumber("MB-" + System.nanoTime())
+                .billDate(LocalDate.now()).dueDate(LocalDate.now().plusDays(15)).amount(new BigDecimal("2000.00"))
+                .flat(flat).build());
+    }
+
+    private long version(String table, Long id) {
+        return jdbcTemplate.queryForObject("SELECT version FROM " + table + " WHERE id = ?", Long.class, id);
+    }
+}
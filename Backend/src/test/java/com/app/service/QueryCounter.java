@@ -0,0 +1,114 @@
+package com.app.service;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * DataSource wrapper that counts, at the JDBC level, every statement sent to
+ * the database and every row read back from a result set. A JDBC batch is
+ * one statement, as it is one round trip.
+ *
+ * <p>Statements on {@code id_sequences} are not counted: the pooled id
+ * generator fetches a block of ids every 50 inserts, so whether a given
+ * call pays for it depends on what ran before, not on the call itself.
+ */
+class QueryCounter extends DelegatingDataSource {
+
+    private static final Set<String> EXECUTE = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    private final AtomicLong statements = new AtomicLong();
+    private final AtomicLong rows = new AtomicLong();
+
+    QueryCounter(DataSource target) {
+        super(target);
+    }
+
+    void reset() {
+        statements.set(0);
+        rows.set(0);
+    }
+
+    long statements() {
+        return statements.get();
+    }
+
+    long rows() {
+        return rows.get();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return connection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return connection(super.getConnection(username, password));
+    }
+
+    private Connection connection(Connection target) {
+        return proxy(Connection.class, target, (method, args, result) -> switch (method.getName()) {
+            case "createStatement" -> statement(Statement.class, (Statement) result, null);
+            case "prepareStatement" -> statement(PreparedStatement.class, (Statement) result, (String) args[0]);
+            case "prepareCall" -> statement(CallableStatement.class, (Statement) result, (String) args[0]);
+            default -> result;
+        });
+    }
+
+    private <S extends Statement> S statement(Class<S> type, Statement target, String preparedSql) {
+        return proxy(type, type.cast(target), (method, args, result) -> {
+            String name = method.getName();
+            if (EXECUTE.contains(name)) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+                if (sql == null || !sql.toLowerCase(Locale.ROOT).contains("id_sequences")) {
+                    statements.incrementAndGet();
+                }
+            }
+            return result instanceof ResultSet resultSet && (name.equals("executeQuery") || name.equals("getResultSet"))
+                    ? resultSet(resultSet)
+                    : result;
+        });
+    }
+
+    private ResultSet resultSet(ResultSet target) {
+        return proxy(ResultSet.class, target, (method, args, result) -> {
+            if (method.getName().equals("next") && Boolean.TRUE.equals(result)) {
+                rows.incrementAndGet();
+            }
+            return result;
+        });
+    }
+
+    private interface After {
+        Object apply(Method method, Object[] args, Object result) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, After after) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getTargetException();
+            }
+            return after.apply(method, args, result);
+        };
+        return type.cast(Proxy.newProxyInstance(QueryCounter.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+}
@@ -0,0 +1,116 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.Exception.ResourceNotFoundException;
+import com.app.dto.ComplaintDTO;
+import com.app.dto.FlatMemberDTO;
+import com.app.dto.VisitorDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Writes that only reference a parent by id must not load it, and must
+ * still report a parent that does not exist as not found.
+ */
+@SpringBootTest
+@Transactional
+class ReferenceWriteTests {
+
+    @Autowired
+    private ComplaintServiceImpl complaintService;
+
+    @Autowired
+    private FlatMemberServiceImpl flatMemberService;
+
+    @Autowired
+    private VisitorServiceImpl visitorService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Flat flat;
+    private FlatMember member;
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        Society society = Society.builder()
+                .name("References").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        Building building = Building.builder().name("A").totalFloors(3).society(society).build();
+        entityManager.persist(building);
+        flat = Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build();
+        entityManager.persist(flat);
+        user = User.builder().name("owner").email("owner" + System.nanoTime() + "@example.com").phone("9000000000")
+                .password("hash").role(UserRole.RESIDENT).society(society).enabled(true).build();
+        entityManager.persist(user);
+        member = FlatMember.builder().name("owner").phone("9000000000").relationship("Self").isOwner(true)
+                .approved(true).flat(flat).build();
+        entityManager.persist(member);
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @AfterEach
+    void disableStatistics() {
+        statistics.setStatisticsEnabled(false);
+    }
+
+    @Test
+    void updateLinksUserWithoutLoadingIt() {
+        FlatMemberDTO updated = flatMemberService.updateFlatMember(member.getId(), FlatMemberDTO.builder()
+                .name("owner").phone("9000000001").relationship("Self").isOwner(true)
+                .flatId(flat.getId()).userId(user.getId()).build());
+
+        assertThat(updated.getUserId()).isEqualTo(user.getId());
+        assertThat(statistics.getEntityStatistics(User.class.getName()).getLoadCount()).isZero();
+    }
+
+    @Test
+    void missingReferenceIsNotFound() {
+        long missing = member.getId() + 1_000_000;
+
+        assertThatThrownBy(() -> complaintService.createComplaint(ComplaintDTO.builder().title("Leak")
+                .description("Kitchen tap").flatId(flat.getId()).raisedById(missing).build()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found with id: " + missing);
+    }
+
+    // visitors loses its foreign keys on MySQL (V8), so the guard must be checked before the insert
+    @Test
+    void missingVisitorGuardIsNotFoundBeforeAnyInsert() {
+        long missing = user.getId() + 1_000_000;
+
+        assertThatThrownBy(() -> visitorService.createVisitorLog(VisitorDTO.builder().name("Courier")
+                .phone("9111111111").purpose("Parcel").flatId(flat.getId()).loggedById(missing).build()))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage("User not found with id: " + missing);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+    }
+}
@@ -0,0 +1,454 @@
+package com.app.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.assertj.core.api.SoftAssertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.app.dto.ComplaintDTO;
+import com.app.dto.DashBoardStatsDTO;
+import com.app.dto.FlatDTO;
+import com.app.dto.MaintenanceBillDTO;
+import com.app.dto.NoticeDTO;
+import com.app.dto.VisitorDTO;
+import com.app.model.Building;
+import com.app.model.Complaint;
+import com.app.model.ComplaintStatus;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.MaintenanceBill;
+import com.app.model.Notice;
+import com.app.model.OccupiedStatus;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.PageSort;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.PersistenceContext;
+
+/**
+ * SQL budget for every method of the flat, complaint, visitor, bill and
+ * notice services: the statements it sends and the rows it reads, counted
+ * at the JDBC level against a society of {@value #FLATS} flats. Going over
+ * either number fails the build, so an N+1 or an over-fetching query shows
+ * up as a test failure instead of in production. The measured numbers of
+ * every method are logged after the run.
+ *
+ * <p>Each call runs against a cold second-level cache and an empty
+ * persistence context, and its writes are flushed inside the measurement,
+ * so the budget is the worst case. The test transaction then rolls back.
+ * When a change lowers a count, lower the budget with it.
+ */
+@SpringBootTest(properties = {
+        // Own database, so the seeded society is all there is
+        "spring.datasource.url=jdbc:h2:mem:query_budgets;MODE=MySQL;DB_CLOSE_DELAY=-1",
+        // Every single bill reserves its number, instead of one bill in 20
+        "app.billing.number-block-size=1" })
+@Transactional
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ServiceQueryBudgetTests {
+
+    private static final Logger log = LoggerFactory.getLogger(ServiceQueryBudgetTests.class);
+
+    private static final int BUILDINGS = 4;
+    private static final int FLATS_PER_BUILDING = 60;
+    private static final int FLATS = BUILDINGS * FLATS_PER_BUILDING;
+    private static final int COMPLAINTS_PER_FLAT = 2;
+    private static final int VISITORS_PER_FLAT = 3;
+    private static final int BILLS_PER_FLAT = 2;
+    private static final int NOTICES = 12;
+    private static final int ACTIVE_NOTICES = 9;
+    private static final int BULK_FLATS = 20;
+    private static final int PAGE = 20;
+
+    @TestConfiguration
+    static class CountingDataSourceConfig {
+
+        @Bean
+        static BeanPostProcessor countingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource && !(bean instanceof QueryCounter)
+                            ? new QueryCounter(dataSource)
+                            : bean;
+                }
+            };
+        }
+    }
+
+    private record Measured(long statements, long rows, long statementBudget, long rowBudget) {
+    }
+
+    private final Map<String, Measured> report = new TreeMap<>();
+
+    @Autowired
+    private FlatServiceImpl flatService;
+
+    @Autowired
+    private ComplaintServiceImpl complaintService;
+
+    @Autowired
+    private VisitorServiceImpl visitorService;
+
+    @Autowired
+    private MaintenanceBillService maintenanceBillService;
+
+    @Autowired
+    private NoticeService noticeService;
+
+    @Autowired
+    private DashBoardServiceImpl dashBoardService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private QueryCounter counter;
+    private SoftAssertions softly;
+
+    private Long societyId;
+    private Long bulkSocietyId;
+    private Long buildingId;
+    private Long adminId;
+    private Long guardId;
+    private final List<Long> flatIds = new ArrayList<>();
+    private final List<Long> ownerUserIds = new ArrayList<>();
+    private final List<Long> ownerMemberIds = new ArrayList<>();
+    private final List<Long> complaintIds = new ArrayList<>();
+    private final List<Long> visitorIds = new ArrayList<>();
+    private final List<Long> billIds = new ArrayList<>();
+    private final List<Long> noticeIds = new ArrayList<>();
+
+    @BeforeAll
+    void seed() {
+        counter = (QueryCounter) dataSource;
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Society society = society("Query Budget");
+            societyId = society.getId();
+            User admin = user(society, UserRole.ADMIN, "admin");
+            adminId = admin.getId();
+            User guard = user(society, UserRole.GUARD, "guard");
+            guardId = guard.getId();
+            LocalDate today = LocalDate.now();
+
+            for (int b = 0; b < BUILDINGS; b++) {
+                Building building = Building.builder().name("Tower " + b).totalFloors(15).society(society).build();
+                entityManager.persist(building);
+                if (buildingId == null) {
+                    buildingId = building.getId();
+                }
+                for (int f = 0; f < FLATS_PER_BUILDING; f++) {
+                    Flat flat = Flat.builder().flatNumber(b + "-" + f).floorNumber(f / 4).area(650.0 + f * 10)
+                            .building(building).build();
+                    entityManager.persist(flat);
+                    flatIds.add(flat.getId());
+                    User owner = user(society, UserRole.RESIDENT, "owner-" + b + "-" + f);
+                    ownerUserIds.add(owner.getId());
+                    FlatMember member = FlatMember.builder().name(owner.getName()).phone("9000000000")
+                            .relationship("Self").isOwner(true).approved(true).flat(flat).user(owner).build();
+                    entityManager.persist(member);
+                    ownerMemberIds.add(member.getId());
+                    for (int i = 0; i < COMPLAINTS_PER_FLAT; i++) {
+                        Complaint complaint = Complaint.builder().title("Leak " + i).description("Kitchen tap")
+                                .flat(flat).createdBy(member).build();
+                        entityManager.persist(complaint);
+                        complaintIds.add(complaint.getId());
+                    }
+                    for (int i = 0; i < VISITORS_PER_FLAT; i++) {
+                        Visitor visitor = Visitor.builder().name("Courier " + i).phone("9111111111")
+                                .purpose("Delivery").entryTime(LocalDateTime.now().minusHours(i))
+                                .exitTime(i == 0 ? null : LocalDateTime.now().minusHours(i).plusMinutes(10))
+                                .approved(i == 2).visitingFlat(flat).loggedBy(guard).build();
+                        entityManager.persist(visitor);
+                        visitorIds.add(visitor.getId());
+                    }
+                    for (int i = 0; i < BILLS_PER_FLAT; i++) {
+                        MaintenanceBill bill = MaintenanceBill.builder().billNumber("QB-" + flat.getId() + "-" + i)
+                                .billDate(today.minusMonths(i + 1)).dueDate(today.minusMonths(i + 1).plusDays(15))
+                                .amount(BigDecimal.valueOf(2500)).paid(i == 1).flat(flat).build();
+                        entityManager.persist(bill);
+                        billIds.add(bill.getId());
+                    }
+                }
+            }
+            for (int i = 0; i < NOTICES; i++) {
+                Notice notice = Notice.builder().title("Notice " + i).content("Details").society(society)
+                        .createdBy(admin).build();
+                entityManager.persist(notice);
+                noticeIds.add(notice.getId());
+            }
+
+            // Bulk billing gets a society of its own, so the main society's lists never change
+            Society bulk = society("Query Budget Bulk");
+            bulkSocietyId = bulk.getId();
+            Building bulkBuilding = Building.builder().name("Bulk").totalFloors(5).society(bulk).build();
+            entityManager.persist(bulkBuilding);
+            for (int f = 0; f < BULK_FLATS; f++) {
+                entityManager.persist(Flat.builder().flatNumber("B-" + f).floorNumber(f / 4).area(700.0)
+                        .building(bulkBuilding).build());
+            }
+        });
+        // Half the complaints resolved, so the status filters select a real subset
+        jdbcTemplate.update("UPDATE complaints SET status = ? WHERE MOD(id, 2) = 0", ComplaintStatus.RESOLVED.ordinal());
+        // Notices are always created active
+        jdbcTemplate.update("UPDATE notices SET is_active = false WHERE id IN (?, ?, ?)",
+                noticeIds.get(NOTICES - 1), noticeIds.get(NOTICES - 2), noticeIds.get(NOTICES - 3));
+    }
+
+    @BeforeEach
+    void startAssertions() {
+        softly = new SoftAssertions();
+    }
+
+    @AfterEach
+    void checkBudgets() {
+        softly.assertAll();
+    }
+
+    @AfterAll
+    void logReport() {
+        StringBuilder table = new StringBuilder("SQL per service call (society of " + FLATS + " flats):");
+        report.forEach((method, m) -> table.append(String.format("%n  %-70s %4d / %-4d statements %6d / %-6d rows",
+                method, m.statements(), m.statementBudget(), m.rows(), m.rowBudget())));
+        log.info(table.toString());
+    }
+
+    @Test
+    void flatService() {
+        within("FlatServiceImpl.getAllFlats", 1, FLATS + BULK_FLATS, flatService::getAllFlats);
+        within("FlatServiceImpl.getFlatsByBuildingId", 1, FLATS_PER_BUILDING,
+                () -> flatService.getFlatsByBuildingId(buildingId));
+        within("FlatServiceImpl.getFlatsBySocietyId", 1, FLATS, () -> flatService.getFlatsBySocietyId(societyId));
+        within("FlatServiceImpl.getFlatById", 4, 4, () -> flatService.getFlatById(flatIds.get(0)));
+        within("FlatServiceImpl.getFlatByUserId", 4, 4, () -> flatService.getFlatByUserId(ownerUserIds.get(0)));
+        within("FlatServiceImpl.createFlat", 3, 1, () -> flatService.createFlat(flatDto("NEW-1")));
+        within("FlatServiceImpl.updateFlat", 6, 4, () -> flatService.updateFlat(flatIds.get(1), flatDto("0-1A")));
+        Long emptyFlat = flatService.createFlat(flatDto("NEW-2")).getId();
+        within("FlatServiceImpl.deleteFlat", 7, 1, () -> flatService.deleteFlat(emptyFlat));
+    }
+
+    @Test
+    void complaintService() {
+        Long flatId = flatIds.get(2);
+        PageSort newest = PageSort.NEWEST;
+        within("ComplaintServiceImpl.getAllComplaints", 1, FLATS * COMPLAINTS_PER_FLAT,
+                complaintService::getAllComplaints);
+        within("ComplaintServiceImpl.getComplaintsByFlatId", 1, COMPLAINTS_PER_FLAT,
+                () -> complaintService.getComplaintsByFlatId(flatId));
+        within("ComplaintServiceImpl.getComplaintsByUserId", 1, COMPLAINTS_PER_FLAT,
+                () -> complaintService.getComplaintsByUserId(ownerUserIds.get(2)));
+        within("ComplaintServiceImpl.getComplaintsBySocietyId", 1, FLATS * COMPLAINTS_PER_FLAT,
+                () -> complaintService.getComplaintsBySocietyId(societyId));
+        within("ComplaintServiceImpl.getComplaintsBySocietyIdAndStatus", 1, FLATS * COMPLAINTS_PER_FLAT / 2,
+                () -> complaintService.getComplaintsBySocietyIdAndStatus(societyId, ComplaintStatus.PENDING));
+        within("ComplaintServiceImpl.getComplaintsBySocietyId(page)", 1, PAGE + 1,
+                () -> complaintService.getComplaintsBySocietyId(societyId, CursorPageRequest.firstPage(PAGE, newest)));
+        within("ComplaintServiceImpl.getComplaintsBySocietyIdAndStatus(page)", 1, PAGE + 1,
+                () -> complaintService.getComplaintsBySocietyIdAndStatus(societyId, ComplaintStatus.RESOLVED,
+                        CursorPageRequest.firstPage(PAGE, newest)));
+        within("ComplaintServiceImpl.getComplaintById", 3, 3,
+                () -> complaintService.getComplaintById(complaintIds.get(0)));
+        within("ComplaintServiceImpl.createComplaint", 3, 2, () -> complaintService.createComplaint(
+                ComplaintDTO.builder().title("Noise").description("Late party").flatId(flatId)
+                        .raisedById(ownerMemberIds.get(2)).build()));
+        within("ComplaintServiceImpl.updateComplaintStatus", 6, 5, () -> complaintService.updateComplaintStatus(
+                complaintIds.get(1), ComplaintStatus.RESOLVED, "Fixed", adminId));
+        within("ComplaintServiceImpl.updateComplaint", 4, 3, () -> complaintService.updateComplaint(
+                complaintIds.get(2), ComplaintDTO.builder().title("Leak").description("Bathroom tap").flatId(flatId)
+                        .raisedById(ownerMemberIds.get(2)).build()));
+        within("ComplaintServiceImpl.deleteComplaint", 2, 1,
+                () -> complaintService.deleteComplaint(complaintIds.get(3)));
+    }
+
+    @Test
+    void visitorService() {
+        Long flatId = flatIds.get(3);
+        within("VisitorServiceImpl.getAllVisitors", 1, FLATS * VISITORS_PER_FLAT, visitorService::getAllVisitors);
+        within("VisitorServiceImpl.getVisitorLogsByFlatId", 1, VISITORS_PER_FLAT,
+                () -> visitorService.getVisitorLogsByFlatId(flatId));
+        within("VisitorServiceImpl.getVisitorLogsBySocietyId", 1, FLATS * VISITORS_PER_FLAT,
+                () -> visitorService.getVisitorLogsBySocietyId(societyId));
+        within("VisitorServiceImpl.getVisitorLogsBySocietyId(page)", 1, PAGE + 1,
+                () -> visitorService.getVisitorLogsBySocietyId(societyId,
+                        CursorPageRequest.firstPage(PAGE, PageSort.NEWEST)));
+        within("VisitorServiceImpl.getActiveVisitorsBySocietyId", 1, FLATS,
+                () -> visitorService.getActiveVisitorsBySocietyId(societyId));
+        within("VisitorServiceImpl.getPendingApprovalVisitorLogs", 1, FLATS * 2,
+                () -> visitorService.getPendingApprovalVisitorLogs(societyId));
+        within("VisitorServiceImpl.getVisitorById", 3, 3, () -> visitorService.getVisitorById(visitorIds.get(0)));
+        within("VisitorServiceImpl.createVisitorLog", 5, 4, () -> visitorService.createVisitorLog(
+                VisitorDTO.builder().name("Plumber").phone("9222222222").purpose("Repair").flatId(flatId)
+                        .loggedById(guardId).build()));
+        within("VisitorServiceImpl.approveVisitorLog", 6, 5,
+                () -> visitorService.approveVisitorLog(visitorIds.get(9), ownerMemberIds.get(3)));
+        within("VisitorServiceImpl.recordVisitorExit", 4, 3,
+                () -> visitorService.recordVisitorExit(visitorIds.get(12)));
+        within("VisitorServiceImpl.updateVisitorLog", 4, 3, () -> visitorService.updateVisitorLog(visitorIds.get(10),
+                VisitorDTO.builder().name("Courier").phone("9111111111").purpose("Parcel").flatId(flatId)
+                        .loggedById(guardId).build()));
+        within("VisitorServiceImpl.deleteVisitor", 2, 1, () -> visitorService.deleteVisitor(visitorIds.get(11)));
+    }
+
+    @Test
+    void maintenanceBillService() {
+        Long flatId = flatIds.get(4);
+        LocalDate today = LocalDate.now();
+        within("MaintenanceBillService.getAllMaintenanceBills", 1, FLATS * BILLS_PER_FLAT,
+                maintenanceBillService::getAllMaintenanceBills);
+        within("MaintenanceBillService.getMaintenanceBillsByFlatId", 1, BILLS_PER_FLAT,
+                () -> maintenanceBillService.getMaintenanceBillsByFlatId(flatId));
+        within("MaintenanceBillService.getMaintenanceBillsBySocietyId", 1, FLATS * BILLS_PER_FLAT,
+                () -> maintenanceBillService.getMaintenanceBillsBySocietyId(societyId));
+        within("MaintenanceBillService.getPendingMaintenanceBillsBySocietyId", 1, FLATS,
+                () -> maintenanceBillService.getPendingMaintenanceBillsBySocietyId(societyId));
+        within("MaintenanceBillService.getMaintenanceBillsBySocietyId(page)", 1, PAGE + 1,
+                () -> maintenanceBillService.getMaintenanceBillsBySocietyId(societyId,
+                        CursorPageRequest.firstPage(PAGE, PageSort.NEWEST)));
+        within("MaintenanceBillService.getPendingMaintenanceBillsBySocietyId(page)", 1, PAGE + 1,
+                () -> maintenanceBillService.getPendingMaintenanceBillsBySocietyId(societyId,
+                        CursorPageRequest.firstPage(PAGE, PageSort.NEWEST)));
+        within("MaintenanceBillService.getOverdueMaintenanceBills", 1, FLATS,
+                maintenanceBillService::getOverdueMaintenanceBills);
+        within("MaintenanceBillService.getMaintenanceBillById", 2, 2,
+                () -> maintenanceBillService.getMaintenanceBillById(billIds.get(0)));
+        within("MaintenanceBillService.createMaintenanceBill", 7, 4, () -> maintenanceBillService.createMaintenanceBill(
+                MaintenanceBillDTO.builder().flatId(flatId).billDate(today).dueDate(today.plusDays(15))
+                        .amount(BigDecimal.valueOf(2500)).description("Budget").build(), adminId));
+        within("MaintenanceBillService.updateMaintenanceBill", 3, 2, () -> maintenanceBillService.updateMaintenanceBill(
+                billIds.get(1), MaintenanceBillDTO.builder().flatId(flatId).billDate(today).dueDate(today.plusDays(10))
+                        .amount(BigDecimal.valueOf(3000)).description("Revised").build()));
+        within("MaintenanceBillService.markBillAsPaid", 5, 4,
+                () -> maintenanceBillService.markBillAsPaid(billIds.get(2), "UPI-1", ownerUserIds.get(4)));
+        within("MaintenanceBillService.deleteMaintenanceBill", 2, 1,
+                () -> maintenanceBillService.deleteMaintenanceBill(billIds.get(3)));
+        try {
+            within("MaintenanceBillService.generateBulkMaintenanceBills", 5, BULK_FLATS + 2,
+                    () -> maintenanceBillService.generateBulkMaintenanceBills(bulkSocietyId, today,
+                            today.plusDays(15), "Budget", adminId));
+        } finally {
+            // The generator commits on its own; keep the bulk society unbilled for the next run
+            jdbcTemplate.update("DELETE FROM maintenance_bills WHERE society_id = ?", bulkSocietyId);
+        }
+    }
+
+    @Test
+    void noticeService() {
+        within("NoticeService.getAllNotices", 1, NOTICES, noticeService::getAllNotices);
+        within("NoticeService.getNoticesBySocietyId", 1, NOTICES,
+                () -> noticeService.getNoticesBySocietyId(societyId));
+        within("NoticeService.getActiveNoticesBySocietyId", 1, ACTIVE_NOTICES,
+                () -> noticeService.getActiveNoticesBySocietyId(societyId));
+        within("NoticeService.getNoticeById", 3, 3, () -> noticeService.getNoticeById(noticeIds.get(0)));
+        within("NoticeService.createNotice", 3, 2, () -> noticeService.createNotice(NoticeDTO.builder()
+                .title("Lift maintenance").content("Tower 1, Friday").societyId(societyId).createdById(adminId)
+                .expiryDate(LocalDateTime.now().plusDays(3)).build()));
+        within("NoticeService.updateNotice", 4, 3, () -> noticeService.updateNotice(noticeIds.get(1), NoticeDTO.builder()
+                .title("Water cut").content("Moved to Monday").societyId(societyId).createdById(adminId)
+                .active(true).build()));
+        within("NoticeService.deactivateNotice", 4, 3, () -> noticeService.deactivateNotice(noticeIds.get(2)));
+        within("NoticeService.deleteNotice", 2, 1, () -> noticeService.deleteNotice(noticeIds.get(3)));
+        within("NoticeService.deactivateExpiredNotices", 4, 0, noticeService::deactivateExpiredNotices);
+    }
+
+    @Test
+    void dashBoardService() {
+        DashBoardStatsDTO stats = within("DashBoardServiceImpl.getStatsBySocietyId", 1, 1,
+                () -> dashBoardService.getStatsBySocietyId(societyId));
+        softly.assertThat(stats.getTotalResidents()).isEqualTo((long) FLATS);
+        softly.assertThat(stats.getTotalFlats()).isEqualTo((long) FLATS);
+        softly.assertThat(stats.getTotalBuildings()).isEqualTo((long) BUILDINGS);
+        softly.assertThat(stats.getPendingComplaints())
+                .isEqualTo(complaintIds.stream().filter(id -> id % 2 != 0).count());
+        softly.assertThat(stats.getOverduePayments()).isEqualTo((long) FLATS);
+        softly.assertThat(stats.getActiveNotices()).isEqualTo((long) ACTIVE_NOTICES);
+        within("DashBoardServiceImpl.getStatsBySocietyId (cached)", 0, 0,
+                () -> dashBoardService.getStatsBySocietyId(societyId));
+    }
+
+    private void within(String method, long statementBudget, long rowBudget, Runnable call) {
+        within(method, statementBudget, rowBudget, () -> {
+            call.run();
+            return null;
+        });
+    }
+
+    private <T> T within(String method, long statementBudget, long rowBudget, Supplier<T> call) {
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+        counter.reset();
+        T result = call.get();
+        entityManager.flush();
+        long statements = counter.statements();
+        long rows = counter.rows();
+        report.put(method, new Measured(statements, rows, statementBudget, rowBudget));
+        softly.assertThat(statements).as("%s statements", method).isLessThanOrEqualTo(statementBudget);
+        softly.assertThat(rows).as("%s rows read", method).isLessThanOrEqualTo(rowBudget);
+        return result;
+    }
+
+    private FlatDTO flatDto(String flatNumber) {
+        FlatDTO flat = new FlatDTO();
+        flat.setFlatNumber(flatNumber);
+        flat.setFloorNumber(1);
+        flat.setArea(700.0);
+        flat.setBuildingId(buildingId);
+        flat.setOccupiedStatus(OccupiedStatus.VACANT);
+        return flat;
+    }
+
+    private Society society(String name) {
+        Society society = Society.builder().name(name).address("1 Main Rd").city("Pune").state("MH")
+                .pincode("411001").build();
+        entityManager.persist(society);
+        return society;
+    }
+
+    private User user(Society society, UserRole role, String name) {
+        User user = User.builder().name(name).email(name + "@budget.example.com").phone("9000000000")
+                .password("hash").role(role).society(society).enabled(true).build();
+        entityManager.persist(user);
+        return user;
+    }
+}
@@ -0,0 +1,112 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.dao.BuildingDao;
+import com.app.dao.FlatDao;
+import com.app.dao.SocietyDao;
+import com.app.dao.UserDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.FlatDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.OccupiedStatus;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@Transactional
+class SocietyScopeTests {
+
+    @Autowired
+    private FlatService flatService;
+
+    @Autowired
+    private SocietyScopeService societyScopeService;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private VisitorDao visitorRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void societyIdFollowsFlatAcrossSocieties() {
+        Society first = society("First");
+        Society second = society("Second");
+        Building from = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(first).build());
+        Building to = buildingRepository.save(Building.builder().name("B").totalFloors(3).society(second).build());
+        Flat flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(from).build());
+        Visitor visitor = visitorRepository.save(visitor(flat, guard(first)));
+
+        assertThat(visitor.getSocietyId()).isEqualTo(first.getId());
+
+        FlatDTO move = new FlatDTO();
+        move.setFlatNumber("101");
+        move.setFloorNumber(1);
+        move.setBuildingId(to.getId());
+        move.setOccupiedStatus(OccupiedStatus.VACANT);
+        flatService.updateFlat(flat.getId(), move);
+
+        entityManager.clear();
+        assertThat(visitorRepository.findById(visitor.getId()).orElseThrow().getSocietyId()).isEqualTo(second.getId());
+        assertThat(visitorRepository.findBySocietyId(second.getId(), LocalDateTime.now().minusDays(1))).hasSize(1);
+        assertThat(visitorRepository.findBySocietyId(first.getId(), LocalDateTime.now().minusDays(1))).isEmpty();
+    }
+
+    @Test
+    void backfillPopulatesLegacyRows() {
+        Society society = society("Legacy");
+        Building building = buildingRepository.save(Building.builder().name("C").totalFloors(2).society(society).build());
+        Flat flat = flatRepository.save(Flat.builder().flatNumber("201").floorNumber(2).area(700.0).building(building).build());
+        Visitor visitor = visitorRepository.save(visitor(flat, guard(society)));
+        entityManager.flush();
+        entityManager.createQuery("UPDATE Visitor v SET v.societyId = NULL WHERE v.id = :id")
+                .setParameter("id", visitor.getId())
+                .executeUpdate();
+
+        societyScopeService.backfill();
+
+        entityManager.clear();
+        assertThat(visitorRepository.findById(visitor.getId()).orElseThrow().getSocietyId()).isEqualTo(society.getId());
+    }
+
+    private Society society(String name) {
+        return societyRepository.save(Society.builder()
+                .name(name).address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+    }
+
+    private User guard(Society society) {
+        return userRepository.save(User.builder()
+                .name("Guard").email("guard" + System.nanoTime() + "@example.com").phone("9000000000")
+                .password("hash").role(UserRole.GUARD).society(society).enabled(true).build());
+    }
+
+    private static Visitor visitor(Flat flat, User guard) {
+        return Visitor.builder().name("Courier").phone("9111111111").purpose("Delivery")
+                .visitingFlat(flat).loggedBy(guard).build();
+    }
+}
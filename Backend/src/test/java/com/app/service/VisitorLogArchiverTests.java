@@ -0,0 +1,160 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.app.dao.BuildingDao;
+import com.app.dao.FlatDao;
+import com.app.dao.SocietyDao;
+import com.app.dao.UserDao;
+import com.app.dao.VisitorDao;
+import com.app.dto.VisitorDTO;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.PageSort;
+import com.app.scheduling.ScheduledJobRunner;
+
+// Not @Transactional: the archiver commits each batch on its own
+@SpringBootTest
+class VisitorLogArchiverTests {
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedJdbcTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ScheduledJobRunner scheduledJobRunner;
+
+    @Autowired
+    private VisitorLogRetention retention;
+
+    @Autowired
+    private VisitorService visitorService;
+
+    @Autowired
+    private SocietyDao societyRepository;
+
+    @Autowired
+    private BuildingDao buildingRepository;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private UserDao userRepository;
+
+    @Autowired
+    private VisitorDao visitorRepository;
+
+    private Long societyId;
+    private Flat flat;
+    private User guard;
+
+    @BeforeEach
+    void seed() {
+        Society society = societyRepository.save(Society.builder().name("Archive " + System.nanoTime())
+                .address("1 Main Rd").city("Pune").state("MH").pincode("411001").build());
+        societyId = society.getId();
+        Building building = buildingRepository.save(Building.builder().name("A").totalFloors(3).society(society).build());
+        flat = flatRepository.save(Flat.builder().flatNumber("101").floorNumber(1).area(800.0).building(building).build());
+        guard = userRepository.save(User.builder().name("guard").email("guard" + System.nanoTime() + "@example.com")
+                .phone("9000000000").password("hash").role(UserRole.GUARD).society(society).enabled(true).build());
+    }
+
+    @AfterEach
+    void removeVisits() {
+        // Committed visits would pin the guard for tests that clear the users table
+        jdbcTemplate.update("DELETE FROM visitors WHERE flat_id = ?", flat.getId());
+        jdbcTemplate.update("DELETE FROM visitors_archive WHERE flat_id = ?", flat.getId());
+    }
+
+    @Test
+    void movesClosedEntriesPastTheHorizonInBatches() {
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> old = List.of(visit(now.minusDays(200), true), visit(now.minusDays(150), true),
+                visit(now.minusDays(120), true));
+        Long stillInside = visit(now.minusDays(130), false);
+        Long recent = visit(now.minusDays(10), true);
+
+        // Batches of 2, so three old entries take two batches
+        VisitorLogArchiver archiver = new VisitorLogArchiver(namedJdbcTemplate, transactionManager,
+                scheduledJobRunner, retention, 2);
+        int archived = archiver.archiveClosedBefore(now.minusDays(90));
+
+        assertThat(archived).isEqualTo(3);
+        assertThat(visitorRepository.findByvisitingFlatId(flat.getId())).extracting(Visitor::getId)
+                .containsExactlyInAnyOrder(stillInside, recent);
+        assertThat(jdbcTemplate.queryForList("SELECT id FROM visitors_archive WHERE flat_id = ?", Long.class,
+                flat.getId())).containsExactlyInAnyOrderElementsOf(old);
+        assertThat(jdbcTemplate.queryForObject("SELECT society_id FROM visitors_archive WHERE id = ?", Long.class,
+                old.get(0))).isEqualTo(societyId);
+
+        // Nothing left to move; partition upkeep is a no-op without MySQL
+        assertThat(archiver.archiveClosedBefore(now.minusDays(90))).isZero();
+        archiver.maintainPartitions(YearMonth.from(now.minusDays(90)));
+    }
+
+    @Test
+    void closesForgottenEntriesSoListsStayInsideTheirWindow() {
+        LocalDateTime now = LocalDateTime.now();
+        Long inside = visit(now.minusHours(2), false);
+        Long forgotten = visit(now.minusDays(3), false);
+        Long closedRecently = visit(now.minusDays(10), true);
+        Long closedBeyondHorizon = visit(now.minusDays(100), true);
+
+        // Left open past the window: no longer inside, and closed by the next run
+        assertThat(visitorService.getActiveVisitorsBySocietyId(societyId)).extracting(VisitorDTO::getId)
+                .containsExactly(inside);
+        VisitorLogArchiver archiver = new VisitorLogArchiver(namedJdbcTemplate, transactionManager,
+                scheduledJobRunner, retention, 1000);
+        assertThat(archiver.closeOpenBefore(retention.openSince())).isPositive();
+        assertThat(visitorRepository.findById(forgotten)).get().satisfies(visitor -> {
+            assertThat(visitor.getExitTime()).isNotNull();
+            assertThat(visitor.getVersion()).isEqualTo(1L);
+        });
+        assertThat(visitorRepository.findById(inside)).get().extracting(Visitor::getExitTime).isNull();
+
+        assertThat(visitorService.getActiveVisitorsBySocietyId(societyId)).extracting(VisitorDTO::getId)
+                .containsExactly(inside);
+        // Closed entries past the horizon are the archiver's; every list stops at the horizon
+        assertThat(visitorService.getPendingApprovalVisitorLogs(societyId)).extracting(VisitorDTO::getId)
+                .containsExactlyInAnyOrder(inside, forgotten, closedRecently)
+                .doesNotContain(closedBeyondHorizon);
+        assertThat(visitorService.getVisitorLogsBySocietyId(societyId)).extracting(VisitorDTO::getId)
+                .containsExactlyInAnyOrder(inside, forgotten, closedRecently);
+        assertThat(visitorService.getVisitorLogsBySocietyId(societyId, CursorPageRequest.firstPage(10, PageSort.NEWEST))
+                .getItems()).extracting(VisitorDTO::getId)
+                .containsExactly(inside, forgotten, closedRecently);
+    }
+
+    private Long visit(LocalDateTime entryTime, boolean closed) {
+        Long id = visitorRepository.save(Visitor.builder().name("Courier").phone("9111111111").purpose("Delivery")
+                .visitingFlat(flat).loggedBy(guard).build()).getId();
+        // Entry time is stamped on insert; backdate it
+        jdbcTemplate.update("UPDATE visitors SET entry_time = ?, exit_time = ? WHERE id = ?",
+                entryTime, closed ? entryTime.plusMinutes(20) : null, id);
+        return id;
+    }
+}
@@ -0,0 +1,140 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.app.Exception.ResourceInUseException;
+import com.app.dao.FlatDao;
+import com.app.dao.FlatMemberDao;
+import com.app.model.Building;
+import com.app.model.Flat;
+import com.app.model.FlatMember;
+import com.app.model.Society;
+import com.app.model.User;
+import com.app.model.UserRole;
+import com.app.model.Visitor;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * On MySQL visitors is partitioned and has no foreign keys (V8), so the
+ * services refuse to delete a parent that live visitor entries point at. The
+ * checks run before the delete, so H2's foreign keys are never reached.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class VisitorParentTests {
+
+    @Autowired
+    private FlatServiceImpl flatService;
+
+    @Autowired
+    private FlatMemberServiceImpl flatMemberService;
+
+    @Autowired
+    private FlatDao flatRepository;
+
+    @Autowired
+    private FlatMemberDao flatMemberRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private Building building;
+    private User guard;
+
+    @BeforeEach
+    void seed() {
+        Society society = Society.builder()
+                .name("Visitor Parents").address("1 Main Rd").city("Pune").state("MH").pincode("411001").build();
+        entityManager.persist(society);
+        building = Building.builder().name("A").totalFloors(3).society(society).build();
+        entityManager.persist(building);
+        guard = User.builder().name("guard").email("guard" + System.nanoTime() + "@example.com").phone("9000000000")
+                .password("hash").role(UserRole.GUARD).society(society).enabled(true).build();
+        entityManager.persist(guard);
+    }
+
+    @Test
+    void flatWithVisitorsIsNotDeleted() {
+        Flat visited = flat("101");
+        Flat quiet = flat("102");
+        visitor(visited, null);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> flatService.deleteFlat(visited.getId()))
+                .isInstanceOf(ResourceInUseException.class)
+                .hasMessage("Flat " + visited.getId() + " still has visitor log entries");
+        flatService.deleteFlat(quiet.getId());
+        entityManager.flush();
+
+        assertThat(flatRepository.findById(visited.getId())).isPresent();
+        assertThat(flatRepository.findById(quiet.getId())).isEmpty();
+    }
+
+    @Test
+    void memberWhoApprovedVisitorsIsNotDeleted() {
+        Flat flat = flat("201");
+        FlatMember approver = member(flat, "approver");
+        FlatMember other = member(flat, "other");
+        visitor(flat, approver);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> flatMemberService.deleteFlatMember(approver.getId()))
+                .isInstanceOf(ResourceInUseException.class)
+                .hasMessage("Flat member " + approver.getId() + " has approved visitor log entries");
+        flatMemberService.deleteFlatMember(other.getId());
+        entityManager.flush();
+
+        assertThat(flatMemberRepository.findById(approver.getId())).isPresent();
+        assertThat(flatMemberRepository.findById(other.getId())).isEmpty();
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void refusedDeletesAreConflicts() throws Exception {
+        Flat flat = flat("301");
+        FlatMember approver = member(flat, "approver");
+        visitor(flat, approver);
+        entityManager.flush();
+        entityManager.clear();
+
+        mockMvc.perform(delete("/flats/" + flat.getId())).andExpect(status().isConflict());
+        mockMvc.perform(delete("/flat-members/" + approver.getId())).andExpect(status().isConflict());
+    }
+
+    private Flat flat(String number) {
+        Flat flat = Flat.builder().flatNumber(number).floorNumber(1).area(800.0).building(building).build();
+        entityManager.persist(flat);
+        return flat;
+    }
+
+    private FlatMember member(Flat flat, String name) {
+        FlatMember member = FlatMember.builder().name(name).phone("9000000001").relationship("Self").isOwner(true)
+                .approved(true).flat(flat).build();
+        entityManager.persist(member);
+        return member;
+    }
+
+    private void visitor(Flat flat, FlatMember approvedBy) {
+        entityManager.persist(Visitor.builder().name("Courier").phone("9111111111").purpose("Parcel")
+                .visitingFlat(flat).loggedBy(guard).approved(approvedBy != null).approvedBy(approvedBy).build());
+    }
+}
@@ -0,0 +1,60 @@
+package com.app.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.app.pagination.CursorPageRequest;
+import com.app.pagination.PageSort;
+
+/**
+ * On MySQL visitors is range-partitioned on entry_time (V8), and a list only
+ * reads the partitions of its window if entry_time is bounded on its own: an
+ * OR around the bound makes MySQL read every partition. H2 has no
+ * {@code EXPLAIN PARTITIONS}, so this pins the SQL the visitor lists send.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.app.service.VisitorPartitionPruningTests$Recorder")
+class VisitorPartitionPruningTests {
+
+    @Autowired
+    private VisitorService visitorService;
+
+    @Test
+    void everyListBoundsEntryTimeWithoutOr() {
+        assertPrunable(() -> visitorService.getActiveVisitorsBySocietyId(1L));
+        assertPrunable(() -> visitorService.getPendingApprovalVisitorLogs(1L));
+        assertPrunable(() -> visitorService.getVisitorLogsBySocietyId(1L));
+        assertPrunable(() -> visitorService.getVisitorLogsBySocietyId(1L, CursorPageRequest.firstPage(10, PageSort.NEWEST)));
+    }
+
+    private static void assertPrunable(Runnable list) {
+        Recorder.SQL.clear();
+        list.run();
+        assertThat(Recorder.SQL).filteredOn(sql -> sql.contains(" from visitors ")).singleElement()
+                .satisfies(sql -> {
+                    assertThat(sql).containsPattern("entry_time>=\\?");
+                    assertThat(sql).doesNotContain(" or ");
+                });
+    }
+
+    public static class Recorder implements StatementInspector {
+
+        private static final long serialVersionUID = 1L;
+
+        static final List<String> SQL = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            SQL.add(sql.toLowerCase(Locale.ROOT));
+            return sql;
+        }
+    }
+}
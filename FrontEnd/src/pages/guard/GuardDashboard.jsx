@@ -76,7 +76,7 @@ const GuardVisitorLog = () => {
           setFlats(flatsResponse.data);
           
           // Fetch recent visitors
-          const visitorsResponse = await api.get(`/visitor-logs/society/${currentUser.societyId}`);
+          const visitorsResponse = await api.get(`/visitor-logs/society/${currentUser.societyId}`, { params: { unpaged: true } });
           // Sort by entry time, most recent first
           const sortedVisitors = visitorsResponse.data.sort((a, b) => 
             new Date(b.entryTime) - new Date(a.entryTime)
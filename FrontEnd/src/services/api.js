@@ -77,7 +77,7 @@ export const flatService = {
   getMyFlat: () => api.get('/flats/my-flat'),
   requestFlatAllocation: (requestData) => api.post('/allocation-requests', requestData),
   // *** ADDED: Required for AdminAllocationRequests page ***
-  getAllFlatAllocationRequests: (societyId) => api.get(`/allocation-requests/society/${societyId}`),
+  getAllFlatAllocationRequests: (societyId) => api.get(`/allocation-requests/society/${societyId}`, { params: { unpaged: true } }),
   approveAllocationRequest: (requestId) => api.put(`/allocation-requests/${requestId}/approve`),
   rejectAllocationRequest: (requestId) => api.put(`/allocation-requests/${requestId}/reject`),
 };